@@ -0,0 +1,179 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Method;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * {@link DataProviderRunnerListener} emitting Java Flight Recorder events for data provider invocations, test method
+ * executions and {@link ExtendedDataProvider} hooks.
+ * <p>
+ * <i>Note:</i> This class requires Java 11+ and is therefore only loaded reflectively by {@link DataProviderRunner}.
+ * If no recording is running, events are not enabled and therefore neither committed nor retained.
+ * </p>
+ */
+class JfrRunnerListener extends DataProviderRunnerListener {
+
+    private final ThreadLocal<DataProviderInvocationEvent> dataProviderInvocationEvent = new ThreadLocal<>();
+    private final ThreadLocal<TestMethodEvent> testMethodEvent = new ThreadLocal<>();
+    private final ThreadLocal<DataProviderHookEvent> dataProviderHookEvent = new ThreadLocal<>();
+
+    /**
+     * @return a new listener if a flight recording was started in the current JVM, {@code null} otherwise
+     */
+    public static DataProviderRunnerListener createIfRecording() {
+        if (!FlightRecorder.isAvailable() || !FlightRecorder.isInitialized()) {
+            return null;
+        }
+        return new JfrRunnerListener();
+    }
+
+    @Override
+    public void dataProviderInvocationStarted(FrameworkMethod testMethod, Method dataProvider) {
+        DataProviderInvocationEvent event = new DataProviderInvocationEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.testClass = testMethod.getMethod().getDeclaringClass().getName();
+        event.testMethod = testMethod.getMethod().getName();
+        event.dataProvider = dataProvider.getName();
+        event.begin();
+        dataProviderInvocationEvent.set(event);
+    }
+
+    @Override
+    public void dataProviderInvoked(FrameworkMethod testMethod, Method dataProvider, Object[][] result,
+            long durationNanos) {
+        DataProviderInvocationEvent event = dataProviderInvocationEvent.get();
+        if (event == null) {
+            return;
+        }
+        dataProviderInvocationEvent.remove();
+
+        event.end();
+        event.rows = (result == null) ? 0 : result.length;
+        event.commit();
+    }
+
+    @Override
+    public void testMethodStarted(FrameworkMethod method) {
+        TestMethodEvent event = new TestMethodEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.testClass = method.getMethod().getDeclaringClass().getName();
+        event.testMethod = method.getMethod().getName();
+        event.rowIndex = getRowIndex(method);
+        event.begin();
+        testMethodEvent.set(event);
+    }
+
+    @Override
+    public void testMethodFinished(FrameworkMethod method, long durationNanos, Throwable failure) {
+        TestMethodEvent event = testMethodEvent.get();
+        if (event == null) {
+            return;
+        }
+        testMethodEvent.remove();
+
+        event.end();
+        event.failed = (failure != null);
+        event.commit();
+    }
+
+    @Override
+    public void dataProviderHookStarted(FrameworkMethod method, String hookName) {
+        DataProviderHookEvent event = new DataProviderHookEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.testClass = method.getMethod().getDeclaringClass().getName();
+        event.testMethod = method.getMethod().getName();
+        event.rowIndex = getRowIndex(method);
+        event.hook = hookName;
+        event.begin();
+        dataProviderHookEvent.set(event);
+    }
+
+    @Override
+    public void dataProviderHookFinished(FrameworkMethod method, String hookName, long durationNanos) {
+        DataProviderHookEvent event = dataProviderHookEvent.get();
+        if (event == null) {
+            return;
+        }
+        dataProviderHookEvent.remove();
+
+        event.end();
+        event.commit();
+    }
+
+    private static int getRowIndex(FrameworkMethod method) {
+        return (method instanceof DataProviderFrameworkMethod) ? ((DataProviderFrameworkMethod) method).getIndex() : 0;
+    }
+
+    @Name("com.tngtech.junit.dataprovider.DataProviderInvocation")
+    @Label("Data Provider Invocation")
+    @Description("Invocation of a data provider to explode a test method")
+    @Category({ "JUnit", "Data Provider" })
+    @StackTrace(false)
+    static class DataProviderInvocationEvent extends Event {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Test Method")
+        String testMethod;
+
+        @Label("Data Provider")
+        String dataProvider;
+
+        @Label("Rows")
+        int rows;
+    }
+
+    @Name("com.tngtech.junit.dataprovider.TestMethod")
+    @Label("Test Method Execution")
+    @Description("Execution of a (potentially exploded) test method including rules, befores and afters")
+    @Category({ "JUnit", "Data Provider" })
+    @StackTrace(false)
+    static class TestMethodEvent extends Event {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Test Method")
+        String testMethod;
+
+        @Label("Row Index")
+        @Description("1-based index of the data provider row or 0 if the test method does not use a data provider")
+        int rowIndex;
+
+        @Label("Failed")
+        boolean failed;
+    }
+
+    @Name("com.tngtech.junit.dataprovider.DataProviderHook")
+    @Label("Data Provider Hook")
+    @Description("Invocation of beforeAll, beforeEach, afterEach or afterAll of an extended data provider")
+    @Category({ "JUnit", "Data Provider" })
+    @StackTrace(false)
+    static class DataProviderHookEvent extends Event {
+        @Label("Test Class")
+        String testClass;
+
+        @Label("Test Method")
+        String testMethod;
+
+        @Label("Row Index")
+        int rowIndex;
+
+        @Label("Hook")
+        String hook;
+    }
+}
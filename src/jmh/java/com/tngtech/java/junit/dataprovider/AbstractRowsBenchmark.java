@@ -0,0 +1,43 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Base of all benchmarks parameterized by the number of rows returned by the data provider of {@link BenchmarkTests}
+ * and the size of each parameter (= length of the {@link String} and {@code int[]} parameter of each row).
+ */
+@State(Scope.Benchmark)
+public abstract class AbstractRowsBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int rows;
+
+    @Param({ "1", "100" })
+    public int parameterSize;
+
+    protected Method testMethod;
+    protected Method dataProvider;
+
+    @Setup
+    public void setupRows() throws Exception {
+        char[] text = new char[parameterSize];
+        Arrays.fill(text, 'x');
+
+        Object[][] result = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            int[] numbers = new int[parameterSize];
+            Arrays.fill(numbers, i);
+            result[i] = new Object[] { i, new String(text), numbers };
+        }
+        BenchmarkTests.rows = result;
+
+        testMethod = BenchmarkTests.class.getMethod("testRow", int.class, String.class, int[].class);
+        dataProvider = BenchmarkTests.class.getMethod("dataProviderRows");
+    }
+}
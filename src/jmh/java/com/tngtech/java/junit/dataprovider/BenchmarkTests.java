@@ -0,0 +1,30 @@
+package com.tngtech.java.junit.dataprovider;
+
+import org.junit.Test;
+
+/**
+ * Test class run by the benchmarks. Its data provider returns the rows prepared by {@link AbstractRowsBenchmark}.
+ */
+public class BenchmarkTests {
+
+    static volatile Object[][] rows = new Object[][] { { 0, "", new int[0] } };
+
+    @DataProvider
+    public static Object[][] dataProviderRows() {
+        return rows;
+    }
+
+    @Test
+    @UseDataProvider("dataProviderRows")
+    public void testRow(int index, String text, int[] numbers) {
+        // nothing to do as only the overhead of the runner is measured
+    }
+
+    /** Plain test class to compare against as {@link org.junit.runners.BlockJUnit4ClassRunner} rejects arguments. */
+    public static class Plain {
+        @Test
+        public void testPlain() {
+            // nothing to do as only the overhead of the runner is measured
+        }
+    }
+}
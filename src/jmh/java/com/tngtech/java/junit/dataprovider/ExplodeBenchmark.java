@@ -0,0 +1,30 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.TestClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the explosion of all test methods of {@link BenchmarkTests}, i.e. invoking the data provider and creating a
+ * {@link DataProviderFrameworkMethod} per row.
+ */
+public class ExplodeBenchmark extends AbstractRowsBenchmark {
+
+    private DataProviderRunner runner;
+    private List<FrameworkMethod> testMethods;
+
+    @Setup
+    public void setupRunner() throws Exception {
+        runner = new DataProviderRunner(BenchmarkTests.class);
+        testMethods = new TestClass(BenchmarkTests.class).getAnnotatedMethods(Test.class);
+    }
+
+    @Benchmark
+    public List<FrameworkMethod> generateExplodedTestMethodsFor() {
+        return runner.generateExplodedTestMethodsFor(testMethods);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tngtech.java.junit.dataprovider;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link DataProviderFilter#shouldRun(Description)} for the descriptions of all rows when filtering for a
+ * single row as done by IDEs re-running a single exploded test method.
+ */
+public class FilterBenchmark extends AbstractRowsBenchmark {
+
+    private DataProviderFilter filter;
+    private Description[] descriptions;
+
+    @Setup
+    public void setupFilter() {
+        descriptions = new Description[rows];
+        for (int i = 0; i < rows; i++) {
+            descriptions[i] = Description.createTestDescription(BenchmarkTests.class, new DataProviderFrameworkMethod(
+                    testMethod, i + 1, rows, BenchmarkTests.rows[i]).getName());
+        }
+        filter = new DataProviderFilter(Filter.matchMethodDescription(descriptions[rows / 2]));
+    }
+
+    @Benchmark
+    public void shouldRun(Blackhole blackhole) {
+        for (Description description : descriptions) {
+            blackhole.consume(filter.shouldRun(description));
+        }
+    }
+}
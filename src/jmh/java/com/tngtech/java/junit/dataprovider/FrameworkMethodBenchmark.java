@@ -0,0 +1,28 @@
+package com.tngtech.java.junit.dataprovider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link DataProviderFrameworkMethod#getName()} (and therewith formatting the parameters) of all rows.
+ */
+public class FrameworkMethodBenchmark extends AbstractRowsBenchmark {
+
+    private DataProviderFrameworkMethod[] methods;
+
+    @Setup
+    public void setupMethods() {
+        methods = new DataProviderFrameworkMethod[rows];
+        for (int i = 0; i < rows; i++) {
+            methods[i] = new DataProviderFrameworkMethod(testMethod, i + 1, rows, BenchmarkTests.rows[i]);
+        }
+    }
+
+    @Benchmark
+    public void getName(Blackhole blackhole) {
+        for (DataProviderFrameworkMethod method : methods) {
+            blackhole.consume(method.getName());
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal JSON reader for the result files of JMH, returning {@link Map}s, {@link List}s, {@link String}s,
+ * {@link Double}s, {@link Boolean}s and {@code null}.
+ */
+class JsonReader {
+
+    private final String json;
+    private int pos;
+
+    private JsonReader(String json) {
+        this.json = json;
+    }
+
+    /**
+     * @param json the JSON text to parse
+     * @return the parsed value
+     * @throws IllegalArgumentException if {@code json} is not valid JSON
+     */
+    static Object read(String json) {
+        JsonReader reader = new JsonReader(json);
+        Object result = reader.readValue();
+        reader.skipWhitespace();
+        if (reader.pos != json.length()) {
+            throw reader.error("Unexpected trailing characters");
+        }
+        return result;
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (pos >= json.length()) {
+            throw error("Unexpected end of input");
+        }
+
+        char c = json.charAt(pos);
+        if (c == '{') {
+            return readObject();
+        } else if (c == '[') {
+            return readArray();
+        } else if (c == '"') {
+            return readString();
+        } else if (json.startsWith("true", pos)) {
+            pos += 4;
+            return Boolean.TRUE;
+        } else if (json.startsWith("false", pos)) {
+            pos += 5;
+            return Boolean.FALSE;
+        } else if (json.startsWith("null", pos)) {
+            pos += 4;
+            return null;
+        } else if (json.startsWith("NaN", pos)) {
+            // not valid JSON but written by JMH for undefined score errors
+            pos += 3;
+            return Double.NaN;
+        }
+        return readNumber();
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        pos++;
+        skipWhitespace();
+        if (consume('}')) {
+            return result;
+        }
+        do {
+            skipWhitespace();
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            result.put(key, readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect('}');
+        return result;
+    }
+
+    private List<Object> readArray() {
+        List<Object> result = new ArrayList<Object>();
+        pos++;
+        skipWhitespace();
+        if (consume(']')) {
+            return result;
+        }
+        do {
+            result.add(readValue());
+            skipWhitespace();
+        } while (consume(','));
+        expect(']');
+        return result;
+    }
+
+    private String readString() {
+        expect('"');
+        StringBuilder result = new StringBuilder();
+        while (pos < json.length()) {
+            char c = json.charAt(pos++);
+            if (c == '"') {
+                return result.toString();
+            }
+            if (c != '\\') {
+                result.append(c);
+                continue;
+            }
+            if (pos >= json.length()) {
+                break;
+            }
+            char escaped = json.charAt(pos++);
+            switch (escaped) {
+            case 'b':
+                result.append('\b');
+                break;
+            case 'f':
+                result.append('\f');
+                break;
+            case 'n':
+                result.append('\n');
+                break;
+            case 'r':
+                result.append('\r');
+                break;
+            case 't':
+                result.append('\t');
+                break;
+            case 'u':
+                if (pos + 4 > json.length()) {
+                    throw error("Invalid unicode escape");
+                }
+                result.append((char) Integer.parseInt(json.substring(pos, pos + 4), 16));
+                pos += 4;
+                break;
+            default:
+                result.append(escaped);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Double readNumber() {
+        int start = pos;
+        while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) {
+            pos++;
+        }
+        try {
+            return Double.valueOf(json.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw error("Invalid value");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private boolean consume(char c) {
+        if (pos < json.length() && json.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos);
+    }
+}
@@ -0,0 +1,72 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.List;
+
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Measures the end-to-end overhead per row of creating and evaluating the {@link Statement} of an exploded test
+ * method compared with a plain test method run by {@link BlockJUnit4ClassRunner}.
+ */
+public class MethodBlockBenchmark extends AbstractRowsBenchmark {
+
+    private ExposingDataProviderRunner dataProviderRunner;
+    private List<FrameworkMethod> explodedMethods;
+    private int nextRow;
+
+    private ExposingBlockJUnit4ClassRunner plainRunner;
+    private FrameworkMethod plainMethod;
+
+    @Setup
+    public void setupRunners() throws Exception {
+        dataProviderRunner = new ExposingDataProviderRunner();
+        explodedMethods = dataProviderRunner.getExplodedMethods();
+
+        plainRunner = new ExposingBlockJUnit4ClassRunner();
+        plainMethod = new FrameworkMethod(BenchmarkTests.Plain.class.getMethod("testPlain"));
+    }
+
+    @Benchmark
+    public void dataProviderRunnerRow() throws Throwable {
+        if (nextRow >= explodedMethods.size()) {
+            nextRow = 0;
+        }
+        dataProviderRunner.methodBlock(explodedMethods.get(nextRow++)).evaluate();
+    }
+
+    @Benchmark
+    public void blockJUnit4ClassRunnerPlain() throws Throwable {
+        plainRunner.methodBlock(plainMethod).evaluate();
+    }
+
+    private static class ExposingDataProviderRunner extends DataProviderRunner {
+        ExposingDataProviderRunner() throws InitializationError {
+            super(BenchmarkTests.class);
+        }
+
+        List<FrameworkMethod> getExplodedMethods() {
+            return computeTestMethods();
+        }
+
+        @Override
+        public Statement methodBlock(FrameworkMethod method) {
+            return super.methodBlock(method);
+        }
+    }
+
+    private static class ExposingBlockJUnit4ClassRunner extends BlockJUnit4ClassRunner {
+        ExposingBlockJUnit4ClassRunner() throws InitializationError {
+            super(BenchmarkTests.Plain.class);
+        }
+
+        @Override
+        public Statement methodBlock(FrameworkMethod method) {
+            return super.methodBlock(method);
+        }
+    }
+}
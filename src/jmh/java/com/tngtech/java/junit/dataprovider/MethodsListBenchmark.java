@@ -0,0 +1,47 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runners.model.FrameworkMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the counter operations of {@link DataProviderMethodsList}: computing the counters of all rows and updating
+ * them once per row as done while running the rows.
+ */
+public class MethodsListBenchmark extends AbstractRowsBenchmark {
+
+    private List<FrameworkMethod> methods;
+
+    @Setup
+    public void setupMethods() {
+        methods = new ArrayList<FrameworkMethod>(rows);
+        for (int i = 0; i < rows; i++) {
+            methods.add(new DataProviderFrameworkMethod(testMethod, i + 1, rows, BenchmarkTests.rows[i]));
+        }
+    }
+
+    @Benchmark
+    public DataProviderMethodsList setListOfComputedMethods() {
+        DataProviderMethodsList result = new DataProviderMethodsList();
+        result.setListOfComputedMethods(methods);
+        return result;
+    }
+
+    @Benchmark
+    public void runAllRows(Blackhole blackhole) {
+        DataProviderMethodsList methodsList = new DataProviderMethodsList();
+        methodsList.setListOfComputedMethods(methods);
+
+        for (FrameworkMethod method : methods) {
+            methodsList.increaseCurrentIndexForMethodName(method);
+            blackhole.consume(methodsList.getCurrentIndexForMethodName(method));
+            methodsList.testStartedForMethodName(method);
+            methodsList.testFinishedForMethodName(method, false);
+            blackhole.consume(methodsList.isLastRunForMethodName(method));
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.commons.math3.distribution.TDistribution;
+
+/**
+ * Compares the hot-path metrics of JMH results (see {@link ExplodeBenchmark}, {@link FrameworkMethodBenchmark} and
+ * {@link FilterBenchmark}) and scaling suite results (see {@link ScalingSuite}) with a stored baseline.
+ * <p>
+ * Each JMH metric is derived per fork (mean of its measurement iterations) and summarized as mean and standard
+ * error over all forks. A metric has regressed if its mean got worse by more than the given threshold <b>and</b> the
+ * difference to the baseline's mean is significant, i.e. exceeds its own 99% confidence interval (Welch's t-test).
+ * A result with a single fork is treated as exact value, such that only the baseline's variance is accounted for.
+ * </p>
+ * <p>
+ * A baseline is only recorded from JMH results with at least {@value #MIN_RECORD_FORKS} forks and if the 99%
+ * confidence interval of each metric is narrower than the given threshold, otherwise small regressions could never be
+ * detected.
+ * </p>
+ * <p>
+ * Usage:
+ * </p>
+ * <ul>
+ * <li>{@code PerformanceGate record <baseline file> <threshold> <result file>...} to (over-)write the baseline, exits
+ * with status {@code 1} if the results are too noisy</li>
+ * <li>{@code PerformanceGate compare <baseline file> <threshold> <result file>...} to compare with the baseline, exits
+ * with status {@code 1} on regressions</li>
+ * </ul>
+ * <p>
+ * Result files ending in {@code .json} are read as JMH results, all others as CSV of the scaling suite.
+ * </p>
+ */
+public class PerformanceGate {
+
+    private static final double CONFIDENCE = 0.99;
+
+    /** Minimal number of JMH forks a baseline is recorded from. */
+    static final int MIN_RECORD_FORKS = 10;
+
+    /** Minimal number of rows of a scaling suite run for its retained heap per row to be stable enough. */
+    private static final int MIN_SCALING_ROWS = 10000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4 || !("record".equals(args[0]) || "compare".equals(args[0]))) {
+            System.err.println("Usage: PerformanceGate record <baseline file> <threshold> <result file>...");
+            System.err.println("       PerformanceGate compare <baseline file> <threshold> <result file>...");
+            System.exit(2);
+        }
+
+        boolean record = "record".equals(args[0]);
+        File baselineFile = new File(args[1]);
+        double threshold = Double.parseDouble(args[2]);
+
+        Map<String, Metric> metrics = new TreeMap<String, Metric>();
+        for (int i = 3; i < args.length; i++) {
+            File resultFile = new File(args[i]);
+            if (!resultFile.isFile()) {
+                System.out.println("Skipping missing result file " + resultFile);
+            } else if (resultFile.getName().endsWith(".json")) {
+                readJmhResults(resultFile, metrics, record ? MIN_RECORD_FORKS : 1);
+            } else {
+                readScalingResults(resultFile, metrics);
+            }
+        }
+        if (metrics.isEmpty()) {
+            System.err.println("No metrics found, run e.g. 'gradle jmh scaling' first.");
+            System.exit(2);
+        }
+
+        if (record) {
+            List<String> noisyMetrics = findNoisy(metrics, threshold);
+            if (!noisyMetrics.isEmpty()) {
+                System.err.println(noisyMetrics.size() + " metric(s) are too noisy to detect a change of "
+                        + threshold + ", run more JMH forks or iterations (e.g. -f 20 -i 5):");
+                for (String noisyMetric : noisyMetrics) {
+                    System.err.println("  " + noisyMetric);
+                }
+                System.exit(1);
+            }
+            writeBaseline(baselineFile, metrics);
+            System.out.println("Recorded " + metrics.size() + " metrics to " + baselineFile.getAbsolutePath());
+            return;
+        }
+
+        List<String> regressions = compare(readBaseline(baselineFile), metrics, threshold);
+        if (!regressions.isEmpty()) {
+            System.err.println(regressions.size() + " metric(s) regressed:");
+            for (String regression : regressions) {
+                System.err.println("  " + regression);
+            }
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @param baseline the metrics of the baseline by name
+     * @param metrics the newly measured metrics by name
+     * @param threshold relative change (e.g. {@code 0.1} for 10%) which is tolerated
+     * @return a description of each regressed metric (never {@code null})
+     */
+    private static List<String> compare(Map<String, Metric> baseline, Map<String, Metric> metrics, double threshold) {
+        List<String> result = new ArrayList<String>();
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            Metric current = entry.getValue();
+            Metric base = baseline.get(entry.getKey());
+            if (base == null) {
+                System.out.println(String.format(Locale.ENGLISH, "%-70s %14s -> %14.1f  (new)", entry.getKey(), "",
+                        current.mean));
+                continue;
+            }
+
+            double change = (current.mean - base.mean) / base.mean;
+            boolean regressed = current.isWorseThan(base, threshold);
+            String line = String.format(Locale.ENGLISH, "%-70s %14.1f -> %14.1f  %+6.1f%%%s", entry.getKey(),
+                    base.mean, current.mean, change * 100, regressed ? "  REGRESSION" : "");
+            System.out.println(line);
+            if (regressed) {
+                result.add(line.replaceAll(" +", " "));
+            }
+        }
+        for (String name : baseline.keySet()) {
+            if (!metrics.containsKey(name)) {
+                System.out.println(String.format(Locale.ENGLISH, "%-70s (not measured)", name));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param metrics to be recorded by name
+     * @param threshold relative change (e.g. {@code 0.1} for 10%) which must be detectable
+     * @return a description of each metric whose confidence interval is wider than {@code threshold} (never
+     *         {@code null})
+     */
+    private static List<String> findNoisy(Map<String, Metric> metrics, double threshold) {
+        List<String> result = new ArrayList<String>();
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            Metric metric = entry.getValue();
+            if (metric.halfWidth() > threshold * metric.mean) {
+                result.add(String.format(Locale.ENGLISH, "%s %.1f +- %.1f (%d forks)", entry.getKey(), metric.mean,
+                        metric.halfWidth(), metric.samples));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void readJmhResults(File file, Map<String, Metric> metrics, int minForks) throws IOException {
+        for (Object benchmark : (List<Object>) JsonReader.read(readFile(file))) {
+            Map<String, Object> result = (Map<String, Object>) benchmark;
+            Map<String, Object> primaryMetric = (Map<String, Object>) result.get("primaryMetric");
+            if (!"ops/s".equals(primaryMetric.get("scoreUnit"))) {
+                continue;
+            }
+
+            Map<String, Object> params = (Map<String, Object>) result.get("params");
+            int rows = (params == null || params.get("rows") == null) ? 1 : Integer.parseInt((String) params
+                    .get("rows"));
+
+            String benchmarkName = (String) result.get("benchmark");
+            String simpleName = benchmarkName.substring(benchmarkName.lastIndexOf('.',
+                    benchmarkName.lastIndexOf('.') - 1) + 1);
+            Metric metric;
+            if ("ExplodeBenchmark.generateExplodedTestMethodsFor".equals(simpleName)) {
+                metric = Metric.fromJmh("explodedRowsPerSecond", true, primaryMetric, rows);
+            } else if ("FrameworkMethodBenchmark.getName".equals(simpleName)) {
+                metric = Metric.fromJmh("getNameNanos", false, primaryMetric, rows);
+            } else if ("FilterBenchmark.shouldRun".equals(simpleName)) {
+                metric = Metric.fromJmh("filterNanos", false, primaryMetric, rows);
+            } else {
+                continue;
+            }
+            if (metric.samples < minForks) {
+                throw new IllegalArgumentException("Benchmark " + simpleName + toString(params) + " of " + file
+                        + " ran with " + metric.samples + " fork(s) but at least " + minForks
+                        + " are required, run it e.g. with '-f " + minForks + "'.");
+            }
+            metrics.put(metric.name + toString(params), metric);
+        }
+    }
+
+    private static String toString(Map<String, Object> params) {
+        if (params == null || params.isEmpty()) {
+            return "";
+        }
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, Object> param : new TreeMap<String, Object>(params).entrySet()) {
+            result.append((result.length() == 0) ? "[" : ",").append(param.getKey()).append('=')
+                    .append(param.getValue());
+        }
+        return result.append(']').toString();
+    }
+
+    private static void readScalingResults(File file, Map<String, Metric> metrics) throws IOException {
+        String[] lines = readFile(file).split("\r?\n");
+        List<String> header = Arrays.asList(lines[0].split(","));
+        int rowsColumn = header.indexOf("rows");
+        int parameterSizeColumn = header.indexOf("parameterSize");
+        int bytesPerRowColumn = header.indexOf("retainedBytesPerRow");
+        if (rowsColumn < 0 || parameterSizeColumn < 0 || bytesPerRowColumn < 0) {
+            throw new IllegalArgumentException("Unexpected header of scaling results " + file + ": " + lines[0]);
+        }
+
+        for (int i = 1; i < lines.length; i++) {
+            String[] values = lines[i].split(",");
+            if (values.length <= bytesPerRowColumn || Integer.parseInt(values[rowsColumn]) < MIN_SCALING_ROWS) {
+                continue;
+            }
+            double bytesPerRow = Double.parseDouble(values[bytesPerRowColumn]);
+            String name = "retainedBytesPerRow[parameterSize=" + values[parameterSizeColumn] + ",rows="
+                    + values[rowsColumn] + "]";
+            metrics.put(name, new Metric("retainedBytesPerRow", false, bytesPerRow, 0, 1));
+        }
+    }
+
+    private static Map<String, Metric> readBaseline(File file) throws IOException {
+        Map<String, Metric> result = new TreeMap<String, Metric>();
+        for (String line : readFile(file).split("\r?\n")) {
+            if (line.trim().isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] values = line.split(";");
+            if (values.length < 7) {
+                throw new IllegalArgumentException("Baseline " + file + " lacks the standard error and number of "
+                        + "samples, record it again: " + line);
+            }
+            result.put(values[0], new Metric(values[0], "higher".equals(values[1]), Double.parseDouble(values[2]),
+                    Double.parseDouble(values[6]), Integer.parseInt(values[5])));
+        }
+        return result;
+    }
+
+    private static void writeBaseline(File file, Map<String, Metric> metrics) throws IOException {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+        try {
+            writer.println("# Performance baseline written by PerformanceGate, see README.md (Benchmarks)");
+            writer.println("# metric;better;mean;lower;upper;samples;standardError");
+            for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+                Metric metric = entry.getValue();
+                writer.println(String.format(Locale.ENGLISH, "%s;%s;%.3f;%.3f;%.3f;%d;%.3f", entry.getKey(),
+                        metric.higherIsBetter ? "higher" : "lower", metric.mean, metric.lower(), metric.upper(),
+                        metric.samples, metric.standardError));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static String readFile(File file) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            StringBuilder result = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                result.append(buffer, 0, read);
+            }
+            return result.toString();
+        } finally {
+            reader.close();
+        }
+    }
+
+    /** A non-negative metric with its mean and the standard error of the mean over its samples. */
+    static class Metric {
+        final String name;
+        final boolean higherIsBetter;
+        final double mean;
+        final double standardError;
+        final int samples;
+
+        Metric(String name, boolean higherIsBetter, double mean, double standardError, int samples) {
+            this.name = name;
+            this.higherIsBetter = higherIsBetter;
+            this.mean = mean;
+            this.standardError = standardError;
+            this.samples = samples;
+        }
+
+        /**
+         * Derives a metric from the JMH throughput (in ops/s) of a benchmark processing {@code rows} rows per
+         * operation, either as rows per second ({@code higherIsBetter}) or as nanoseconds per row. Each fork is a
+         * sample.
+         */
+        @SuppressWarnings("unchecked")
+        static Metric fromJmh(String name, boolean higherIsBetter, Map<String, Object> primaryMetric, int rows) {
+            List<Object> forks = (List<Object>) primaryMetric.get("rawData");
+            double[] values = new double[forks.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = derive(higherIsBetter, mean((List<Object>) forks.get(i)), rows);
+            }
+            return fromSamples(name, higherIsBetter, values);
+        }
+
+        /** Computes mean and standard error over the given independent samples (e.g. forks). */
+        static Metric fromSamples(String name, boolean higherIsBetter, double[] samples) {
+            double sum = 0;
+            for (double sample : samples) {
+                sum += sample;
+            }
+            double mean = sum / samples.length;
+            if (samples.length < 2) {
+                return new Metric(name, higherIsBetter, mean, 0, samples.length);
+            }
+
+            double squares = 0;
+            for (double sample : samples) {
+                squares += (sample - mean) * (sample - mean);
+            }
+            double standardError = Math.sqrt(squares / (samples.length - 1) / samples.length);
+            return new Metric(name, higherIsBetter, mean, standardError, samples.length);
+        }
+
+        private static double derive(boolean higherIsBetter, double operationsPerSecond, int rows) {
+            return higherIsBetter ? operationsPerSecond * rows : 1e9 / (operationsPerSecond * rows);
+        }
+
+        private static double mean(List<Object> values) {
+            double sum = 0;
+            for (Object value : values) {
+                sum += ((Double) value).doubleValue();
+            }
+            return sum / values.size();
+        }
+
+        /** @return the half-width of the 99% confidence interval of the mean */
+        double halfWidth() {
+            if (standardError == 0) {
+                return 0;
+            }
+            return quantile(samples - 1) * standardError;
+        }
+
+        /** @return the lower bound of the 99% confidence interval of the mean, clamped at {@code 0} */
+        double lower() {
+            return Math.max(0, mean - halfWidth());
+        }
+
+        /** @return the upper bound of the 99% confidence interval of the mean */
+        double upper() {
+            return mean + halfWidth();
+        }
+
+        /**
+         * @param baseline to compare with
+         * @param threshold relative change which is tolerated
+         * @return {@code true} if the mean got worse by more than {@code threshold} and the difference of both means
+         *         exceeds its 99% confidence interval
+         */
+        boolean isWorseThan(Metric baseline, double threshold) {
+            double worsening = higherIsBetter ? baseline.mean - mean : mean - baseline.mean;
+            return worsening > threshold * baseline.mean && worsening > differenceHalfWidth(baseline);
+        }
+
+        /**
+         * @return the half-width of the 99% confidence interval of the difference of this and the given metric's mean
+         *         using Welch-Satterthwaite's approximation of the degrees of freedom
+         */
+        private double differenceHalfWidth(Metric other) {
+            double variance = standardError * standardError;
+            double otherVariance = other.standardError * other.standardError;
+            if (variance + otherVariance == 0) {
+                return 0;
+            }
+            double denominator = 0;
+            if (variance > 0) {
+                denominator += variance * variance / (samples - 1);
+            }
+            if (otherVariance > 0) {
+                denominator += otherVariance * otherVariance / (other.samples - 1);
+            }
+            double degreesOfFreedom = (variance + otherVariance) * (variance + otherVariance) / denominator;
+            return quantile(degreesOfFreedom) * Math.sqrt(variance + otherVariance);
+        }
+
+        private static double quantile(double degreesOfFreedom) {
+            return new TDistribution(degreesOfFreedom).inverseCumulativeProbability(1 - (1 - CONFIDENCE) / 2);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+
+/**
+ * Samples the bytes allocated by the current thread (if supported by the JVM) as well as the number and accumulated
+ * time of garbage collections of the whole JVM.
+ * <p>
+ * <i>Note:</i> Garbage collections are not attributable to threads such that they are accounted to every test method
+ * running concurrently.
+ * </p>
+ */
+class AllocationSampler {
+
+    private static final int ALLOCATED_BYTES = 0;
+    private static final int GC_COUNT = 1;
+    private static final int GC_TIME_MILLIS = 2;
+
+    private final ThreadMXBean threadMXBean;
+    private final boolean allocatedBytesSupported;
+    private final List<GarbageCollectorMXBean> garbageCollectorMXBeans;
+
+    AllocationSampler() {
+        threadMXBean = ManagementFactory.getThreadMXBean();
+        allocatedBytesSupported = isAllocatedBytesSupported(threadMXBean);
+        garbageCollectorMXBeans = ManagementFactory.getGarbageCollectorMXBeans();
+    }
+
+    private static boolean isAllocatedBytesSupported(ThreadMXBean threadMXBean) {
+        try {
+            if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+                if (sunThreadMXBean.isThreadAllocatedMemorySupported()) {
+                    sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+                    return true;
+                }
+            }
+        } catch (LinkageError e) {
+            // not available on this JVM
+        } catch (UnsupportedOperationException e) {
+            // not supported by this JVM
+        }
+        return false;
+    }
+
+    /** @return whether {@link #getAllocatedBytes(long[])} is supported or always {@code 0} */
+    boolean isAllocatedBytesSupported() {
+        return allocatedBytesSupported;
+    }
+
+    /** @return a sample of the current counters to be passed to the getters */
+    long[] sample() {
+        long[] result = new long[3];
+        if (allocatedBytesSupported) {
+            result[ALLOCATED_BYTES] = ((com.sun.management.ThreadMXBean) threadMXBean)
+                    .getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        for (GarbageCollectorMXBean garbageCollectorMXBean : garbageCollectorMXBeans) {
+            result[GC_COUNT] += Math.max(0, garbageCollectorMXBean.getCollectionCount());
+            result[GC_TIME_MILLIS] += Math.max(0, garbageCollectorMXBean.getCollectionTime());
+        }
+        return result;
+    }
+
+    static long getAllocatedBytes(long[] sample) {
+        return sample[ALLOCATED_BYTES];
+    }
+
+    static long getGcCount(long[] sample) {
+        return sample[GC_COUNT];
+    }
+
+    static long getGcTimeMillis(long[] sample) {
+        return sample[GC_TIME_MILLIS];
+    }
+
+    /**
+     * @param start sample taken before
+     * @param end sample taken afterwards
+     * @return the differences of all counters between both samples
+     */
+    static long[] difference(long[] start, long[] end) {
+        long[] result = new long[end.length];
+        for (int i = 0; i < end.length; i++) {
+            result[i] = end[i] - start[i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * {@link IndexedDataProvider} view of already materialized rows, e.g. the result of a data provider method.
+ */
+class ArrayDataProvider implements IndexedDataProvider {
+
+    private final Object[][] rows;
+
+    ArrayDataProvider(Object[][] rows) {
+        if (rows == null) {
+            throw new IllegalArgumentException("rows must not be null");
+        }
+        this.rows = rows;
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public Object[] row(int index) {
+        return rows[index];
+    }
+}
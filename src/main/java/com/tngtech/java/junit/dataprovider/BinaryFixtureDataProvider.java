@@ -0,0 +1,246 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * <p>{@link IndexedDataProvider} reading the rows of a binary fixture file written by {@link BinaryFixtureWriter}.</p>
+ *
+ * <p>The file is memory-mapped (read-only) when this data provider is created and each row is decoded only when it is
+ * requested, i.e. when the exploded test method is named or invoked. The offset index at the end of the file is read
+ * from the mapping as well, such that neither the startup time nor the heap usage depends on the size of the
+ * fixture.</p>
+ *
+ * <pre>
+ * &#064;DataProvider
+ * public static IndexedDataProvider dataProviderFixture() throws IOException {
+ *     return new BinaryFixtureDataProvider(new File("src/test/resources/fixture.bin"));
+ * }
+ * </pre>
+ */
+public class BinaryFixtureDataProvider implements IndexedDataProvider {
+
+    /** Maximum size of a single mapped segment (1 GiB) as a {@link MappedByteBuffer} is limited to 2 GiB. */
+    private static final int DEFAULT_SEGMENT_SHIFT = 30;
+
+    private final File file;
+    private final int segmentShift;
+    private final long segmentMask;
+    private final MappedByteBuffer[] segments;
+
+    private final long indexOffset;
+    private final int numberOfRows;
+
+    /**
+     * @param file binary fixture to be read
+     * @throws IOException if the file cannot be mapped or is not a binary fixture of a supported version
+     */
+    public BinaryFixtureDataProvider(File file) throws IOException {
+        this(file, DEFAULT_SEGMENT_SHIFT);
+    }
+
+    /**
+     * <p><i>Note:</i> This constructor is visible for testing.</p>
+     *
+     * @param file binary fixture to be read
+     * @param segmentShift base two logarithm of the size of a single mapped segment
+     * @throws IOException if the file cannot be mapped or is not a binary fixture of a supported version
+     */
+    BinaryFixtureDataProvider(File file, int segmentShift) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file must not be null");
+        }
+        if (segmentShift < 3 || segmentShift > DEFAULT_SEGMENT_SHIFT) {
+            throw new IllegalArgumentException("segmentShift must be between 3 and " + DEFAULT_SEGMENT_SHIFT);
+        }
+        this.file = file;
+        this.segmentShift = segmentShift;
+        this.segmentMask = (1L << segmentShift) - 1;
+        this.segments = map(file, segmentShift);
+
+        long length = segments.length == 0 ? 0 : ((long) (segments.length - 1) << segmentShift)
+                + segments[segments.length - 1].capacity();
+        if (length < BinaryFixtureFormat.HEADER_SIZE + BinaryFixtureFormat.TRAILER_SIZE
+                || getInt(0) != BinaryFixtureFormat.MAGIC || getInt(length - 4) != BinaryFixtureFormat.MAGIC) {
+            throw new IOException("Not a binary fixture: " + file);
+        }
+        if (getInt(4) != BinaryFixtureFormat.VERSION) {
+            throw new IOException(String.format("Unsupported version %d of binary fixture %s", getInt(4), file));
+        }
+        this.indexOffset = getLong(length - BinaryFixtureFormat.TRAILER_SIZE);
+        this.numberOfRows = getInt(length - BinaryFixtureFormat.TRAILER_SIZE + 8);
+        if (numberOfRows < 0 || indexOffset + 8L * numberOfRows != length - BinaryFixtureFormat.TRAILER_SIZE) {
+            throw new IOException("Corrupt index of binary fixture: " + file);
+        }
+    }
+
+    private static MappedByteBuffer[] map(File file, int segmentShift) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long length = channel.size();
+            long segmentSize = 1L << segmentShift;
+
+            MappedByteBuffer[] result = new MappedByteBuffer[(int) ((length + segmentSize - 1) >> segmentShift)];
+            for (int i = 0; i < result.length; i++) {
+                long position = (long) i << segmentShift;
+                result[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(segmentSize, length
+                        - position));
+            }
+            // the mappings stay valid after closing the channel
+            return result;
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    public int size() {
+        return numberOfRows;
+    }
+
+    public Object[] row(int index) {
+        if (index < 0 || index >= numberOfRows) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + numberOfRows);
+        }
+
+        long position = getLong(indexOffset + 8L * index);
+        Object[] result = new Object[getInt(position)];
+        position += 4;
+        for (int i = 0; i < result.length; i++) {
+            byte type = getByte(position++);
+            switch (type) {
+            case BinaryFixtureFormat.TYPE_NULL:
+                result[i] = null;
+                break;
+            case BinaryFixtureFormat.TYPE_BOOLEAN:
+                result[i] = getByte(position) != 0;
+                position += 1;
+                break;
+            case BinaryFixtureFormat.TYPE_BYTE:
+                result[i] = getByte(position);
+                position += 1;
+                break;
+            case BinaryFixtureFormat.TYPE_SHORT:
+                result[i] = (short) getBits(position, 2);
+                position += 2;
+                break;
+            case BinaryFixtureFormat.TYPE_CHAR:
+                result[i] = (char) getBits(position, 2);
+                position += 2;
+                break;
+            case BinaryFixtureFormat.TYPE_INT:
+                result[i] = getInt(position);
+                position += 4;
+                break;
+            case BinaryFixtureFormat.TYPE_LONG:
+                result[i] = getLong(position);
+                position += 8;
+                break;
+            case BinaryFixtureFormat.TYPE_FLOAT:
+                result[i] = Float.intBitsToFloat(getInt(position));
+                position += 4;
+                break;
+            case BinaryFixtureFormat.TYPE_DOUBLE:
+                result[i] = Double.longBitsToDouble(getLong(position));
+                position += 8;
+                break;
+            case BinaryFixtureFormat.TYPE_STRING:
+            case BinaryFixtureFormat.TYPE_BYTES:
+                byte[] bytes = new byte[getInt(position)];
+                position += 4;
+                getBytes(position, bytes);
+                position += bytes.length;
+                result[i] = (type == BinaryFixtureFormat.TYPE_BYTES) ? bytes : toString(bytes);
+                break;
+            default:
+                throw new IllegalStateException(String.format("Unknown type %d in row %d of binary fixture %s", type,
+                        index, file));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param shard index of the shard to be returned, between {@code 0} (inclusive) and {@code numberOfShards}
+     *            (exclusive)
+     * @param numberOfShards the rows are distributed to
+     * @return a data provider containing every {@code numberOfShards}-th row starting at row {@code shard}, e.g. to
+     *         distribute a fixture over several JVMs
+     */
+    public IndexedDataProvider shard(final int shard, final int numberOfShards) {
+        if (numberOfShards <= 0 || shard < 0 || shard >= numberOfShards) {
+            throw new IllegalArgumentException(String.format("shard %d of %d shards does not exist", shard,
+                    numberOfShards));
+        }
+        return new IndexedDataProvider() {
+            public int size() {
+                return (numberOfRows - shard + numberOfShards - 1) / numberOfShards;
+            }
+
+            public Object[] row(int index) {
+                return BinaryFixtureDataProvider.this.row(shard + index * numberOfShards);
+            }
+        };
+    }
+
+    private static String toString(byte[] bytes) {
+        try {
+            return new String(bytes, BinaryFixtureFormat.ENCODING);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private byte getByte(long position) {
+        return segments[(int) (position >>> segmentShift)].get((int) (position & segmentMask));
+    }
+
+    private int getInt(long position) {
+        return (int) getBits(position, 4);
+    }
+
+    private long getLong(long position) {
+        return getBits(position, 8);
+    }
+
+    /** Reads the given number of bytes as big-endian number, which may span two segments. */
+    private long getBits(long position, int numberOfBytes) {
+        ByteBuffer segment = segments[(int) (position >>> segmentShift)];
+        int offset = (int) (position & segmentMask);
+        if (offset + numberOfBytes <= segment.capacity()) {
+            switch (numberOfBytes) {
+            case 2:
+                return segment.getShort(offset);
+            case 4:
+                return segment.getInt(offset);
+            case 8:
+                return segment.getLong(offset);
+            default:
+                break;
+            }
+        }
+
+        long result = 0;
+        for (int i = 0; i < numberOfBytes; i++) {
+            result = (result << 8) | (getByte(position + i) & 0xff);
+        }
+        return result;
+    }
+
+    private void getBytes(long position, byte[] destination) {
+        int copied = 0;
+        while (copied < destination.length) {
+            long current = position + copied;
+            ByteBuffer segment = segments[(int) (current >>> segmentShift)].duplicate();
+            segment.position((int) (current & segmentMask));
+            int length = Math.min(destination.length - copied, segment.remaining());
+            segment.get(destination, copied, length);
+            copied += length;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Constants of the binary fixture format written by {@link BinaryFixtureWriter} and read by
+ * {@link BinaryFixtureDataProvider}. All numbers are big-endian.
+ *
+ * <pre>
+ * file    := MAGIC VERSION row* index trailer
+ * row     := int(numberOfColumns) value*
+ * value   := byte(TYPE_*) payload, where strings and byte arrays are prefixed by their length as int
+ * index   := long(offsetOfRow)*     (one entry per row)
+ * trailer := long(offsetOfIndex) int(numberOfRows) MAGIC
+ * </pre>
+ */
+final class BinaryFixtureFormat {
+
+    static final int MAGIC = 0x4a445046; // "JDPF"
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 16;
+
+    static final byte TYPE_NULL = 0;
+    static final byte TYPE_BOOLEAN = 1;
+    static final byte TYPE_BYTE = 2;
+    static final byte TYPE_SHORT = 3;
+    static final byte TYPE_CHAR = 4;
+    static final byte TYPE_INT = 5;
+    static final byte TYPE_LONG = 6;
+    static final byte TYPE_FLOAT = 7;
+    static final byte TYPE_DOUBLE = 8;
+    static final byte TYPE_STRING = 9;
+    static final byte TYPE_BYTES = 10;
+
+    static final String ENCODING = "UTF-8";
+
+    private BinaryFixtureFormat() {
+        // constants only
+    }
+}
@@ -0,0 +1,186 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * <p>Writes data provider rows to a compact, versioned binary fixture file which can be used as data provider via
+ * {@link BinaryFixtureDataProvider} without loading it into memory.</p>
+ *
+ * <p>Supported parameter types are {@code null}, the primitive wrapper types, {@link String} and {@code byte[]}.</p>
+ *
+ * <pre>
+ * BinaryFixtureWriter writer = new BinaryFixtureWriter(new FileOutputStream("fixture.bin"));
+ * try {
+ *     writer.writeRow(1, "one");
+ *     writer.writeRow(2, "two");
+ * } finally {
+ *     writer.close();
+ * }
+ * </pre>
+ */
+public class BinaryFixtureWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CountingOutputStream counter;
+    private final DataOutputStream out;
+
+    private long[] offsets = new long[1024];
+    private int numberOfRows;
+    private boolean closed;
+
+    /**
+     * Writes all given {@code rows} to the given {@code file}.
+     *
+     * @param file to be (over)written
+     * @param rows to be written, e.g. the result of an existing data provider
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if any row is {@code null}, empty or contains an unsupported parameter type
+     */
+    public static void write(File file, Object[][] rows) throws IOException {
+        if (rows == null) {
+            throw new IllegalArgumentException("rows must not be null");
+        }
+        BinaryFixtureWriter writer = new BinaryFixtureWriter(new FileOutputStream(file));
+        try {
+            for (Object[] row : rows) {
+                writer.writeRow(row);
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @param outputStream to write the fixture to, is closed by {@link #close()}
+     * @throws IOException if the header cannot be written
+     */
+    public BinaryFixtureWriter(OutputStream outputStream) throws IOException {
+        if (outputStream == null) {
+            throw new IllegalArgumentException("outputStream must not be null");
+        }
+        this.counter = new CountingOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        this.out = new DataOutputStream(counter);
+
+        out.writeInt(BinaryFixtureFormat.MAGIC);
+        out.writeInt(BinaryFixtureFormat.VERSION);
+    }
+
+    /**
+     * @param row the parameters of a single row
+     * @throws IOException if the row cannot be written
+     * @throws IllegalArgumentException if the row is {@code null}, empty or contains an unsupported parameter type
+     */
+    public void writeRow(Object... row) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("writer is already closed");
+        }
+        if (row == null || row.length == 0) {
+            throw new IllegalArgumentException("row must neither be null nor empty");
+        }
+
+        if (numberOfRows == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[numberOfRows++] = counter.count;
+
+        out.writeInt(row.length);
+        for (Object value : row) {
+            writeValue(value);
+        }
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(BinaryFixtureFormat.TYPE_NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BinaryFixtureFormat.TYPE_BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BinaryFixtureFormat.TYPE_BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeByte(BinaryFixtureFormat.TYPE_SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Character) {
+            out.writeByte(BinaryFixtureFormat.TYPE_CHAR);
+            out.writeChar((Character) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(BinaryFixtureFormat.TYPE_INT);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(BinaryFixtureFormat.TYPE_LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(BinaryFixtureFormat.TYPE_FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(BinaryFixtureFormat.TYPE_DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof String) {
+            byte[] bytes = ((String) value).getBytes(BinaryFixtureFormat.ENCODING);
+            out.writeByte(BinaryFixtureFormat.TYPE_STRING);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            out.writeByte(BinaryFixtureFormat.TYPE_BYTES);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        } else {
+            throw new IllegalArgumentException("Unsupported parameter type for binary fixture: "
+                    + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Writes the offset index and the trailer and closes the underlying output stream.
+     *
+     * @throws IOException if the fixture cannot be completed
+     */
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long indexOffset = counter.count;
+            for (int i = 0; i < numberOfRows; i++) {
+                out.writeLong(offsets[i]);
+            }
+            out.writeLong(indexOffset);
+            out.writeInt(numberOfRows);
+            out.writeInt(BinaryFixtureFormat.MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+
+/**
+ * Computes a hash over the bytecode of classes such that any change to them results in a different hash.
+ */
+class BytecodeHash {
+
+    private BytecodeHash() {
+        // utility class
+    }
+
+    /**
+     * @param classes whose bytecode should be hashed
+     * @return the hexadecimal SHA-1 hash over the names and bytecode of all given classes or {@code null} if the
+     *         bytecode of any class could not be read
+     */
+    static String of(Collection<Class<?>> classes) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+
+        byte[] buffer = new byte[8192];
+        for (Class<?> clazz : classes) {
+            digest.update(clazz.getName().getBytes());
+
+            InputStream in = openBytecode(clazz);
+            if (in == null) {
+                return null;
+            }
+            try {
+                try {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                return null;
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static InputStream openBytecode(Class<?> clazz) {
+        String resourceName = clazz.getName().replace('.', '/') + ".class";
+        ClassLoader classLoader = clazz.getClassLoader();
+        if (classLoader == null) {
+            return ClassLoader.getSystemResourceAsStream(resourceName);
+        }
+        return classLoader.getResourceAsStream(resourceName);
+    }
+
+    static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            result.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return result.toString();
+    }
+}
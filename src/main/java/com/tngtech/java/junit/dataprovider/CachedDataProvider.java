@@ -0,0 +1,29 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a deterministic data provider method (or the {@code provide} method of an {@link ExtendedDataProvider}) whose
+ * result may be stored in the persistent data provider cache (see
+ * {@link DataProviderProperties#PROVIDER_CACHE_DIRECTORY}) and reused by later runs and other JVMs.
+ * <p>
+ * The cache key consists of the bytecode of the class declaring the data provider and its super classes, the
+ * {@link #dependencies()} and the content of the {@link #inputFiles()}. Only results consisting of the parameter types
+ * supported by {@link BinaryFixtureWriter} are cached, all other results are computed on every run.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CachedDataProvider {
+
+    /** Paths (relative to the working directory) of the files the data provider reads its rows from. */
+    String[] inputFiles() default {};
+
+    /** Further classes the result of the data provider depends on. */
+    Class<?>[] dependencies() default {};
+}
@@ -0,0 +1,102 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * <p>{@link IndexedDataProvider} combining the rows of several data providers (= factors) to their Cartesian product,
+ * e.g. browsers &times; locales &times; payloads. A row of the product is the concatenation of one row of each factor
+ * and is computed from its index only when requested, such that the product does not need more memory than its
+ * factors. The rows of the last factor vary fastest.</p>
+ *
+ * <p>It is used for test methods whose {@code @}{@link UseDataProvider} declares a
+ * {@link UseDataProvider#product() product} and can also be returned by a data provider directly:</p>
+ *
+ * <pre>
+ * &#064;DataProvider
+ * public static IndexedDataProvider dataProviderBrowsersAndLocales() {
+ *     return CartesianProductDataProvider.of(dataProviderBrowsers(), dataProviderLocales());
+ * }
+ * </pre>
+ */
+public class CartesianProductDataProvider implements IndexedDataProvider {
+
+    private final IndexedDataProvider[] factors;
+    private final int[] sizes;
+    private final int size;
+
+    /**
+     * @param factors the data providers to be combined, the size of each one is determined once
+     * @throws IllegalArgumentException if no factor is given, a factor is {@code null} or empty, or the product has
+     *             more than {@link Integer#MAX_VALUE} rows
+     */
+    public CartesianProductDataProvider(IndexedDataProvider... factors) {
+        if (factors == null || factors.length == 0) {
+            throw new IllegalArgumentException("factors must not be empty");
+        }
+        this.factors = factors.clone();
+        this.sizes = new int[factors.length];
+
+        long product = 1;
+        for (int i = 0; i < factors.length; i++) {
+            if (factors[i] == null) {
+                throw new IllegalArgumentException("factor " + i + " must not be null");
+            }
+            sizes[i] = factors[i].size();
+            if (sizes[i] <= 0) {
+                throw new IllegalArgumentException("factor " + i + " must not be empty");
+            }
+            product *= sizes[i];
+            if (product > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Cartesian product must not have more than " + Integer.MAX_VALUE
+                        + " rows");
+            }
+        }
+        this.size = (int) product;
+    }
+
+    /**
+     * @param factors the rows of the data providers to be combined, e.g. the results of existing data provider methods
+     * @return the Cartesian product of the given {@code factors}
+     * @throws IllegalArgumentException if no factor is given, a factor is {@code null} or empty, or the product has
+     *             more than {@link Integer#MAX_VALUE} rows
+     */
+    public static CartesianProductDataProvider of(Object[][]... factors) {
+        if (factors == null) {
+            throw new IllegalArgumentException("factors must not be null");
+        }
+        IndexedDataProvider[] indexedFactors = new IndexedDataProvider[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            indexedFactors[i] = (factors[i] == null) ? null : new ArrayDataProvider(factors[i]);
+        }
+        return new CartesianProductDataProvider(indexedFactors);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Object[] row(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        Object[][] parts = new Object[factors.length][];
+        int length = 0;
+        int remainder = index;
+        for (int i = factors.length - 1; i >= 0; i--) {
+            parts[i] = factors[i].row(remainder % sizes[i]);
+            if (parts[i] == null) {
+                throw new IllegalStateException(String.format("Row %d of factor %d must not be null",
+                        remainder % sizes[i], i));
+            }
+            remainder /= sizes[i];
+            length += parts[i].length;
+        }
+
+        Object[] result = new Object[length];
+        int position = 0;
+        for (Object[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,103 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>{@link IndexedDataProvider} storing its rows column by column in primitive arrays, such that a row of e.g.
+ * {@code int}, {@code long} and {@code double} takes 20 bytes instead of about 100 bytes for an {@link Object}
+ * {@code []} of boxed values. Values are only boxed when a row is requested, i.e. when the exploded test method is
+ * named or invoked, and are not kept afterwards.</p>
+ *
+ * <pre>
+ * &#064;DataProvider
+ * public static IndexedDataProvider dataProviderSquares() {
+ *     int[] numbers = new int[1000000];
+ *     long[] squares = new long[numbers.length];
+ *     for (int i = 0; i &lt; numbers.length; i++) {
+ *         numbers[i] = i;
+ *         squares[i] = (long) i * i;
+ *     }
+ *     return new ColumnarDataProvider(numbers.length).column(numbers).column(squares);
+ * }
+ * </pre>
+ */
+public class ColumnarDataProvider implements IndexedDataProvider {
+
+    private final int numberOfRows;
+    private final List<Object> columns = new ArrayList<Object>();
+
+    /**
+     * @param numberOfRows the length of all columns, must be greater than {@code 0}
+     */
+    public ColumnarDataProvider(int numberOfRows) {
+        if (numberOfRows <= 0) {
+            throw new IllegalArgumentException("numberOfRows must be greater than 0");
+        }
+        this.numberOfRows = numberOfRows;
+    }
+
+    /** Adds the given {@code boolean} column as next parameter. */
+    public ColumnarDataProvider column(boolean[] column) {
+        return addColumn(column, (column == null) ? -1 : column.length);
+    }
+
+    /** Adds the given {@code int} column as next parameter. */
+    public ColumnarDataProvider column(int[] column) {
+        return addColumn(column, (column == null) ? -1 : column.length);
+    }
+
+    /** Adds the given {@code long} column as next parameter. */
+    public ColumnarDataProvider column(long[] column) {
+        return addColumn(column, (column == null) ? -1 : column.length);
+    }
+
+    /** Adds the given {@code double} column as next parameter. */
+    public ColumnarDataProvider column(double[] column) {
+        return addColumn(column, (column == null) ? -1 : column.length);
+    }
+
+    /** Adds the given column of arbitrary objects (e.g. {@link String}s) as next parameter. */
+    public ColumnarDataProvider column(Object[] column) {
+        return addColumn(column, (column == null) ? -1 : column.length);
+    }
+
+    private ColumnarDataProvider addColumn(Object column, int length) {
+        if (column == null) {
+            throw new IllegalArgumentException("column must not be null");
+        }
+        if (length != numberOfRows) {
+            throw new IllegalArgumentException(String.format("column %d has %d rows but %d are expected",
+                    columns.size(), length, numberOfRows));
+        }
+        columns.add(column);
+        return this;
+    }
+
+    public int size() {
+        return numberOfRows;
+    }
+
+    public Object[] row(int index) {
+        if (columns.isEmpty()) {
+            throw new IllegalStateException("No columns have been added");
+        }
+
+        Object[] result = new Object[columns.size()];
+        for (int i = 0; i < result.length; i++) {
+            Object column = columns.get(i);
+            if (column instanceof int[]) {
+                result[i] = ((int[]) column)[index];
+            } else if (column instanceof long[]) {
+                result[i] = ((long[]) column)[index];
+            } else if (column instanceof double[]) {
+                result[i] = ((double[]) column)[index];
+            } else if (column instanceof boolean[]) {
+                result[i] = ((boolean[]) column)[index];
+            } else {
+                result[i] = ((Object[]) column)[index];
+            }
+        }
+        return result;
+    }
+}
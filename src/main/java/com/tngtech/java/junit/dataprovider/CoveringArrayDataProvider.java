@@ -0,0 +1,337 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>{@link IndexedDataProvider} combining the rows of several data providers (= factors) such that every combination
+ * of rows of any {@code strength} factors occurs in at least one row, e.g. all pairs for a strength of {@code 2}. In
+ * contrast to the {@link CartesianProductDataProvider}, the number of rows only grows logarithmically with the number
+ * of factors, e.g. 20 factors having 10 rows each are covered pairwise by less than 250 instead of 10<sup>20</sup>
+ * rows.</p>
+ *
+ * <p>The covering array is generated once by the IPOG strategy (in-parameter-order-general), which extends the product
+ * of the first {@code strength} factors by one factor after the other, first horizontally by choosing the row of the
+ * new factor covering the most missing combinations and then vertically by adding rows for the remaining ones. Only the
+ * indices of the factor rows are kept, each row is concatenated from the rows of its factors when requested. The rows
+ * are deterministic for the same factors.</p>
+ *
+ * <p>It is used for test methods whose {@code @}{@link UseDataProvider} declares a {@link UseDataProvider#strength()}
+ * and can also be returned by a data provider directly:</p>
+ *
+ * <pre>
+ * &#064;DataProvider
+ * public static IndexedDataProvider dataProviderConfigurations() {
+ *     return CoveringArrayDataProvider.of(2, dataProviderBrowsers(), dataProviderLocales(), dataProviderDatabases());
+ * }
+ * </pre>
+ */
+public class CoveringArrayDataProvider implements IndexedDataProvider {
+
+    private static final int DONT_CARE = -1;
+
+    private final IndexedDataProvider[] factors;
+    private final int[][] rows;
+
+    /**
+     * @param strength the number of factors whose combinations of rows are all covered, e.g. {@code 2} for all pairs;
+     *            the full Cartesian product is generated if it is not less than the number of factors
+     * @param factors the data providers to be combined, the size of each one is determined once
+     * @throws IllegalArgumentException if {@code strength} is less than {@code 1}, no factor is given, a factor is
+     *             {@code null} or empty, or a combination of {@code strength} factors has more than
+     *             {@link Integer#MAX_VALUE} rows
+     */
+    public CoveringArrayDataProvider(int strength, IndexedDataProvider... factors) {
+        if (strength < 1) {
+            throw new IllegalArgumentException("strength must be greater than 0");
+        }
+        if (factors == null || factors.length == 0) {
+            throw new IllegalArgumentException("factors must not be empty");
+        }
+        this.factors = factors.clone();
+
+        int[] sizes = new int[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            if (factors[i] == null) {
+                throw new IllegalArgumentException("factor " + i + " must not be null");
+            }
+            sizes[i] = factors[i].size();
+            if (sizes[i] <= 0) {
+                throw new IllegalArgumentException("factor " + i + " must not be empty");
+            }
+        }
+        this.rows = generate(Math.min(strength, factors.length), sizes);
+    }
+
+    /**
+     * @param strength the number of factors whose combinations of rows are all covered, e.g. {@code 2} for all pairs
+     * @param factors the rows of the data providers to be combined, e.g. the results of existing data provider methods
+     * @return the covering array of the given {@code factors}
+     * @throws IllegalArgumentException if {@code strength} is less than {@code 1}, no factor is given, a factor is
+     *             {@code null} or empty, or a combination of {@code strength} factors has more than
+     *             {@link Integer#MAX_VALUE} rows
+     */
+    public static CoveringArrayDataProvider of(int strength, Object[][]... factors) {
+        if (factors == null) {
+            throw new IllegalArgumentException("factors must not be null");
+        }
+        IndexedDataProvider[] indexedFactors = new IndexedDataProvider[factors.length];
+        for (int i = 0; i < factors.length; i++) {
+            indexedFactors[i] = (factors[i] == null) ? null : new ArrayDataProvider(factors[i]);
+        }
+        return new CoveringArrayDataProvider(strength, indexedFactors);
+    }
+
+    public int size() {
+        return rows.length;
+    }
+
+    public Object[] row(int index) {
+        if (index < 0 || index >= rows.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + rows.length);
+        }
+
+        Object[][] parts = new Object[factors.length][];
+        int length = 0;
+        for (int i = 0; i < factors.length; i++) {
+            parts[i] = factors[i].row(rows[index][i]);
+            if (parts[i] == null) {
+                throw new IllegalStateException(String.format("Row %d of factor %d must not be null", rows[index][i],
+                        i));
+            }
+            length += parts[i].length;
+        }
+
+        Object[] result = new Object[length];
+        int position = 0;
+        for (Object[] part : parts) {
+            System.arraycopy(part, 0, result, position, part.length);
+            position += part.length;
+        }
+        return result;
+    }
+
+    /**
+     * <p>Returns the indices of the factor rows of the given row of the covering array.</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     */
+    int[] rowIndices(int index) {
+        return rows[index].clone();
+    }
+
+    /**
+     * @param strength the number of factors whose combinations are covered, not greater than the number of factors
+     * @param sizes the number of rows of each factor
+     * @return the rows of the covering array as indices of the factor rows
+     */
+    static int[][] generate(int strength, int[] sizes) {
+        List<int[]> result = new ArrayList<int[]>();
+
+        // the product of the first factors covers all of their combinations
+        int initialSize = (int) checkedProduct(sizes, range(strength), 1);
+        for (int index = 0; index < initialSize; index++) {
+            int[] row = new int[sizes.length];
+            Arrays.fill(row, DONT_CARE);
+            for (int factor = strength - 1, remainder = index; factor >= 0; factor--) {
+                row[factor] = remainder % sizes[factor];
+                remainder /= sizes[factor];
+            }
+            result.add(row);
+        }
+
+        // rows having don't care values are the only ones which can be adapted to cover a missing combination
+        Set<Integer> incompleteRows = new LinkedHashSet<Integer>();
+        for (int factor = strength; factor < sizes.length; factor++) {
+            extend(result, incompleteRows, combinations(factor, strength - 1), sizes, factor);
+        }
+
+        int[][] rows = result.toArray(new int[result.size()][]);
+        for (int[] row : rows) {
+            for (int factor = 0; factor < row.length; factor++) {
+                if (row[factor] == DONT_CARE) {
+                    row[factor] = 0;
+                }
+            }
+        }
+        return rows;
+    }
+
+    /** Adds the given {@code factor} to the given {@code rows} covering all combinations with the previous factors. */
+    private static void extend(List<int[]> rows, Set<Integer> incompleteRows, List<int[]> combinations, int[] sizes,
+            int factor) {
+        boolean[][] covered = new boolean[combinations.size()][];
+        for (int c = 0; c < covered.length; c++) {
+            covered[c] = new boolean[(int) checkedProduct(sizes, combinations.get(c), sizes[factor])];
+        }
+
+        // horizontal growth
+        int existingRows = rows.size();
+        for (int r = 0; r < existingRows; r++) {
+            int[] row = rows.get(r);
+            int bestValue = 0;
+            int bestCount = -1;
+            for (int value = 0; value < sizes[factor]; value++) {
+                int count = 0;
+                for (int c = 0; c < covered.length; c++) {
+                    int tuple = tupleIndex(row, combinations.get(c), sizes, factor, value);
+                    if (tuple != DONT_CARE && !covered[c][tuple]) {
+                        count++;
+                    }
+                }
+                if (count > bestCount) {
+                    bestValue = value;
+                    bestCount = count;
+                }
+            }
+            if (bestCount == 0) {
+                // keep the row adaptable for the vertical growth
+                incompleteRows.add(r);
+                continue;
+            }
+            row[factor] = bestValue;
+            markCovered(row, combinations, sizes, factor, covered);
+        }
+
+        // vertical growth
+        for (int c = 0; c < covered.length; c++) {
+            int[] combination = combinations.get(c);
+            for (int tuple = 0; tuple < covered[c].length; tuple++) {
+                if (covered[c][tuple]) {
+                    continue;
+                }
+                int[] values = decodeTuple(tuple, combination, sizes, factor);
+
+                int[] row = null;
+                for (Integer incompleteRow : incompleteRows) {
+                    int[] candidate = rows.get(incompleteRow.intValue());
+                    if (isCompatible(candidate, combination, values, factor)) {
+                        row = candidate;
+                        break;
+                    }
+                }
+                if (row == null) {
+                    row = new int[sizes.length];
+                    Arrays.fill(row, DONT_CARE);
+                    rows.add(row);
+                    incompleteRows.add(rows.size() - 1);
+                }
+
+                for (int i = 0; i < combination.length; i++) {
+                    row[combination[i]] = values[i];
+                }
+                row[factor] = values[combination.length];
+                markCovered(row, combinations, sizes, factor, covered);
+            }
+        }
+
+        for (Iterator<Integer> iterator = incompleteRows.iterator(); iterator.hasNext();) {
+            int[] row = rows.get(iterator.next().intValue());
+            boolean complete = true;
+            for (int i = 0; i <= factor && complete; i++) {
+                complete = row[i] != DONT_CARE;
+            }
+            if (complete) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isCompatible(int[] row, int[] combination, int[] values, int factor) {
+        if (row[factor] != DONT_CARE && row[factor] != values[combination.length]) {
+            return false;
+        }
+        for (int i = 0; i < combination.length; i++) {
+            if (row[combination[i]] != DONT_CARE && row[combination[i]] != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void markCovered(int[] row, List<int[]> combinations, int[] sizes, int factor,
+            boolean[][] covered) {
+        for (int c = 0; c < covered.length; c++) {
+            int tuple = tupleIndex(row, combinations.get(c), sizes, factor, row[factor]);
+            if (tuple != DONT_CARE) {
+                covered[c][tuple] = true;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the combination of the values of the given {@code row} at the factors of the given
+     *         {@code combination} and the given {@code value} of the new factor, or {@link #DONT_CARE} if any of them
+     *         is a don't care value
+     */
+    private static int tupleIndex(int[] row, int[] combination, int[] sizes, int factor, int value) {
+        if (value == DONT_CARE) {
+            return DONT_CARE;
+        }
+        int result = 0;
+        for (int i : combination) {
+            if (row[i] == DONT_CARE) {
+                return DONT_CARE;
+            }
+            result = result * sizes[i] + row[i];
+        }
+        return result * sizes[factor] + value;
+    }
+
+    /** @return the values of the factors of the given {@code combination} followed by the value of the new factor */
+    private static int[] decodeTuple(int tuple, int[] combination, int[] sizes, int factor) {
+        int[] result = new int[combination.length + 1];
+        result[combination.length] = tuple % sizes[factor];
+        int remainder = tuple / sizes[factor];
+        for (int i = combination.length - 1; i >= 0; i--) {
+            result[i] = remainder % sizes[combination[i]];
+            remainder /= sizes[combination[i]];
+        }
+        return result;
+    }
+
+    /** @return all subsets of {@code 0 .. numberOfFactors - 1} having the given {@code size} in lexicographic order */
+    private static List<int[]> combinations(int numberOfFactors, int size) {
+        List<int[]> result = new ArrayList<int[]>();
+        int[] combination = range(size);
+        while (true) {
+            result.add(combination.clone());
+
+            int i = size - 1;
+            while (i >= 0 && combination[i] == numberOfFactors - size + i) {
+                i--;
+            }
+            if (i < 0) {
+                return result;
+            }
+            combination[i]++;
+            for (int j = i + 1; j < size; j++) {
+                combination[j] = combination[j - 1] + 1;
+            }
+        }
+    }
+
+    private static int[] range(int size) {
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = i;
+        }
+        return result;
+    }
+
+    private static long checkedProduct(int[] sizes, int[] factors, int initial) {
+        long result = initial;
+        for (int factor : factors) {
+            result *= sizes[factor];
+            if (result > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Combinations of factors must not have more than "
+                        + Integer.MAX_VALUE + " rows");
+            }
+        }
+        return result;
+    }
+}
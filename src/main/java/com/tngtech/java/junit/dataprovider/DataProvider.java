@@ -15,6 +15,8 @@ import java.lang.annotation.Target;
  * with each "row" of this two-dimensional array.</li>
  * <li> In case of an {@link ExtendedDataProvider}, the object must be public and static and implement the {@code provide()}
  * method, which is the equivalent of annotating a single method.
+ * <li> In case of a test method declaring its rows inline using {@link #value()}, no {@code @}{@link UseDataProvider} is
+ * required, e.g. {@code @DataProvider({ "1, 2, 3", "4, 5, 9" })}.</li>
  * </ul>
  * The test method must be annotated with {@code @}{@link UseDataProvider}. This annotation behaves pretty much the same as
  * the {@code @DataProvider} annotation from <a href="http://testng.org/">TestNG</a>.
@@ -31,5 +33,14 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD,ElementType.FIELD})
 public @interface DataProvider {
-    // has no attributes
+
+    /**
+     * Rows of a test method given inline, each consisting of values separated by the {@link #delimiter()}. The rows
+     * are parsed once and converted to the parameter types of the annotated test method like the rows of a
+     * {@link DataProviderFile}; defaults to none, i.e. the annotated method or field is a data provider itself.
+     */
+    String[] value() default {};
+
+    /** The character separating the values of the inline rows given by {@link #value()}; defaults to {@code ','}. */
+    char delimiter() default ',';
 }
@@ -0,0 +1,54 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Mark a test method for use with the rows of a delimited text file (e.g. CSV or TSV) instead of a data provider
+ * method. It is used instead of {@code @}{@link UseDataProvider}.</p>
+ *
+ * <p>Each non-blank line is a row whose values are separated by the {@link #delimiter()}. Values are trimmed unless
+ * they are enclosed in double quotes (which allows delimiters, line breaks and doubled quotes within a value). The
+ * values are converted to the parameter types of the test method using converters determined once per test method:
+ * primitive types and their wrappers, {@link String}, enums (by name) and any type having a public static
+ * {@code valueOf(String)} method or a public constructor taking a single {@link String} are supported. The value
+ * {@code null} is converted to {@code null} for non-primitive types.</p>
+ *
+ * <p>The file is read in a single pass when the test method is exploded. If it is an uncompressed file (not a
+ * resource within an archive) encoded in UTF-8 or a single byte charset, only the byte offset of each row is kept and
+ * the row is parsed and converted again when its test runs. Otherwise (e.g. if it is gzip-compressed, which is
+ * decompressed transparently) all converted rows are kept in memory like the result of a data provider method; use
+ * an {@link IndexedDataProvider} (e.g. a {@link BinaryFixtureDataProvider}) for such rows if they do not fit into
+ * memory.</p>
+ *
+ * <pre>
+ * &#064;Test
+ * &#064;DataProviderFile(value = "src/test/resources/add.csv.gz", header = true)
+ * public void testAdd(int a, int b, long expected) {
+ *     // ...
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DataProviderFile {
+
+    /**
+     * The path of the file relative to the working directory or, if no such file exists, the name of a class path
+     * resource resolved relative to the test class (see {@link Class#getResource(String)}).
+     */
+    String value();
+
+    /** The character separating the values of a row, e.g. {@code '\t'} for TSV files; defaults to {@code ','}. */
+    char delimiter() default ',';
+
+    /** Whether the first row is a header to be skipped; defaults to {@code false}. */
+    boolean header() default false;
+
+    /** The character encoding of the file; defaults to {@code UTF-8}. */
+    String encoding() default "UTF-8";
+}
@@ -9,19 +9,34 @@ import org.junit.runner.manipulation.Filter;
 /**
  * This custom {@link Filter} filters test methods or even single data provider rows of a test class which is run by
  * {@link DataProviderRunner}.
+ * <p>
+ * A single data provider row can either be selected by its index, e.g. {@code "Method testMain[2: ...](Clazz)"}, or by
+ * its stable {@link RowIdentifier}, e.g. {@code "Method testMain[#0123456789abcdef](Clazz)"}.
+ * </p>
  */
 public class DataProviderFilter extends Filter {
 
     /** <p><i>Note:</i> This field is visible for testing.</p> */
     static final Pattern DESCRIPTION_PATTERN = Pattern.compile("([^\\[\\] ]+)" + "(\\[(\\d+):.*\\])?" + "\\((.+)\\)$");
 
+    /** <p><i>Note:</i> This field is visible for testing.</p> */
+    static final Pattern IDENTIFIER_PATTERN = Pattern.compile("([^\\[\\] ]+)" + "\\[#([0-9a-f]+)\\]" + "\\((.+)\\)$");
+
     private static final int GROUP_METHOD_NAME = 1;
     private static final int GROUP_METHOD_PARAMS = 2;
     private static final int GROUP_METHOD_IDX = 3;
     private static final int GROUP_CLASS = 4;
 
+    private static final int IDENTIFIER_GROUP_METHOD_NAME = 1;
+    private static final int IDENTIFIER_GROUP_IDENTIFIER = 2;
+    private static final int IDENTIFIER_GROUP_CLASS = 3;
+
     private final Filter filter;
-    private final Matcher filterDescriptionMatcher;
+
+    private final String filterMethodName;
+    private final String filterClassName;
+    private final String filterMethodIdx;
+    private final String filterIdentifier;
 
     /**
      * Creates a new {@link DataProvider} using the textual {@link Filter#describe()} of supplied {@link Filter} to
@@ -36,11 +51,25 @@ public class DataProviderFilter extends Filter {
         }
         this.filter = filter;
 
-        filterDescriptionMatcher = DESCRIPTION_PATTERN.matcher(filter.describe());
+        Matcher filterIdentifierMatcher = IDENTIFIER_PATTERN.matcher(filter.describe());
+        if (filterIdentifierMatcher.find()) {
+            filterMethodName = filterIdentifierMatcher.group(IDENTIFIER_GROUP_METHOD_NAME);
+            filterClassName = filterIdentifierMatcher.group(IDENTIFIER_GROUP_CLASS);
+            filterMethodIdx = null;
+            filterIdentifier = filterIdentifierMatcher.group(IDENTIFIER_GROUP_IDENTIFIER);
+            return;
+        }
+
+        Matcher filterDescriptionMatcher = DESCRIPTION_PATTERN.matcher(filter.describe());
         if (!filterDescriptionMatcher.find()) {
             throw new IllegalArgumentException(String.format("Filter description %s is not supported by %s.",
                     filter.describe(), this.getClass().getSimpleName()));
         }
+        filterMethodName = filterDescriptionMatcher.group(GROUP_METHOD_NAME);
+        filterClassName = filterDescriptionMatcher.group(GROUP_CLASS);
+        filterMethodIdx = (filterDescriptionMatcher.group(GROUP_METHOD_PARAMS) == null) ? null
+                : filterDescriptionMatcher.group(GROUP_METHOD_IDX);
+        filterIdentifier = null;
     }
 
     /**
@@ -55,14 +84,23 @@ public class DataProviderFilter extends Filter {
                 throw new IllegalArgumentException(String.format("Test method description %s is not suppored by %s.",
                         filter.describe(), this.getClass().getSimpleName()));
             }
-            if (!filterDescriptionMatcher.group(GROUP_METHOD_NAME).equals(descriptionMatcher.group(GROUP_METHOD_NAME))
-                    || !filterDescriptionMatcher.group(GROUP_CLASS).equals(descriptionMatcher.group(GROUP_CLASS))) {
+            if (!filterMethodName.equals(descriptionMatcher.group(GROUP_METHOD_NAME))
+                    || !filterClassName.equals(descriptionMatcher.group(GROUP_CLASS))) {
 
                 return false;
             }
-            return filterDescriptionMatcher.group(GROUP_METHOD_PARAMS) == null
-                    || filterDescriptionMatcher.group(GROUP_METHOD_IDX).equals(
-                            descriptionMatcher.group(GROUP_METHOD_IDX));
+            if (descriptionMatcher.group(GROUP_METHOD_PARAMS) == null
+                    && (description.getAnnotation(UseDataProvider.class) != null
+                            || description.getAnnotation(DataProviderFile.class) != null
+                            || description.getAnnotation(DataProvider.class) != null)) {
+                // placeholder of a test method whose explosion is deferred, its rows are filtered when exploded
+                return true;
+            }
+            if (filterIdentifier != null) {
+                RowIdentifier rowIdentifier = description.getAnnotation(RowIdentifier.class);
+                return rowIdentifier != null && filterIdentifier.equals(rowIdentifier.value());
+            }
+            return filterMethodIdx == null || filterMethodIdx.equals(descriptionMatcher.group(GROUP_METHOD_IDX));
         }
 
         // explicitly check if any children want to run
@@ -74,6 +112,22 @@ public class DataProviderFilter extends Filter {
         return false;
     }
 
+    /**
+     * @return {@code true} if this filter selects a single data provider row (by index or {@link RowIdentifier}),
+     *         {@code false} if it selects whole test methods
+     */
+    boolean isSelectingSingleRow() {
+        return filterMethodIdx != null || filterIdentifier != null;
+    }
+
+    /**
+     * @return the index of the data provider row selected by this filter (starting at {@code 1}) or {@code null} if it
+     *         does not select a row by index
+     */
+    Integer getSelectedRowIndex() {
+        return (filterMethodIdx == null) ? null : Integer.valueOf(filterMethodIdx);
+    }
+
     @Override
     public String describe() {
         return filter.describe();
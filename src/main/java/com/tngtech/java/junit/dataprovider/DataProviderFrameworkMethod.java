@@ -1,6 +1,8 @@
 package com.tngtech.java.junit.dataprovider;
 
+import java.io.IOException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import org.junit.runners.model.FrameworkMethod;
@@ -13,14 +15,31 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
     /** Index of exploded test method such that each gets a unique name. */
     private int index = 1;
 
-    /** Parameters to invoke the test method. */
+    /** Parameters to invoke the test method or {@code null} if they are requested from {@link #rowSource}. */
     private final Object[] parameters;
 
+    /** Data provider to request the parameters from on demand or {@code null} if {@link #parameters} are given. */
+    private final IndexedDataProvider rowSource;
+
+    /** Hasher to compute the {@link #identifier} from the {@link #parameters}. */
+    private final ParameterHasher parameterHasher;
+
+    /** Stable identifier of this exploded test method, computed lazily. */
+    private String identifier;
+
+    /** Whether the {@link #identifier} was computed from the values of all parameters, computed with it. */
+    private boolean identifiedByValue;
+
     public DataProviderFrameworkMethod(Method method, int index, Object[] parameters) {
     	this(method, index, 1, parameters);
     }
 
     public DataProviderFrameworkMethod(Method method, int index, int numberOfRows, Object[] parameters) {
+        this(method, index, numberOfRows, parameters, new DefaultParameterHasher());
+    }
+
+    public DataProviderFrameworkMethod(Method method, int index, int numberOfRows, Object[] parameters,
+            ParameterHasher parameterHasher) {
         super(method);
 
         setIndex(index);
@@ -32,7 +51,35 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
             throw new IllegalArgumentException("parameter must not be empty");
         }
 
+        if (parameterHasher == null) {
+            throw new IllegalArgumentException("parameterHasher must not be null");
+        }
+
         this.parameters = Arrays.copyOf(parameters, parameters.length);
+        this.rowSource = null;
+        this.parameterHasher = parameterHasher;
+    }
+
+    /**
+     * Creates an exploded test method whose parameters are requested from the given {@code rowSource} (using
+     * {@code index - 1}) whenever they are needed instead of being kept.
+     */
+    public DataProviderFrameworkMethod(Method method, int index, int numberOfRows, IndexedDataProvider rowSource,
+            ParameterHasher parameterHasher) {
+        super(method);
+
+        setIndex(index);
+
+        if (rowSource == null) {
+            throw new IllegalArgumentException("rowSource must not be null");
+        }
+        if (parameterHasher == null) {
+            throw new IllegalArgumentException("parameterHasher must not be null");
+        }
+
+        this.parameters = null;
+        this.rowSource = rowSource;
+        this.parameterHasher = parameterHasher;
     }
 
     protected void setIndex(int index) {
@@ -44,17 +91,107 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
     }
 
     protected Object[] getParameters() {
-    	return parameters;
+        if (rowSource == null) {
+            return parameters;
+        }
+
+        Object[] result = rowSource.row(index - 1);
+        if (result == null || result.length == 0) {
+            throw new IllegalStateException(String.format(
+                    "Row %d of indexed data provider must neither be null nor empty", index - 1));
+        }
+        return result;
+    }
+
+    /**
+     * Returns an identifier of this exploded test method which is computed from its parameters only. In contrast to
+     * the index, it is therefore stable if rows are added to, removed from or reordered within the data provider.
+     *
+     * @return the stable identifier of this exploded test method as hexadecimal string
+     */
+    public String getIdentifier() {
+        if (identifier == null) {
+            Object[] currentParameters = getParameters();
+            String hex = Long.toHexString(parameterHasher.hash(currentParameters));
+            identifiedByValue = !(parameterHasher instanceof DefaultParameterHasher)
+                    || ((DefaultParameterHasher) parameterHasher).isHashedByValue(currentParameters);
+            identifier = "0000000000000000".substring(hex.length()) + hex;
+        }
+        return identifier;
+    }
+
+    /**
+     * @return {@code true} if the identifier (see {@link #getIdentifier()}) was computed by a custom
+     *         {@link ParameterHasher} or from parameters hashed by value only (see
+     *         {@link DefaultParameterHasher#isHashedByValue(Object)}), such that different parameters cannot share the
+     *         same identifier apart from hash collisions
+     */
+    boolean isIdentifiedByValue() {
+        getIdentifier();
+        return identifiedByValue;
     }
 
     @Override
     public String getName() {
-        return String.format("%s[%d: %s]", super.getName(), index, format(parameters));
+        return String.format("%s[%d: %s]", super.getName(), index, format(getParameters()));
+    }
+
+    /**
+     * Moves all {@code byte[]} parameters having at least {@code threshold} bytes to the given {@code store}. The
+     * identifier is computed beforehand such that it does not change.
+     *
+     * @param store to move the parameters to
+     * @param threshold minimum size in bytes of the parameters to be moved
+     * @throws IOException if a parameter cannot be stored
+     */
+    void moveParametersOffHeap(OffHeapStore store, long threshold) throws IOException {
+        if (parameters == null) {
+            return;
+        }
+        getIdentifier();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] instanceof byte[] && ((byte[]) parameters[i]).length >= threshold) {
+                parameters[i] = store.store((byte[]) parameters[i]);
+            }
+        }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Parameters stored off-heap are read back for this invocation only, and {@code byte[]} parameters are wrapped if
+     * the test method declares a {@link ByteBuffer}.
+     * </p>
+     */
     @Override
     public Object invokeExplosively(Object target, Object... params) throws Throwable {
-    	return super.invokeExplosively(target, parameters);
+    	return super.invokeExplosively(target, resolveBinaryParameters(getParameters()));
+    }
+
+    private Object[] resolveBinaryParameters(Object[] parameters) throws IOException {
+        Object[] result = parameters;
+        Class<?>[] parameterTypes = null;
+        for (int i = 0; i < parameters.length; i++) {
+            Object parameter = parameters[i];
+            if (!(parameter instanceof OffHeapStore.Entry) && !(parameter instanceof byte[])) {
+                continue;
+            }
+            if (parameterTypes == null) {
+                parameterTypes = getMethod().getParameterTypes();
+            }
+            boolean byteBuffer = i < parameterTypes.length && ByteBuffer.class.equals(parameterTypes[i]);
+            if (!(parameter instanceof OffHeapStore.Entry) && !byteBuffer) {
+                continue;
+            }
+
+            if (result == parameters) {
+                result = Arrays.copyOf(parameters, parameters.length);
+            }
+            ByteBuffer buffer = (parameter instanceof OffHeapStore.Entry) ? ((OffHeapStore.Entry) parameter).read()
+                    : ByteBuffer.wrap((byte[]) parameter);
+            result[i] = byteBuffer ? buffer : buffer.array();
+        }
+        return result;
     }
 
 	@Override
@@ -62,7 +199,7 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + index;
-		result = prime * result + Arrays.hashCode(parameters);
+		result = prime * result + ((rowSource == null) ? Arrays.hashCode(parameters) : System.identityHashCode(rowSource));
 		return result;
 	}
 
@@ -77,6 +214,8 @@ public class DataProviderFrameworkMethod extends FrameworkMethod {
 		DataProviderFrameworkMethod other = (DataProviderFrameworkMethod) obj;
 		if (index != other.index)
 			return false;
+		if (rowSource != other.rowSource)
+			return false;
 		if (!Arrays.equals(parameters, other.parameters))
 			return false;
 		return true;
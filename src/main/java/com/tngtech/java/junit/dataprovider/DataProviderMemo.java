@@ -0,0 +1,178 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Memoizes the results of data providers by the data provider method and its target (i.e. the
+ * {@link ExtendedDataProvider} instance, if any), see {@link DataProviderProperties#MEMOIZATION}. Concurrent requests
+ * of the same data provider wait for a single invocation. Completed results are evicted in least recently used order
+ * as soon as either the number of entries or their estimated size in bytes (see {@link ObjectSizeEstimator}) exceeds
+ * its limit.
+ */
+class DataProviderMemo {
+
+    /** Default limit of the number of memoized data provider results. */
+    static final long DEFAULT_MAX_ENTRIES = 64;
+
+    /** Default limit of the estimated size of all memoized data provider results in bytes (256 MB). */
+    static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private static DataProviderMemo jvmInstance;
+
+    private final long maxEntries;
+    private final long maxBytes;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+    private long bytes;
+
+    /** Invokes the data provider on a cache miss. */
+    interface Loader {
+        Object[][] load() throws Throwable;
+    }
+
+    /**
+     * @return the memo shared by all test classes of the current JVM, configured by the system properties when first
+     *         requested
+     */
+    static synchronized DataProviderMemo jvm() {
+        if (jvmInstance == null) {
+            jvmInstance = fromProperties();
+        }
+        return jvmInstance;
+    }
+
+    /** @return a new memo configured by the system properties */
+    static DataProviderMemo fromProperties() {
+        return new DataProviderMemo(DataProviderProperties.getLong(DataProviderProperties.MEMOIZATION_MAX_ENTRIES,
+                DEFAULT_MAX_ENTRIES), DataProviderProperties.getLong(DataProviderProperties.MEMOIZATION_MAX_BYTES,
+                DEFAULT_MAX_BYTES));
+    }
+
+    DataProviderMemo(long maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @param dataProvider the data provider method
+     * @param target the instance to invoke the data provider on or {@code null} if it is static
+     * @param loader invoking the data provider if its result is not memoized yet
+     * @return the memoized or newly loaded result
+     * @throws Throwable if the {@code loader} failed, failures are not memoized
+     */
+    Object[][] get(Method dataProvider, Object target, Loader loader) throws Throwable {
+        Key key = new Key(dataProvider, target);
+        Entry entry;
+        boolean load = false;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(key, entry);
+                load = true;
+            }
+        }
+
+        if (load) {
+            try {
+                entry.complete(loader.load(), null);
+            } catch (Throwable t) {
+                synchronized (this) {
+                    entries.remove(key);
+                }
+                entry.complete(null, t);
+                throw t;
+            }
+            synchronized (this) {
+                bytes += entry.bytes;
+                entry.counted = true;
+                evict();
+            }
+        }
+        return entry.await();
+    }
+
+    /**
+     * Removes the result of the given data provider if it is completely loaded and counted, e.g. because its rows are
+     * kept elsewhere.
+     *
+     * @param dataProvider the data provider method
+     * @param target the instance the data provider was invoked on or {@code null} if it is static
+     */
+    synchronized void remove(Method dataProvider, Object target) {
+        Key key = new Key(dataProvider, target);
+        Entry entry = entries.get(key);
+        if (entry != null && entry.counted) {
+            entries.remove(key);
+            bytes -= entry.bytes;
+        }
+    }
+
+    /** @return the number of memoized data provider results including the ones still being loaded */
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.counted) {
+                iterator.remove();
+                bytes -= entry.bytes;
+            }
+        }
+    }
+
+    private static class Key {
+        private final Method dataProvider;
+        private final Object target;
+
+        Key(Method dataProvider, Object target) {
+            this.dataProvider = dataProvider;
+            this.target = target;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * dataProvider.hashCode() + System.identityHashCode(target);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return dataProvider.equals(other.dataProvider) && target == other.target;
+        }
+    }
+
+    private static class Entry {
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Object[][] result;
+        private volatile Throwable failure;
+        private long bytes;
+        /** Whether {@link #bytes} is included in the total size of the memo, guarded by the memo. */
+        private boolean counted;
+
+        void complete(Object[][] result, Throwable failure) {
+            this.result = result;
+            this.failure = failure;
+            this.bytes = ObjectSizeEstimator.estimate(result);
+            completed.countDown();
+        }
+
+        Object[][] await() throws Throwable {
+            completed.await();
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.tngtech.java.junit.dataprovider;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.runners.model.FrameworkMethod;
 
@@ -29,10 +31,52 @@ class DataProviderMethodsList {
         counter.get(getFullName(method)).increaseCurrentIndex();
     }
 
+    /**
+     * Removes a single run of the given method, e.g. because it is skipped, such that {@link #isLastRunForMethodName}
+     * is still correct for the remaining runs.
+     */
+    public void decreaseNumberOfRunsForMethodName(FrameworkMethod method) {
+        counter.get(getFullName(method)).decreaseNumberOfRuns();
+    }
+
+    /**
+     * Adds the given number of runs to the given method, e.g. because a placeholder was exploded into multiple runs.
+     */
+    public void increaseNumberOfRunsForMethodName(FrameworkMethod method, int runs) {
+        counter.get(getFullName(method)).increaseNumberOfRuns(runs);
+    }
+
     public boolean isLastRunForMethodName(FrameworkMethod method) {
         return counter.get(getFullName(method)).isLastRun();
     }
 
+    public void testStartedForMethodName(FrameworkMethod method) {
+        Counter methodCounter = counter.get(getFullName(method));
+        if (methodCounter != null) {
+            methodCounter.testStarted();
+        }
+    }
+
+    public void testFinishedForMethodName(FrameworkMethod method, boolean failed) {
+        Counter methodCounter = counter.get(getFullName(method));
+        if (methodCounter != null) {
+            methodCounter.testFinished(failed);
+        }
+    }
+
+    /** @return the full names (= declaring class name and method name) of all methods */
+    public Collection<String> getFullMethodNames() {
+        return counter.keySet();
+    }
+
+    /**
+     * @param fullName the full name of a method (see {@link #getFullMethodNames()})
+     * @return the counter of the given method or {@code null} if no such method exists
+     */
+    Counter getCounterForFullMethodName(String fullName) {
+        return counter.get(fullName);
+    }
+
     private void updateCounters() {
         counter.clear();
         for (FrameworkMethod method : methods) {
@@ -41,7 +85,11 @@ class DataProviderMethodsList {
                 counter.put(name, new Counter());
             }
 
-            counter.get(name).increaseNumberOfRuns();
+            if (method instanceof DeferredFrameworkMethod) {
+                counter.get(name).increaseNumberOfRuns(((DeferredFrameworkMethod) method).getNumberOfRuns());
+            } else {
+                counter.get(name).increaseNumberOfRuns();
+            }
         }
     }
 
@@ -53,9 +101,16 @@ class DataProviderMethodsList {
         return method.getMethod().getDeclaringClass().getName() + "." + method.getMethod().getName();
     }
 
-    private static class Counter {
+    static class Counter {
         private int currentIndex = 0;
-        private int numberOfRuns = 0;
+        private volatile int numberOfRuns = 0;
+
+        private final AtomicInteger started = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        /** {@link System#nanoTime()} when the first run started or {@code null} if none started yet. */
+        private volatile Long firstStartNanos;
 
         public int getCurrentIndex() {
             return currentIndex;
@@ -69,8 +124,50 @@ class DataProviderMethodsList {
             numberOfRuns++;
         }
 
+        public void increaseNumberOfRuns(int runs) {
+            numberOfRuns += runs;
+        }
+
+        public void decreaseNumberOfRuns() {
+            numberOfRuns--;
+        }
+
         public boolean isLastRun() {
             return numberOfRuns == 1 || currentIndex == numberOfRuns;
         }
+
+        public void testStarted() {
+            if (firstStartNanos == null) {
+                firstStartNanos = System.nanoTime();
+            }
+            started.incrementAndGet();
+        }
+
+        public void testFinished(boolean failure) {
+            if (failure) {
+                failed.incrementAndGet();
+            }
+            completed.incrementAndGet();
+        }
+
+        public int getNumberOfRuns() {
+            return numberOfRuns;
+        }
+
+        public int getCompleted() {
+            return completed.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public int getInFlight() {
+            return started.get() - completed.get();
+        }
+
+        public Long getFirstStartNanos() {
+            return firstStartNanos;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,107 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * {@link DataProviderRunnerListener} profiling each data provider invocation by its latency, the time to explode the
+ * test method, the number of rows, the parameter arity and the estimated retained size of its result (see
+ * {@link ObjectSizeEstimator}). The profile of every data provider is logged with level {@link Level#FINE}, data
+ * providers exceeding any of the configured thresholds with level {@link Level#WARNING} (see
+ * {@link DataProviderProperties#PROFILING}).
+ */
+class DataProviderProfiler extends DataProviderRunnerListener {
+
+    private static final Logger LOGGER = Logger.getLogger(DataProviderProfiler.class.getName());
+
+    private final long thresholdNanos;
+    private final long thresholdRows;
+    private final long thresholdBytes;
+
+    /** Profiles of data provider invocations whose test method is not yet exploded completely. */
+    private final Map<Method, Profile> pendingProfiles = new HashMap<Method, Profile>();
+
+    /**
+     * @param thresholdMillis latency of data provider invocations in milliseconds above which they are reported
+     * @param thresholdRows number of rows above which data providers are reported
+     * @param thresholdBytes estimated retained size in bytes above which data providers are reported
+     */
+    DataProviderProfiler(long thresholdMillis, long thresholdRows, long thresholdBytes) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.thresholdRows = thresholdRows;
+        this.thresholdBytes = thresholdBytes;
+    }
+
+    @Override
+    public synchronized void dataProviderInvoked(FrameworkMethod testMethod, Method dataProvider, Object[][] result,
+            long durationNanos) {
+
+        Profile profile = new Profile(testMethod.getMethod(), dataProvider.getName());
+        profile.invocationNanos = durationNanos;
+        if (result != null) {
+            profile.rows = result.length;
+            profile.minArity = (result.length == 0) ? 0 : Integer.MAX_VALUE;
+            for (Object[] row : result) {
+                int arity = (row == null) ? 0 : row.length;
+                profile.minArity = Math.min(profile.minArity, arity);
+                profile.maxArity = Math.max(profile.maxArity, arity);
+            }
+            profile.estimatedBytes = ObjectSizeEstimator.estimate(result);
+        }
+        pendingProfiles.put(testMethod.getMethod(), profile);
+    }
+
+    @Override
+    public synchronized void testMethodExploded(FrameworkMethod testMethod, int rows, long durationNanos) {
+        Profile profile = pendingProfiles.remove(testMethod.getMethod());
+        if (profile == null) {
+            return;
+        }
+        profile.explodeNanos = durationNanos;
+
+        if (isExceedingThreshold(profile)) {
+            LOGGER.warning(profile + " exceeds threshold(s) of " + TimeUnit.NANOSECONDS.toMillis(thresholdNanos)
+                    + " ms, " + thresholdRows + " rows or " + thresholdBytes + " bytes");
+        } else if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(profile.toString());
+        }
+    }
+
+    /** <p><i>Note:</i> This method is visible for testing.</p> */
+    boolean isExceedingThreshold(Profile profile) {
+        return profile.invocationNanos > thresholdNanos || profile.rows > thresholdRows
+                || profile.estimatedBytes > thresholdBytes;
+    }
+
+    /** Profile of a single data provider invocation. */
+    static class Profile {
+        final Method testMethod;
+        final String dataProviderName;
+
+        long invocationNanos;
+        long explodeNanos;
+        int rows;
+        int minArity;
+        int maxArity;
+        long estimatedBytes;
+
+        Profile(Method testMethod, String dataProviderName) {
+            this.testMethod = testMethod;
+            this.dataProviderName = dataProviderName;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Data provider '%s' of test method %s.%s: invocation %d ms, explosion %d ms, %d rows, "
+                    + "arity %d..%d, ~%d bytes", dataProviderName, testMethod.getDeclaringClass().getName(),
+                    testMethod.getName(), TimeUnit.NANOSECONDS.toMillis(invocationNanos),
+                    TimeUnit.NANOSECONDS.toMillis(explodeNanos), rows, minArity, maxArity, estimatedBytes);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataProviderProgressMBean} computing the progress of one or more test methods from the counters tracked by
+ * {@link DataProviderMethodsList}.
+ */
+class DataProviderProgress implements DataProviderProgressMBean {
+
+    private final DataProviderMethodsList methodsList;
+    private final Collection<String> fullMethodNames;
+
+    /**
+     * @param methodsList tracking the counters
+     * @param fullMethodNames the full names of all test methods to be aggregated
+     */
+    DataProviderProgress(DataProviderMethodsList methodsList, Collection<String> fullMethodNames) {
+        this.methodsList = methodsList;
+        this.fullMethodNames = fullMethodNames;
+    }
+
+    public int getTotalRows() {
+        int result = 0;
+        for (String fullMethodName : fullMethodNames) {
+            result += methodsList.getCounterForFullMethodName(fullMethodName).getNumberOfRuns();
+        }
+        return result;
+    }
+
+    public int getCompletedRows() {
+        int result = 0;
+        for (String fullMethodName : fullMethodNames) {
+            result += methodsList.getCounterForFullMethodName(fullMethodName).getCompleted();
+        }
+        return result;
+    }
+
+    public int getFailedRows() {
+        int result = 0;
+        for (String fullMethodName : fullMethodNames) {
+            result += methodsList.getCounterForFullMethodName(fullMethodName).getFailed();
+        }
+        return result;
+    }
+
+    public int getInFlightRows() {
+        int result = 0;
+        for (String fullMethodName : fullMethodNames) {
+            result += methodsList.getCounterForFullMethodName(fullMethodName).getInFlight();
+        }
+        return result;
+    }
+
+    public double getRowsPerSecond() {
+        Long firstStartNanos = null;
+        for (String fullMethodName : fullMethodNames) {
+            Long startNanos = methodsList.getCounterForFullMethodName(fullMethodName).getFirstStartNanos();
+            if (startNanos != null && (firstStartNanos == null || startNanos < firstStartNanos)) {
+                firstStartNanos = startNanos;
+            }
+        }
+        if (firstStartNanos == null) {
+            return 0;
+        }
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - firstStartNanos);
+        return getCompletedRows() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    public long getEstimatedSecondsRemaining() {
+        double rowsPerSecond = getRowsPerSecond();
+        if (rowsPerSecond <= 0) {
+            return -1;
+        }
+        return (long) Math.ceil(Math.max(0, getTotalRows() - getCompletedRows()) / rowsPerSecond);
+    }
+}
@@ -0,0 +1,26 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Management interface exposing the live progress of a test class or a single test method run by
+ * {@link DataProviderRunner} (see {@link DataProviderProperties#JMX}).
+ */
+public interface DataProviderProgressMBean {
+
+    /** @return the number of (exploded) test methods to be run */
+    int getTotalRows();
+
+    /** @return the number of (exploded) test methods already finished, including failed ones */
+    int getCompletedRows();
+
+    /** @return the number of (exploded) test methods already failed */
+    int getFailedRows();
+
+    /** @return the number of (exploded) test methods currently running */
+    int getInFlightRows();
+
+    /** @return the number of completed (exploded) test methods per second since the first one started */
+    double getRowsPerSecond();
+
+    /** @return the estimated number of seconds until all test methods are completed or {@code -1} if unknown */
+    long getEstimatedSecondsRemaining();
+}
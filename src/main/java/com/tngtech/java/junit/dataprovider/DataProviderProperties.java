@@ -0,0 +1,189 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Names of the system properties configuring optional features of {@link DataProviderRunner}. All of them are disabled
+ * by default.
+ */
+public final class DataProviderProperties {
+
+    /**
+     * Directory of the result cache which enables skipping of already passed exploded test methods whose parameters and
+     * test code are unchanged since (see {@link ResultCacheDependencies}).
+     */
+    public static final String RESULT_CACHE_DIRECTORY = "junit.dataprovider.resultCache.directory";
+
+    /**
+     * How exploded test methods skipped due to the result cache are reported, either {@code "skipped"} (= ignored,
+     * default) or {@code "passed"}.
+     */
+    public static final String RESULT_CACHE_REPORT = "junit.dataprovider.resultCache.report";
+
+    /**
+     * File to write a JSON report to containing a timing histogram over all rows of each test method and the number,
+     * total and maximum duration of the invocations of each data provider per test method. It is written once when
+     * the JVM shuts down.
+     */
+    public static final String REPORT_FILE = "junit.dataprovider.report.file";
+
+    /**
+     * Set to {@code true} to additionally account the bytes allocated by and the garbage collections during each row
+     * to its test method and to report the rows allocating most or spending most time in garbage collections (requires
+     * {@link #REPORT_FILE}).
+     */
+    public static final String REPORT_ALLOCATIONS = "junit.dataprovider.report.allocations";
+
+    /**
+     * File to stream a timeline of all data provider invocations, rows and {@link ExtendedDataProvider} hooks to, using
+     * the trace event format loadable in {@code chrome://tracing} or Perfetto.
+     */
+    public static final String TRACE_FILE = "junit.dataprovider.trace.file";
+
+    /**
+     * Set to {@code true} to profile each data provider invocation by latency, row count, parameter arity and estimated
+     * retained size. Profiles are logged with level {@code FINE} or {@code WARNING} if they exceed any threshold.
+     */
+    public static final String PROFILING = "junit.dataprovider.profiling";
+
+    /** Latency threshold for data provider invocations in milliseconds, defaults to {@code 1000}. */
+    public static final String PROFILING_THRESHOLD_MILLIS = "junit.dataprovider.profiling.thresholdMillis";
+
+    /** Threshold for the number of rows returned by a data provider, defaults to {@code 100000}. */
+    public static final String PROFILING_THRESHOLD_ROWS = "junit.dataprovider.profiling.thresholdRows";
+
+    /** Threshold for the estimated retained size of a data provider result in bytes, defaults to 256 MB. */
+    public static final String PROFILING_THRESHOLD_BYTES = "junit.dataprovider.profiling.thresholdBytes";
+
+    /**
+     * Set to {@code true} to register a {@link DataProviderProgressMBean} for each running test class (object name
+     * {@code com.tngtech.java.junit.dataprovider:type=DataProviderProgress,class=<class name>}) and each of its test
+     * methods (object name additionally containing {@code method=<method name>}).
+     */
+    public static final String JMX = "junit.dataprovider.jmx";
+
+    /**
+     * Set to {@code true} to defer the invocation of data providers until their test method is about to run. During
+     * discovery, each test method using a data provider is described by a single placeholder which is replaced by its
+     * exploded test methods when it runs, such that data providers of test methods which are not run are never
+     * invoked.
+     */
+    public static final String DEFERRED_EXPLOSION = "junit.dataprovider.deferredExplosion";
+
+    /**
+     * Minimum size in bytes of {@code byte[]} parameters to be stored off-heap in a scratch file of the test class
+     * instead of being kept on the heap until the test class finished. Such parameters are read back into a fresh
+     * {@code byte[]} (or a {@link java.nio.ByteBuffer} if the test method declares one) each time their row is
+     * invoked. Not set by default, i.e. all parameters stay on the heap.
+     */
+    public static final String OFF_HEAP_THRESHOLD = "junit.dataprovider.offHeap.threshold";
+
+    /**
+     * Estimated heap size in bytes the rows of all data providers of a single test class may retain. Rows exceeding
+     * the budget are serialized to a temporary file and deserialized each time they are needed. If a row cannot be
+     * serialized, the explosion fails with a descriptive error instead of risking an {@link OutOfMemoryError} of the
+     * whole JVM. The memoized result of a data provider whose rows are spilled is forgotten (see {@link #MEMOIZATION}),
+     * as it would still retain all rows. Not set by default, i.e. all rows stay on the heap.
+     */
+    public static final String HEAP_BUDGET = "junit.dataprovider.heapBudget";
+
+    /**
+     * Set to {@code class} or {@code jvm} to memoize the results of data providers (keyed by data provider method or
+     * {@link ExtendedDataProvider} field) such that they are invoked only once per test class or once per JVM (e.g. for
+     * all test classes referencing the same data provider {@link UseDataProvider#location()}), respectively.
+     * <i>Note:</i> Memoized parameters are shared between all test methods using them and must therefore not be
+     * modified. Results whose rows exceed the {@link #HEAP_BUDGET} are not kept memoized, i.e. they are invoked again
+     * by the next test class or method using them.
+     */
+    public static final String MEMOIZATION = "junit.dataprovider.memoization";
+
+    /** Maximum number of memoized data provider results per scope, defaults to {@code 64}. */
+    public static final String MEMOIZATION_MAX_ENTRIES = "junit.dataprovider.memoization.maxEntries";
+
+    /** Maximum estimated size of all memoized data provider results per scope in bytes, defaults to 256 MB. */
+    public static final String MEMOIZATION_MAX_BYTES = "junit.dataprovider.memoization.maxBytes";
+
+    /**
+     * Directory to store the results of data providers annotated with {@link CachedDataProvider} in, such that they
+     * are reused by subsequent runs and by concurrently forked JVMs sharing the directory.
+     */
+    public static final String PROVIDER_CACHE_DIRECTORY = "junit.dataprovider.providerCache.directory";
+
+    /**
+     * Number of randomly selected rows to run per test method using a data provider instead of all rows, e.g. for quick
+     * pre-merge checks (see {@link DataProviderSample}).
+     */
+    public static final String SAMPLE_COUNT = "junit.dataprovider.sample.count";
+
+    /**
+     * Fraction (between {@code 0} exclusive and {@code 1} inclusive) of randomly selected rows to run per test method
+     * using a data provider if {@link #SAMPLE_COUNT} is not set (see {@link DataProviderSample}).
+     */
+    public static final String SAMPLE_FRACTION = "junit.dataprovider.sample.fraction";
+
+    /**
+     * Seed of the random selection of rows to reproduce a previous sample, defaults to a random seed per JVM. The used
+     * seed is logged whenever rows are sampled.
+     */
+    public static final String SAMPLE_SEED = "junit.dataprovider.sample.seed";
+
+    private DataProviderProperties() {
+        // utility class
+    }
+
+    /**
+     * @param key of the system property
+     * @return the trimmed value of the system property or {@code null} if not set or blank
+     */
+    static String getString(String key) {
+        String value = System.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    /**
+     * @param key of the system property
+     * @param defaultValue to be returned if the system property is not set
+     * @return the value of the system property as {@code long}
+     * @throws IllegalArgumentException if the value of the system property is not a number
+     */
+    static long getLong(String key, long defaultValue) {
+        String value = getString(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("System property '%s' must be a number but was '%s'.",
+                    key, value), e);
+        }
+    }
+
+    /**
+     * @param key of the system property
+     * @param defaultValue to be returned if the system property is not set
+     * @return the value of the system property as {@code double}
+     * @throws IllegalArgumentException if the value of the system property is not a number
+     */
+    static double getDouble(String key, double defaultValue) {
+        String value = getString(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(String.format("System property '%s' must be a number but was '%s'.",
+                    key, value), e);
+        }
+    }
+
+    /**
+     * @param key of the system property
+     * @return {@code true} if the system property is set to {@code "true"} (ignoring case)
+     */
+    static boolean getBoolean(String key) {
+        return Boolean.parseBoolean(getString(key));
+    }
+}
@@ -1,12 +1,40 @@
 package com.tngtech.java.junit.dataprovider;
 
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.internal.runners.model.EachTestNotifier;
 import org.junit.internal.runners.model.MultipleFailureException;
 import org.junit.internal.runners.model.ReflectiveCallable;
 import org.junit.internal.runners.statements.Fail;
@@ -14,6 +42,7 @@ import org.junit.rules.MethodRule;
 import org.junit.runner.Description;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkField;
 import org.junit.runners.model.FrameworkMethod;
@@ -30,9 +59,77 @@ import org.junit.runners.model.TestClass;
  */
 public class DataProviderRunner extends BlockJUnit4ClassRunner {
 
+	private static final Logger LOGGER = Logger.getLogger(DataProviderRunner.class.getName());
+
+	/** Domain of the {@link ObjectName}s of all registered {@link DataProviderProgressMBean}s. */
+	static final String PROGRESS_MBEAN_DOMAIN = "com.tngtech.java.junit.dataprovider";
+
 	/** <p>This field is visible for testing</p> */
 	protected DataProviderMethodsList computedTestMethods;
 
+	/** Whether {@link DataProviderProgressMBean}s are registered while this runner runs (see {@link #withProgress}). */
+	private volatile boolean progressTracked;
+
+	/**
+	 * Cache of passed exploded test methods or {@code null} if disabled or not yet initialized (see
+	 * {@link #getResultCache()}).
+	 */
+	private ResultCache resultCache;
+
+	/**
+	 * Exploded test methods which are skipped because they already passed (see {@link #isCachedAsPassed}). They are
+	 * determined before any of them runs such that {@link ExtendedDataProvider#afterAll()} is invoked after the last
+	 * row which is actually run.
+	 */
+	private final Map<FrameworkMethod, Boolean> cachedAsPassed = Collections
+	        .synchronizedMap(new IdentityHashMap<FrameworkMethod, Boolean>());
+
+	/** Code hashes by test method name used as part of the result cache key, see {@link #getCodeHash(FrameworkMethod)}. */
+	private Map<String, String> codeHashes;
+
+	/**
+	 * Listeners to be notified or {@code null} if not yet initialized (see {@link #getListeners()}). <i>Note:</i> This
+	 * field must not have an initializer as it is already used while the super constructor validates the test class.
+	 */
+	private List<DataProviderRunnerListener> listeners;
+
+	/** The filter applied to this runner, required to filter deferred exploded test methods, or {@code null}. */
+	private DataProviderFilter dataProviderFilter;
+
+	/**
+	 * Converted inline rows by test method (see {@link DataProvider#value()}) or {@code null} if not yet initialized
+	 * (see {@link #getInlineRows(FrameworkMethod)}). <i>Note:</i> This field must not have an initializer as it is
+	 * already used while the super constructor validates the test class.
+	 */
+	private Map<Method, Object[][]> inlineRows;
+
+	/**
+	 * Scratch file for large binary parameters or {@code null} if disabled or not yet initialized (see
+	 * {@link #getOffHeapStore()}).
+	 */
+	private OffHeapStore offHeapStore;
+
+	/** Estimated heap size of all exploded rows of this test class kept on the heap (see {@link #spillFiles}). */
+	private long retainedRowBytes;
+
+	/**
+	 * Files of rows exceeding the heap budget or {@code null} if none have been created yet (see
+	 * {@link DataProviderProperties#HEAP_BUDGET}).
+	 */
+	private List<SpillFile> spillFiles;
+
+	/** Data provider files whose rows are read on demand or {@code null} if none have been opened yet. */
+	private List<DelimitedFileDataProvider> dataProviderFiles;
+
+	/**
+	 * Memoized data provider results of this test class or {@code null} if not yet initialized (see
+	 * {@link #getDataProviderMemo()}).
+	 */
+	private DataProviderMemo dataProviderMemo;
+
+	/** Random seed of all samples of this JVM if not configured or {@code null} if not yet initialized. */
+	private static Long defaultSampleSeed;
+
     /**
      * Creates a DataProviderRunner to run supplied {@code clazz}.
      *
@@ -45,7 +142,7 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 
     @Override
     public void filter(final Filter filter) throws NoTestsRemainException {
-		DataProviderFilter dataProviderFilter = new DataProviderFilter(filter);
+		dataProviderFilter = new DataProviderFilter(filter);
 		computedTestMethods.setListOfComputedMethods(getFilteredMethods(dataProviderFilter));
 
         super.filter(dataProviderFilter);
@@ -58,7 +155,7 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 		List<FrameworkMethod> newList = new ArrayList<FrameworkMethod>();
 		for (FrameworkMethod method : computeTestMethods()) {
 			if (dataProviderFilter.shouldRun(Description.createTestDescription(method.getMethod().getDeclaringClass(),
-					method.getName()))) {
+					method.getName(), getDescriptionAnnotations(method)))) {
 				newList.add(method);
 			}
 		}
@@ -66,11 +163,248 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 		return newList;
 	}
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, the {@link Description} of an exploded test method contains its {@link RowIdentifier}.
+     * </p>
+     */
+    @Override
+    protected Description describeChild(FrameworkMethod method) {
+        if (method instanceof DeferredFrameworkMethod) {
+            return describeDeferredChild((DeferredFrameworkMethod) method);
+        }
+        return Description.createTestDescription(getTestClass().getJavaClass(), testName(method),
+                getDescriptionAnnotations(method));
+    }
+
+    /**
+     * @param method placeholder of a test method whose explosion is deferred
+     * @return a description named like the test method containing the descriptions of its exploded test methods, if
+     *         already exploded
+     */
+    private Description describeDeferredChild(DeferredFrameworkMethod method) {
+        Description result = Description.createSuiteDescription(
+                String.format("%s(%s)", testName(method), getTestClass().getName()), method.getAnnotations());
+
+        List<FrameworkMethod> explodedMethods = method.getExplodedMethods();
+        if (explodedMethods != null) {
+            for (FrameworkMethod explodedMethod : explodedMethods) {
+                result.addChild(describeChild(explodedMethod));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param method the (potentially exploded) test method
+     * @return the annotations of the given {@code method} plus its {@link RowIdentifier} if it is an exploded test
+     *         method
+     */
+    private Annotation[] getDescriptionAnnotations(FrameworkMethod method) {
+        Annotation[] annotations = method.getAnnotations();
+        if (!(method instanceof DataProviderFrameworkMethod)) {
+            return annotations;
+        }
+
+        Annotation[] result = Arrays.copyOf(annotations, annotations.length + 1);
+        result[annotations.length] = new RowIdentifierAnnotation(((DataProviderFrameworkMethod) method).getIdentifier());
+        return result;
+    }
+
+    @Override
+    public void run(RunNotifier notifier) {
+        List<ObjectName> progressMBeans = registerProgressMBeans();
+        progressTracked = !progressMBeans.isEmpty();
+        try {
+            skipCachedAsPassed(computedTestMethods.getListOfComputedMethods());
+            super.run(notifier);
+        } finally {
+            progressTracked = false;
+            unregisterProgressMBeans(progressMBeans);
+            saveResultCache();
+            try {
+                // before closing the stores, as listeners may still access parameters of the exploded test methods
+                for (DataProviderRunnerListener listener : getListeners()) {
+                    listener.testClassFinished(getTestClass().getJavaClass());
+                }
+            } finally {
+                closeOffHeapStore();
+                closeSpillFiles();
+                closeDataProviderFiles();
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Additionally, exploded test methods which already passed with unchanged parameters and test code are reported as
+     * skipped or passed without running them if the result cache is enabled (see
+     * {@link DataProviderProperties#RESULT_CACHE_DIRECTORY}).
+     * </p>
+     */
+    @Override
+    protected void runChild(FrameworkMethod method, RunNotifier notifier) {
+        if (method instanceof DeferredFrameworkMethod) {
+            runDeferredChild((DeferredFrameworkMethod) method, notifier);
+            return;
+        }
+        if (cachedAsPassed.containsKey(method)) {
+            Description description = describeChild(method);
+            if ("passed".equals(DataProviderProperties.getString(DataProviderProperties.RESULT_CACHE_REPORT))) {
+                notifier.fireTestStarted(description);
+                notifier.fireTestFinished(description);
+            } else {
+                notifier.fireTestIgnored(description);
+            }
+            return;
+        }
+        super.runChild(method, notifier);
+    }
+
+    /**
+     * <p>Explodes the test method of the given placeholder, notifies the listeners of the given {@code notifier} about
+     * the exploded test methods and runs all of them which are not filtered.</p>
+     *
+     * @param method placeholder of a test method whose explosion is deferred
+     * @param notifier to be notified about the exploded test methods
+     */
+    private void runDeferredChild(DeferredFrameworkMethod method, RunNotifier notifier) {
+        List<FrameworkMethod> explodedMethods;
+        try {
+            explodedMethods = explodeTestMethod(method.getTestMethod());
+        } catch (Throwable t) {
+            EachTestNotifier eachNotifier = new EachTestNotifier(notifier, describeChild(method));
+            eachNotifier.fireTestStarted();
+            eachNotifier.addFailure(t);
+            eachNotifier.fireTestFinished();
+            return;
+        }
+
+        List<FrameworkMethod> filteredMethods = filter(sample(method.getTestMethod(), explodedMethods));
+        Integer declaredNumberOfRows = method.getDeclaredNumberOfRows();
+        if (declaredNumberOfRows != null && declaredNumberOfRows.intValue() != explodedMethods.size()) {
+            LOGGER.warning(String.format("Data provider of test method '%s' declared %d rows but provided %d.",
+                    method.getName(), declaredNumberOfRows, explodedMethods.size()));
+        }
+
+        int previousNumberOfRuns = method.getNumberOfRuns();
+        method.setExplodedMethods(filteredMethods);
+        computedTestMethods.increaseNumberOfRunsForMethodName(method, filteredMethods.size() - previousNumberOfRuns);
+        skipCachedAsPassed(filteredMethods);
+
+        for (FrameworkMethod explodedMethod : filteredMethods) {
+            runChild(explodedMethod, notifier);
+        }
+    }
+
+    /**
+     * Selects a seeded random sample of the given exploded test methods if sampling is configured for the given test
+     * method (see {@link DataProviderSample}, {@link DataProviderProperties#SAMPLE_COUNT} and
+     * {@link DataProviderProperties#SAMPLE_FRACTION}) and logs the seed to reproduce it.
+     *
+     * @param testMethod the original test method
+     * @param explodedMethods the exploded test methods of the given test method
+     * @return the sampled exploded test methods or the given ones if sampling is not configured
+     */
+    private List<FrameworkMethod> sample(FrameworkMethod testMethod, List<FrameworkMethod> explodedMethods) {
+        if (explodedMethods.size() == 1 && explodedMethods.get(0) == testMethod) {
+            // test method does not use a data provider
+            return explodedMethods;
+        }
+
+        DataProviderSample dataProviderSample = testMethod.getAnnotation(DataProviderSample.class);
+        int count = (dataProviderSample == null) ? 0 : dataProviderSample.count();
+        double fraction = (dataProviderSample == null) ? 0 : dataProviderSample.fraction();
+        if (count <= 0 && fraction <= 0) {
+            count = (int) DataProviderProperties.getLong(DataProviderProperties.SAMPLE_COUNT, 0);
+            fraction = DataProviderProperties.getDouble(DataProviderProperties.SAMPLE_FRACTION, 0);
+        }
+        if (count <= 0 && fraction <= 0) {
+            return explodedMethods;
+        }
+
+        long seed = DataProviderProperties.getLong(DataProviderProperties.SAMPLE_SEED, getDefaultSampleSeed());
+        List<FrameworkMethod> result = new RowSampler(seed).sample(testMethod.getMethod().getDeclaringClass()
+                .getName() + "#" + testMethod.getName(), explodedMethods, count, fraction,
+                (dataProviderSample == null) ? -1 : dataProviderSample.keyColumn());
+        LOGGER.info(String.format("Sampled %d of %d rows of test method '%s' using seed %d (rerun with -D%s=%d).",
+                result.size(), explodedMethods.size(), testMethod.getName(), seed, DataProviderProperties.SAMPLE_SEED,
+                seed));
+        return result;
+    }
+
+    private static synchronized long getDefaultSampleSeed() {
+        if (defaultSampleSeed == null) {
+            defaultSampleSeed = new Random().nextLong();
+        }
+        return defaultSampleSeed.longValue();
+    }
+
+    /**
+     * Applies the current {@link DataProviderFilter} to the given exploded test methods. Rows of an
+     * {@link IndexedDataProvider} selected by index are looked up directly without requesting any other row.
+     *
+     * @param explodedMethods the exploded test methods of a single test method
+     * @return the exploded test methods which should be run
+     */
+    private List<FrameworkMethod> filter(List<FrameworkMethod> explodedMethods) {
+        if (dataProviderFilter == null) {
+            return explodedMethods;
+        }
+
+        Integer selectedRowIndex = dataProviderFilter.getSelectedRowIndex();
+        if (selectedRowIndex != null && explodedMethods instanceof IndexedFrameworkMethodList) {
+            int index = selectedRowIndex.intValue() - 1;
+            if (index >= 0 && index < explodedMethods.size()
+                    && dataProviderFilter.shouldRun(describeChild(explodedMethods.get(index)))) {
+                return Collections.singletonList(explodedMethods.get(index));
+            }
+            return Collections.emptyList();
+        }
+
+        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
+        for (FrameworkMethod explodedMethod : explodedMethods) {
+            if (dataProviderFilter.shouldRun(describeChild(explodedMethod))) {
+                result.add(explodedMethod);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Placeholders of test methods whose explosion is deferred are counted by the number of rows declared by their
+     * data provider (see {@link SizedDataProvider}) without invoking it, or as a single test if unknown.
+     * </p>
+     */
+    @Override
+    public int testCount() {
+        int result = 0;
+        for (FrameworkMethod method : computeTestMethods()) {
+            if (!(method instanceof DeferredFrameworkMethod)) {
+                result++;
+            } else if (((DeferredFrameworkMethod) method).getExplodedMethods() == null && dataProviderFilter != null
+                    && dataProviderFilter.isSelectingSingleRow()) {
+                result++;
+            } else {
+                result += ((DeferredFrameworkMethod) method).getNumberOfRuns();
+            }
+        }
+        return result;
+    }
+
     @Override
     protected List<FrameworkMethod> computeTestMethods() {
         if (computedTestMethods == null) {
             computedTestMethods = new DataProviderMethodsList();
-            computedTestMethods.setListOfComputedMethods(generateExplodedTestMethodsFor(super.computeTestMethods()));
+            if (DataProviderProperties.getBoolean(DataProviderProperties.DEFERRED_EXPLOSION)) {
+                computedTestMethods.setListOfComputedMethods(generateDeferredTestMethodsFor(super.computeTestMethods()));
+            } else {
+                computedTestMethods.setListOfComputedMethods(generateExplodedTestMethodsFor(super.computeTestMethods()));
+            }
         }
 
         return computedTestMethods.getListOfComputedMethods();
@@ -93,7 +427,8 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
             throw new IllegalArgumentException("errors must not be null");
         }
         for (FrameworkMethod method : getTestClassInt().getAnnotatedMethods(Test.class)) {
-            if (method.getAnnotation(UseDataProvider.class) == null) {
+            if (method.getAnnotation(UseDataProvider.class) == null
+                    && method.getAnnotation(DataProviderFile.class) == null && !hasInlineRows(method)) {
                 method.validatePublicVoidNoArg(false, errors);
             } else {
                 method.validatePublicVoid(false, errors);
@@ -128,6 +463,9 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 		statement = withBefores(method, test, statement);
 		statement = withAfters(method, test, statement);
 		statement = withRules(method, test, statement);
+		statement = withListeners(method, statement);
+		statement = withProgress(method, statement);
+		statement = withResultCache(method, statement);
 
 		return statement;
 	}
@@ -160,7 +498,7 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 	 */
 	private Statement withDataProviderMethods(final FrameworkMethod method, final Statement statement) {
 		final FrameworkField dataProvider = getDataProviderField(method);
-		if (dataProvider == null) {
+		if (dataProvider == null || !ExtendedDataProvider.class.isAssignableFrom(dataProvider.getField().getType())) {
 		    return statement;
 		}
 
@@ -171,16 +509,16 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 
 			    computedTestMethods.increaseCurrentIndexForMethodName(method);
 			    if (computedTestMethods.getCurrentIndexForMethodName(method) == 1) {
-			        invokeFrameworkFieldMethod(dataProvider, "beforeAll", errors);
+			        invokeDataProviderHook(method, dataProvider, "beforeAll", errors);
 			    }
-			    invokeFrameworkFieldMethod(dataProvider, "beforeEach", errors);
+			    invokeDataProviderHook(method, dataProvider, "beforeEach", errors);
 
 			    try {
 			        statement.evaluate();
 			    } finally {
-			        invokeFrameworkFieldMethod(dataProvider, "afterEach", errors);
+			        invokeDataProviderHook(method, dataProvider, "afterEach", errors);
 			        if (computedTestMethods.isLastRunForMethodName(method)) {
-			            invokeFrameworkFieldMethod(dataProvider, "afterAll", errors);
+			            invokeDataProviderHook(method, dataProvider, "afterAll", errors);
 			        }
 			    }
 
@@ -189,6 +527,143 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
 		};
 	}
 
+	/**
+	 * <p>Notifies all listeners about the evaluation of the given {@code method} and its duration.</p>
+	 *
+	 * @param method the test method to be run
+	 * @param statement to be run for the {@code method} including all befores, afters and rules
+	 * @return the modified statement or just {@code statement} if there are no listeners
+	 */
+	private Statement withListeners(final FrameworkMethod method, final Statement statement) {
+	    final List<DataProviderRunnerListener> currentListeners = getListeners();
+	    if (currentListeners.isEmpty()) {
+	        return statement;
+	    }
+
+	    return new Statement() {
+	        @Override
+	        public void evaluate() throws Throwable {
+	            for (DataProviderRunnerListener listener : currentListeners) {
+	                listener.testMethodStarted(method);
+	            }
+
+	            Throwable failure = null;
+	            long start = System.nanoTime();
+	            try {
+	                statement.evaluate();
+	            } catch (Throwable t) {
+	                failure = t;
+	                throw t;
+	            } finally {
+	                long duration = System.nanoTime() - start;
+	                for (DataProviderRunnerListener listener : currentListeners) {
+	                    listener.testMethodFinished(method, duration, failure);
+	                }
+	            }
+	        }
+	    };
+	}
+
+	/**
+	 * <p>Tracks the start and the result of the given {@code method} in {@link #computedTestMethods} as source for
+	 * the progress exposed by {@link DataProviderProgressMBean}s.</p>
+	 *
+	 * @param method the test method to be run
+	 * @param statement to be run for the {@code method} including all befores, afters and rules
+	 * @return the modified statement or just {@code statement} if no progress MBeans are registered
+	 */
+	private Statement withProgress(final FrameworkMethod method, final Statement statement) {
+	    if (!progressTracked) {
+	        return statement;
+	    }
+
+	    return new Statement() {
+	        @Override
+	        public void evaluate() throws Throwable {
+	            computedTestMethods.testStartedForMethodName(method);
+
+	            boolean failed = true;
+	            try {
+	                statement.evaluate();
+	                failed = false;
+	            } finally {
+	                computedTestMethods.testFinishedForMethodName(method, failed);
+	            }
+	        }
+	    };
+	}
+
+	/**
+	 * <p>Records the result of the given {@code method} in the result cache if it is enabled.</p>
+	 *
+	 * @param method the test method to be run
+	 * @param statement to be run for the {@code method} including all befores, afters and rules
+	 * @return the modified statement or just {@code statement} if the result cache is disabled or
+	 * {@code method} is not an exploded test method identified by value
+	 */
+	private Statement withResultCache(final FrameworkMethod method, final Statement statement) {
+	    final ResultCache cache = getResultCache();
+	    if (cache == null || !(method instanceof DataProviderFrameworkMethod)
+	            || !((DataProviderFrameworkMethod) method).isIdentifiedByValue()) {
+	        return statement;
+	    }
+
+	    final String codeHash = getCodeHash(method);
+	    if (codeHash == null) {
+	        return statement;
+	    }
+
+	    return new Statement() {
+	        @Override
+	        public void evaluate() throws Throwable {
+	            String identifier = ((DataProviderFrameworkMethod) method).getIdentifier();
+
+	            boolean passed = false;
+	            try {
+	                statement.evaluate();
+	                passed = true;
+	            } finally {
+	                if (passed) {
+	                    cache.setPassed(method.getMethod().getName(), codeHash, identifier);
+	                } else {
+	                    cache.setFailed(method.getMethod().getName(), codeHash, identifier);
+	                }
+	            }
+	        }
+	    };
+	}
+
+	/**
+	 * <p>Invokes the given hook of an {@link ExtendedDataProvider} (see
+	 * {@link #invokeFrameworkFieldMethod(FrameworkField, String, List)}) and notifies all listeners about it.</p>
+	 *
+	 * @param method the test method to be run
+	 * @param dataProvider the {@link ExtendedDataProvider} field
+	 * @param hookName the name of the hook, e.g. {@code "beforeEach"}
+	 * @param errors A {@link List} of {@link Throwable} that will be modified in case of an exception
+	 */
+	private void invokeDataProviderHook(FrameworkMethod method, FrameworkField dataProvider, String hookName,
+	        List<Throwable> errors) {
+	    List<DataProviderRunnerListener> currentListeners = getListeners();
+	    if (currentListeners.isEmpty()) {
+	        invokeFrameworkFieldMethod(dataProvider, hookName, errors);
+	        return;
+	    }
+
+	    for (DataProviderRunnerListener listener : currentListeners) {
+	        listener.dataProviderHookStarted(method, hookName);
+	    }
+	    long start = System.nanoTime();
+	    try {
+	        invokeFrameworkFieldMethod(dataProvider, hookName, errors);
+	    } finally {
+	        long duration = System.nanoTime() - start;
+	        for (DataProviderRunnerListener listener : currentListeners) {
+	            listener.dataProviderHookFinished(method, hookName, duration);
+	        }
+	    }
+	}
+
 	/**
 	 * <p>Invoke a method on a field by its name.</p>
 	 * <p><i>Note:</i> This method will modify the passed {@code errors} list if any errors occur.</p>
@@ -241,10 +716,62 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
                 errors.add(new Error("No such data provider: " + dataProviderName));
             } else if (dataProviderMethod != null && !isValidDataProvider(dataProviderMethod)) {
                 errors.add(new Error("The data provider method '" + dataProviderName + "' is not valid. "
-                        + "A valid method must be public, static, has no arguments parameters and returns 'Object[][]'"));
+                        + "A valid method must be public, static, has no arguments parameters and returns 'Object[][]' "
+                        + "or an 'IndexedDataProvider'"));
             } else if (dataProviderField != null && !isValidDataProvider(dataProviderField)) {
             	errors.add(new Error("The extended data provider '" + dataProviderName + "' is not valid. "));
             }
+
+            UseDataProvider useDataProvider = testMethod.getAnnotation(UseDataProvider.class);
+            String[] factorNames = hasProduct(testMethod) ? useDataProvider.product() : new String[0];
+            for (String factorName : factorNames) {
+                TestClass dataProviderLocation = findDataProviderLocation(useDataProvider);
+                if (!isValidDataProvider(findDataProviderMethod(dataProviderLocation, factorName))
+                        && !isValidDataProvider(findDataProviderField(dataProviderLocation, factorName))) {
+                    errors.add(new Error("No such valid data provider in product of test method '"
+                            + testMethod.getName() + "': " + factorName));
+                }
+            }
+            if (useDataProvider.strength() < 0) {
+                errors.add(new Error("The strength of test method '" + testMethod.getName()
+                        + "' must not be negative but was " + useDataProvider.strength()));
+            } else if (useDataProvider.strength() > 0 && !hasProduct(testMethod)) {
+                errors.add(new Error("The strength of test method '" + testMethod.getName()
+                        + "' requires further data providers to be combined with (see UseDataProvider#product())."));
+            }
+
+            try {
+                createParameterHasher(testMethod);
+            } catch (Throwable t) {
+                errors.add(new Error("The parameter hasher of test method '" + testMethod.getName()
+                        + "' cannot be instantiated. A valid hasher must have a public no-arg constructor.", t));
+            }
+        }
+
+        for (FrameworkMethod testMethod : getTestClassInt().getAnnotatedMethods(DataProviderFile.class)) {
+            DataProviderFile dataProviderFile = testMethod.getAnnotation(DataProviderFile.class);
+            if (!new File(dataProviderFile.value()).isFile()
+                    && getTestClassInt().getJavaClass().getResource(dataProviderFile.value()) == null) {
+                errors.add(new Error("No such data provider file: " + dataProviderFile.value()));
+            }
+            try {
+                new ParameterConverter(testMethod.getMethod());
+            } catch (IllegalArgumentException e) {
+                errors.add(new Error("The parameters of test method '" + testMethod.getName()
+                        + "' cannot be converted from data provider file '" + dataProviderFile.value() + "': "
+                        + e.getMessage(), e));
+            }
+        }
+
+        for (FrameworkMethod testMethod : getTestClassInt().getAnnotatedMethods(DataProvider.class)) {
+            if (hasInlineRows(testMethod)) {
+                try {
+                    getInlineRows(testMethod);
+                } catch (Exception e) {
+                    errors.add(new Error("The inline rows of test method '" + testMethod.getName()
+                            + "' cannot be converted to its parameters: " + e.getMessage(), e));
+                }
+            }
         }
     }
 
@@ -266,21 +793,116 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
         }
 
         for (FrameworkMethod testMethod : testMethods) {
-            FrameworkMethod dataProviderMethod = getDataProviderMethod(testMethod);
-            FrameworkField dataProviderField = getDataProviderField(testMethod);
+            result.addAll(sample(testMethod, explodeTestMethod(testMethod)));
+        }
 
-            if (isValidDataProvider(dataProviderMethod)) {
-                result.addAll(explodeTestMethod(testMethod, dataProviderMethod));
-            } else if (isValidDataProvider(dataProviderField)) {
-            	result.addAll(explodeTestMethod(testMethod, dataProviderField));
+        return result;
+    }
+
+    /**
+     * @param testMethod the original test method
+     * @return the exploded test methods if the given {@code testMethod} uses a valid data provider, otherwise a list
+     *         only containing the given {@code testMethod}
+     */
+    private List<FrameworkMethod> explodeTestMethod(final FrameworkMethod testMethod) {
+        final DataProviderFile dataProviderFile = testMethod.getAnnotation(DataProviderFile.class);
+        if (dataProviderFile != null) {
+            File file = findIndexableDataProviderFile(dataProviderFile);
+            if (file != null) {
+                return explodeDataProviderFile(testMethod, dataProviderFile, file);
+            }
+            return explodeTestMethod(testMethod, dataProviderFile.value(), new Callable<Object[][]>() {
+                public Object[][] call() throws Exception {
+                    return readDataProviderFile(testMethod, dataProviderFile);
+                }
+            });
+        }
+        if (hasInlineRows(testMethod)) {
+            return explodeTestMethod(testMethod, testMethod.getName(), new Callable<Object[][]>() {
+                public Object[][] call() {
+                    return getInlineRows(testMethod);
+                }
+            });
+        }
+        if (hasProduct(testMethod)) {
+            return explodeProductTestMethod(testMethod);
+        }
+        FrameworkMethod dataProviderMethod = getDataProviderMethod(testMethod);
+        if (isValidDataProvider(dataProviderMethod)) {
+            return explodeTestMethod(testMethod, dataProviderMethod);
+        }
+        FrameworkField dataProviderField = getDataProviderField(testMethod);
+        if (isValidDataProvider(dataProviderField)) {
+            return explodeTestMethod(testMethod, dataProviderField);
+        }
+        return Collections.singletonList(testMethod);
+    }
+
+    /**
+     * <p>Generates the list of test methods for the given {@code testMethods} without invoking any data provider. Each
+     * test method using a valid data provider is replaced by a placeholder which is exploded as soon as it is run (see
+     * {@link DataProviderProperties#DEFERRED_EXPLOSION}).</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     *
+     * @param testMethods the original test methods
+     * @return the list of test methods and placeholders (never {@code null})
+     */
+    List<FrameworkMethod> generateDeferredTestMethodsFor(List<FrameworkMethod> testMethods) {
+        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
+        if (testMethods == null) {
+            return result;
+        }
+
+        for (FrameworkMethod testMethod : testMethods) {
+            if (testMethod.getAnnotation(DataProviderFile.class) != null || hasInlineRows(testMethod)
+                    || isValidDataProvider(getDataProviderMethod(testMethod))
+                    || isValidDataProvider(getDataProviderField(testMethod))) {
+                result.add(new DeferredFrameworkMethod(testMethod, getDeclaredNumberOfRows(testMethod)));
             } else {
                 result.add(testMethod);
             }
         }
-
         return result;
     }
 
+    /**
+     * <p>Returns the number of rows declared by the data provider of the given test method without generating them
+     * (see {@link SizedDataProvider} and {@link IndexedDataProvider}).</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     *
+     * @param testMethod test method that uses a data provider
+     * @return the declared number of rows or {@code null} if the data provider does not declare it
+     */
+    Integer getDeclaredNumberOfRows(FrameworkMethod testMethod) {
+        if (hasInlineRows(testMethod)) {
+            return testMethod.getAnnotation(DataProvider.class).value().length;
+        }
+        if (hasProduct(testMethod)) {
+            return null;
+        }
+
+        FrameworkField dataProviderField = getDataProviderField(testMethod);
+        if (dataProviderField == null) {
+            return null;
+        }
+
+        try {
+            Object dataProvider = dataProviderField.get(null);
+            if (dataProvider instanceof IndexedDataProvider) {
+                return ((IndexedDataProvider) dataProvider).size();
+            }
+            if (dataProvider instanceof SizedDataProvider) {
+                return ((SizedDataProvider) dataProvider).size();
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not determine declared number of rows of test method " + testMethod.getName(),
+                    e);
+        }
+        return null;
+    }
+
     /**
      * <p>Returns the data provider method that belongs to the given test method or {@code null} if no such data provider
      * exists or the test method is not marked for usage of a data provider.</p>
@@ -301,13 +923,15 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
             return null;
         }
 
-        TestClass dataProviderLocation = findDataProviderLocation(useDataProvider);
+        return findDataProviderMethod(findDataProviderLocation(useDataProvider), useDataProvider.value());
+    }
+
+    private FrameworkMethod findDataProviderMethod(TestClass dataProviderLocation, String name) {
         for (FrameworkMethod method : dataProviderLocation.getAnnotatedMethods(DataProvider.class)) {
-            if (method.getName().equals(useDataProvider.value())) {
+            if (method.getName().equals(name)) {
                 return method;
             }
         }
-
         return null;
     }
 
@@ -331,14 +955,16 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
     		return null;
     	}
 
-        TestClass dataProviderLocation = findDataProviderLocation(useDataProvider);
+        return findDataProviderField(findDataProviderLocation(useDataProvider), useDataProvider.value());
+    }
+
+    private FrameworkField findDataProviderField(TestClass dataProviderLocation, String name) {
         for (FrameworkField field : dataProviderLocation.getAnnotatedFields(DataProvider.class)) {
-        	if (field.getField().getName().equals(useDataProvider.value())) {
-        		return field;
-        	}
+            if (field.getField().getName().equals(name)) {
+                return field;
+            }
         }
-
-    	return null;
+        return null;
     }
 
     /** <p><i>Note:</i> This method is visible for testing.</p> */
@@ -357,7 +983,7 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      * <li>The method must be {@code public}</li>
      * <li>The method must be {@code static}</li>
      * <li>The method must not take any parameters</li>
-     * <li>The method must return an {@code Object[][]}</li>
+     * <li>The method must return an {@code Object[][]} or an {@link IndexedDataProvider}</li>
      * </ul>
      *
      * <p><i>Note:</i> This method is visible for testing.</p>
@@ -372,7 +998,8 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
                 && Modifier.isPublic(dataProviderMethod.getMethod().getModifiers())
                 && Modifier.isStatic(dataProviderMethod.getMethod().getModifiers())
                 && dataProviderMethod.getMethod().getParameterTypes().length == 0
-                && dataProviderMethod.getMethod().getReturnType().equals(Object[][].class);
+                && (dataProviderMethod.getMethod().getReturnType().equals(Object[][].class)
+                        || IndexedDataProvider.class.isAssignableFrom(dataProviderMethod.getMethod().getReturnType()));
         // @formatter:on
     }
 
@@ -380,7 +1007,8 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
      * Checks if the given field is a valid data provider.
      * <p>A valid data provider field must meet the following conditions:</p>
      * <ul>
-     * <li>The field's type must be an instance of {@link ExtendedDataProvider}</li>
+     * <li>The field's type must be {@link ExtendedDataProvider} or a subclass of it, e.g. {@link SizedDataProvider}, or
+     * an {@link IndexedDataProvider}</li>
      * <li>The field must be public</li>
      * <li>The field must be static</li>
      * </ul>
@@ -394,7 +1022,8 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
     protected boolean isValidDataProvider(FrameworkField dataProviderField) {
         // the correctness of the provide method itself is enforced in the data provider class
     	return dataProviderField != null
-    	        && dataProviderField.getField().getType() == ExtendedDataProvider.class
+    	        && (ExtendedDataProvider.class.isAssignableFrom(dataProviderField.getField().getType())
+    	                || IndexedDataProvider.class.isAssignableFrom(dataProviderField.getField().getType()))
     			&& Modifier.isPublic(dataProviderField.getField().getModifiers())
     			&& Modifier.isStatic(dataProviderField.getField().getModifiers());
     }
@@ -421,6 +1050,9 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
             target = null;
         } else if (dataProvider instanceof FrameworkField) {
             FrameworkField dataProviderField = (FrameworkField) dataProvider;
+            if (IndexedDataProvider.class.isAssignableFrom(dataProviderField.getField().getType())) {
+                return explodeIndexedDataProviderField(testMethod, dataProviderField);
+            }
 
             try {
                 Class<?> clazz = Class.forName(dataProviderField.getField().getType().getName());
@@ -437,42 +1069,928 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
         return explodeTestMethod(testMethod, method, target);
     }
 
-    /** <p><i>Note:</i> This method is visible for testing.</p> */
+    /**
+     * <p>If the given {@code dataProvider} returns an {@link IndexedDataProvider}, the returned list creates the
+     * exploded test methods on access and requests their parameters on demand (see {@link IndexedFrameworkMethodList}).</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     */
     protected List<FrameworkMethod> explodeTestMethod(FrameworkMethod testMethod, Method dataProvider, Object target) {
-        int index = 1;
-        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
+        if (isIndexedDataProvider(dataProvider)) {
+            return explodeIndexedTestMethod(testMethod, dataProvider, target);
+        }
+
+        long explodeStart = System.nanoTime();
 
         Object[][] dataProviderMethodResult = null;
         try {
-            dataProviderMethodResult = invokeDataProvider(dataProvider, target);
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvocationStarted(testMethod, dataProvider);
+            }
+            long start = System.nanoTime();
+            dataProviderMethodResult = invokeDataProviderMemoized(dataProvider, target);
+            long duration = System.nanoTime() - start;
+
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvoked(testMethod, dataProvider, dataProviderMethodResult, duration);
+            }
         } catch (Throwable t) {
             throw new Error(String.format("Exception while exploding test method using data provider '%s': %s",
                    (dataProvider != null) ? dataProvider.getName() : "<null>", t.getMessage()), t);
         }
 
+        return createExplodedTestMethods(testMethod, (dataProvider != null) ? dataProvider.getName() : "<null>",
+                dataProvider, target, dataProviderMethodResult, explodeStart);
+    }
+
+    /**
+     * <p>Creates the exploded test methods of the given {@code testMethod} for the given rows of its data provider and
+     * notifies the listeners about the explosion.</p>
+     *
+     * @param testMethod the original test method
+     * @param dataProviderName the name of the data provider used in error messages
+     * @param dataProvider the data provider method whose memoized result is forgotten if rows exceeding the heap
+     *            budget are spilled (see {@link DataProviderProperties#HEAP_BUDGET}), or {@code null} if there is none
+     * @param target the instance the data provider was invoked on or {@code null} if it is static
+     * @param dataProviderMethodResult the rows of the data provider
+     * @param explodeStart {@link System#nanoTime()} when the explosion started
+     * @return a list of methods, each method bound to a row of the data provider
+     */
+    private List<FrameworkMethod> createExplodedTestMethods(FrameworkMethod testMethod, String dataProviderName,
+            Method dataProvider, Object target, Object[][] dataProviderMethodResult, long explodeStart) {
         if (dataProviderMethodResult == null) {
             throw new IllegalStateException(String.format("Data provider method '%s' must not return 'null'.",
-                    (dataProvider != null) ? dataProvider.getName() : "<null>"));
+                    dataProviderName));
         }
 
         if (dataProviderMethodResult.length == 0) {
             throw new IllegalStateException(String.format("Data provider '%s' must not return an empty object array.",
-                    (dataProvider != null) ? dataProvider.getName() : "<null>"));
+                    dataProviderName));
         }
 
-        for (Object[] parameters : dataProviderMethodResult) {
-            result.add(new DataProviderFrameworkMethod(testMethod.getMethod(), index++, dataProviderMethodResult.length,
-                    parameters));
-        }
+        int index = 1;
+        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
 
-        return result;
-    }
+        ParameterHasher parameterHasher;
+        try {
+            parameterHasher = createParameterHasher(testMethod);
+        } catch (Exception e) {
+            throw new Error(String.format("Exception while creating parameter hasher for test method '%s': %s",
+                    testMethod.getName(), e.getMessage()), e);
+        }
+
+        long offHeapThreshold = DataProviderProperties.getLong(DataProviderProperties.OFF_HEAP_THRESHOLD, -1);
+        long heapBudget = DataProviderProperties.getLong(DataProviderProperties.HEAP_BUDGET, -1);
+        SpillFile spillFile = null;
+        for (Object[] parameters : dataProviderMethodResult) {
+            if (heapBudget >= 0 && spillFile == null) {
+                long rowBytes = ObjectSizeEstimator.estimate(parameters);
+                if (retainedRowBytes + rowBytes > heapBudget) {
+                    spillFile = createSpillFile(index - 1);
+                } else {
+                    retainedRowBytes += rowBytes;
+                }
+            }
+            if (spillFile != null) {
+                spill(spillFile, parameters, testMethod, dataProviderName, heapBudget, index);
+                result.add(new DataProviderFrameworkMethod(testMethod.getMethod(), index++,
+                        dataProviderMethodResult.length, spillFile, parameterHasher));
+                continue;
+            }
+
+            DataProviderFrameworkMethod explodedMethod = new DataProviderFrameworkMethod(testMethod.getMethod(),
+                    index++, dataProviderMethodResult.length, parameters, parameterHasher);
+            if (offHeapThreshold >= 0) {
+                try {
+                    explodedMethod.moveParametersOffHeap(getOffHeapStore(), offHeapThreshold);
+                } catch (IOException e) {
+                    throw new Error(String.format("Exception while moving parameters of test method '%s' off-heap: %s",
+                            explodedMethod.getName(), e.getMessage()), e);
+                }
+            }
+            result.add(explodedMethod);
+        }
+        if (spillFile != null && dataProvider != null) {
+            // otherwise the memoized result would still retain all spilled rows
+            forgetMemoized(dataProvider, target);
+        }
+
+        long explodeDuration = System.nanoTime() - explodeStart;
+        for (DataProviderRunnerListener listener : getListeners()) {
+            listener.testMethodExploded(testMethod, result.size(), explodeDuration);
+        }
+        return result;
+    }
+
+    private synchronized SpillFile createSpillFile(int firstIndex) {
+        SpillFile result;
+        try {
+            result = SpillFile.create(firstIndex);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create file to spill rows exceeding the heap budget: "
+                    + e.getMessage(), e);
+        }
+        if (spillFiles == null) {
+            spillFiles = new ArrayList<SpillFile>();
+        }
+        spillFiles.add(result);
+        return result;
+    }
+
+    private void spill(SpillFile spillFile, Object[] parameters, FrameworkMethod testMethod, String dataProviderName,
+            long heapBudget, int index) {
+        try {
+            spillFile.spill(parameters);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Rows of data provider '%s' of test method '%s' exceed the "
+                    + "heap budget of %d bytes (see %s) but row %d cannot be spilled to disk: %s", dataProviderName,
+                    testMethod.getName(), heapBudget, DataProviderProperties.HEAP_BUDGET, index, e), e);
+        }
+    }
+
+    private synchronized void closeSpillFiles() {
+        if (spillFiles == null) {
+            return;
+        }
+        for (SpillFile spillFile : spillFiles) {
+            try {
+                spillFile.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not delete spill file of " + getTestClass().getName(), e);
+            }
+        }
+        spillFiles = null;
+        retainedRowBytes = 0;
+    }
+
+    /**
+     * <p>Creates a list of test methods out of an existing test method which provides its rows itself, i.e. by a data
+     * provider file or inline rows. As there is no data provider method, the listeners are notified using the test
+     * method instead.</p>
+     *
+     * @param testMethod the original test method
+     * @param dataProviderName the name of the data provider used in error messages
+     * @param rows computes the rows already converted to the parameter types of the test method
+     * @return a list of methods, each method bound to a row
+     */
+    private List<FrameworkMethod> explodeTestMethod(FrameworkMethod testMethod, String dataProviderName,
+            Callable<Object[][]> rows) {
+        long explodeStart = System.nanoTime();
+
+        Object[][] result;
+        try {
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvocationStarted(testMethod, testMethod.getMethod());
+            }
+            long start = System.nanoTime();
+            result = rows.call();
+            long duration = System.nanoTime() - start;
+
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvoked(testMethod, testMethod.getMethod(), result, duration);
+            }
+        } catch (Throwable t) {
+            throw new Error(String.format("Exception while exploding test method using data provider '%s': %s",
+                    dataProviderName, t.getMessage()), t);
+        }
+        return createExplodedTestMethods(testMethod, dataProviderName, null, null, result, explodeStart);
+    }
+
+    /**
+     * @param testMethod the test method to check
+     * @return {@code true} if the given {@code testMethod} declares its rows inline (see {@link DataProvider#value()})
+     */
+    private static boolean hasInlineRows(FrameworkMethod testMethod) {
+        DataProvider dataProvider = testMethod.getAnnotation(DataProvider.class);
+        return dataProvider != null && dataProvider.value().length > 0;
+    }
+
+    /**
+     * <p>Returns the inline rows of the given test method converted to its parameter types. The rows are parsed and
+     * converted only once per runner and cached afterwards.</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     *
+     * @param testMethod test method declaring its rows inline (see {@link DataProvider#value()})
+     * @return the converted rows
+     * @throws IllegalArgumentException if a row cannot be converted to the parameter types of the test method
+     */
+    synchronized Object[][] getInlineRows(FrameworkMethod testMethod) {
+        if (inlineRows == null) {
+            inlineRows = new HashMap<Method, Object[][]>();
+        }
+
+        Object[][] result = inlineRows.get(testMethod.getMethod());
+        if (result == null) {
+            DataProvider dataProvider = testMethod.getAnnotation(DataProvider.class);
+            ParameterConverter converter = new ParameterConverter(testMethod.getMethod());
+
+            result = new Object[dataProvider.value().length][];
+            for (int i = 0; i < result.length; i++) {
+                String row = dataProvider.value()[i];
+                try {
+                    List<String> values = new DelimitedRowReader(new StringReader(row), dataProvider.delimiter())
+                            .readRow();
+                    result[i] = converter.convert((values == null) ? Collections.<String> emptyList() : values);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Cannot parse row '" + row + "': " + e.getMessage(), e);
+                }
+            }
+            inlineRows.put(testMethod.getMethod(), result);
+        }
+        return result;
+    }
+
+    /**
+     * @param dataProviderFile the data provider file of a test method
+     * @return the data provider file as {@link File} if its rows can be read on demand (see
+     *         {@link DelimitedFileDataProvider#isSupported(File, String)}), otherwise {@code null}
+     */
+    private File findIndexableDataProviderFile(DataProviderFile dataProviderFile) {
+        File result = new File(dataProviderFile.value());
+        if (!result.isFile()) {
+            URL resource = getTestClassInt().getJavaClass().getResource(dataProviderFile.value());
+            if (resource == null || !"file".equals(resource.getProtocol())) {
+                return null;
+            }
+            try {
+                result = new File(resource.toURI());
+            } catch (URISyntaxException e) {
+                return null;
+            }
+        }
+        try {
+            return DelimitedFileDataProvider.isSupported(result, dataProviderFile.encoding()) ? result : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>Creates a list of test methods out of an existing test method for the rows of the given uncompressed data
+     * provider file. The rows are only indexed and checked once, and are parsed and converted again each time they
+     * are requested (see {@link DelimitedFileDataProvider}).</p>
+     *
+     * @param testMethod the original test method
+     * @param dataProviderFile the data provider file of the test method
+     * @param file the data provider file to read the rows from
+     * @return a list creating a method bound to a row of the file on access
+     */
+    private List<FrameworkMethod> explodeDataProviderFile(FrameworkMethod testMethod,
+            DataProviderFile dataProviderFile, File file) {
+        long explodeStart = System.nanoTime();
+
+        DelimitedFileDataProvider rows;
+        try {
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvocationStarted(testMethod, testMethod.getMethod());
+            }
+            long start = System.nanoTime();
+            rows = DelimitedFileDataProvider.index(file, dataProviderFile,
+                    new ParameterConverter(testMethod.getMethod()));
+            long duration = System.nanoTime() - start;
+
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvoked(testMethod, testMethod.getMethod(), null, duration);
+            }
+        } catch (Throwable t) {
+            throw new Error(String.format("Exception while exploding test method using data provider '%s': %s",
+                    dataProviderFile.value(), t.getMessage()), t);
+        }
+
+        synchronized (this) {
+            if (dataProviderFiles == null) {
+                dataProviderFiles = new ArrayList<DelimitedFileDataProvider>();
+            }
+            dataProviderFiles.add(rows);
+        }
+        return createIndexedExplodedTestMethods(testMethod, dataProviderFile.value(), rows, rows.size(),
+                explodeStart);
+    }
+
+    private synchronized void closeDataProviderFiles() {
+        if (dataProviderFiles == null) {
+            return;
+        }
+        for (DelimitedFileDataProvider dataProviderFile : dataProviderFiles) {
+            try {
+                dataProviderFile.close();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not close data provider file of " + getTestClass().getName(), e);
+            }
+        }
+        dataProviderFiles = null;
+    }
+
+    /**
+     * <p>Reads all rows of the given data provider file in a single pass and converts them to the parameter types of
+     * the given test method. Like the result of a data provider method, all rows are kept in memory. This is only
+     * used for files whose rows cannot be read on demand, i.e. gzip-compressed files, class path resources within
+     * archives and files in charsets using multiple bytes per character other than UTF-8.</p>
+     *
+     * <p>This is extracted into a method for testing purposes.</p>
+     */
+    Object[][] readDataProviderFile(FrameworkMethod testMethod, DataProviderFile dataProviderFile) throws IOException {
+        ParameterConverter converter = new ParameterConverter(testMethod.getMethod());
+
+        InputStream inputStream = openDataProviderFile(dataProviderFile);
+        DelimitedRowReader reader = null;
+        try {
+            inputStream = decompressIfGzipped(inputStream);
+            reader = new DelimitedRowReader(new InputStreamReader(inputStream, dataProviderFile.encoding()),
+                    dataProviderFile.delimiter());
+        } finally {
+            if (reader == null) {
+                inputStream.close();
+            }
+        }
+
+        try {
+            List<Object[]> result = new ArrayList<Object[]>();
+            if (dataProviderFile.header()) {
+                reader.readRow();
+            }
+            List<String> values;
+            while ((values = reader.readRow()) != null) {
+                result.add(converter.convert(values));
+            }
+            return result.toArray(new Object[result.size()][]);
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * <p>Opens the given data provider file relative to the working directory or, if no such file exists, as class
+     * path resource relative to the test class.</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     */
+    InputStream openDataProviderFile(DataProviderFile dataProviderFile) throws IOException {
+        File file = new File(dataProviderFile.value());
+        if (file.isFile()) {
+            return new FileInputStream(file);
+        }
+        InputStream result = getTestClassInt().getJavaClass().getResourceAsStream(dataProviderFile.value());
+        if (result == null) {
+            throw new FileNotFoundException(dataProviderFile.value());
+        }
+        return result;
+    }
+
+    private static InputStream decompressIfGzipped(InputStream inputStream) throws IOException {
+        BufferedInputStream result = new BufferedInputStream(inputStream, 64 * 1024);
+        result.mark(2);
+        int first = result.read();
+        int second = result.read();
+        result.reset();
+        if (first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8)) {
+            return new GZIPInputStream(result, 64 * 1024);
+        }
+        return result;
+    }
+
+    private boolean isIndexedDataProvider(Method dataProvider) {
+        return dataProvider != null && IndexedDataProvider.class.isAssignableFrom(dataProvider.getReturnType());
+    }
+
+    /**
+     * Explodes the given test method using the {@link IndexedDataProvider} stored in the given field. As no data
+     * provider method is invoked, the listeners are only notified about the explosion.
+     */
+    private List<FrameworkMethod> explodeIndexedDataProviderField(FrameworkMethod testMethod,
+            FrameworkField dataProviderField) {
+        long explodeStart = System.nanoTime();
+        String dataProviderName = dataProviderField.getField().getName();
+
+        IndexedDataProvider indexedDataProvider;
+        int size;
+        try {
+            indexedDataProvider = (IndexedDataProvider) dataProviderField.get(null);
+            size = (indexedDataProvider == null) ? 0 : indexedDataProvider.size();
+        } catch (Throwable t) {
+            throw new Error(String.format("Exception while exploding test method using data provider '%s': %s",
+                    dataProviderName, t.getMessage()), t);
+        }
+
+        if (indexedDataProvider == null) {
+            throw new IllegalStateException(String.format("Data provider field '%s' must not be 'null'.",
+                    dataProviderName));
+        }
+        return createIndexedExplodedTestMethods(testMethod, dataProviderName, indexedDataProvider, size, explodeStart);
+    }
+
+    private List<FrameworkMethod> explodeIndexedTestMethod(FrameworkMethod testMethod, Method dataProvider,
+            Object target) {
+        long explodeStart = System.nanoTime();
+
+        IndexedDataProvider indexedDataProvider;
+        int size;
+        try {
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvocationStarted(testMethod, dataProvider);
+            }
+            long start = System.nanoTime();
+            indexedDataProvider = invokeIndexedDataProvider(dataProvider, target);
+            size = (indexedDataProvider == null) ? 0 : indexedDataProvider.size();
+            long duration = System.nanoTime() - start;
+
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvoked(testMethod, dataProvider, null, duration);
+            }
+        } catch (Throwable t) {
+            throw new Error(String.format("Exception while exploding test method using data provider '%s': %s",
+                    dataProvider.getName(), t.getMessage()), t);
+        }
+
+        if (indexedDataProvider == null) {
+            throw new IllegalStateException(String.format("Data provider method '%s' must not return 'null'.",
+                    dataProvider.getName()));
+        }
+
+        return createIndexedExplodedTestMethods(testMethod, dataProvider.getName(), indexedDataProvider, size,
+                explodeStart);
+    }
+
+    /**
+     * <p>Creates the exploded test methods of the given {@code testMethod} for the rows of the given
+     * {@link IndexedDataProvider} on access and notifies the listeners about the explosion.</p>
+     *
+     * @param testMethod the original test method
+     * @param dataProviderName the name of the data provider used in error messages
+     * @param indexedDataProvider the data provider to request the rows from on demand
+     * @param size the number of rows of the data provider
+     * @param explodeStart {@link System#nanoTime()} when the explosion started
+     * @return a list creating a method bound to a row of the data provider on access
+     */
+    private List<FrameworkMethod> createIndexedExplodedTestMethods(FrameworkMethod testMethod,
+            String dataProviderName, IndexedDataProvider indexedDataProvider, int size, long explodeStart) {
+        if (size <= 0) {
+            throw new IllegalStateException(String.format("Data provider '%s' must not return an empty object array.",
+                    dataProviderName));
+        }
+
+        ParameterHasher parameterHasher;
+        try {
+            parameterHasher = createParameterHasher(testMethod);
+        } catch (Exception e) {
+            throw new Error(String.format("Exception while creating parameter hasher for test method '%s': %s",
+                    testMethod.getName(), e.getMessage()), e);
+        }
+
+        List<FrameworkMethod> result = new IndexedFrameworkMethodList(testMethod.getMethod(), indexedDataProvider,
+                size, parameterHasher);
+
+        long explodeDuration = System.nanoTime() - explodeStart;
+        for (DataProviderRunnerListener listener : getListeners()) {
+            listener.testMethodExploded(testMethod, result.size(), explodeDuration);
+        }
+        return result;
+    }
+
+    private static boolean hasProduct(FrameworkMethod testMethod) {
+        UseDataProvider useDataProvider = testMethod.getAnnotation(UseDataProvider.class);
+        return useDataProvider != null && useDataProvider.product() != null && useDataProvider.product().length > 0;
+    }
+
+    /**
+     * Explodes the given test method into the Cartesian product (or the covering array of the given
+     * {@link UseDataProvider#strength()}) of the data providers of {@link UseDataProvider#value()} and
+     * {@link UseDataProvider#product()}. Only the factors are invoked, the rows of the product are computed on demand
+     * (see {@link CartesianProductDataProvider} and {@link CoveringArrayDataProvider}).
+     */
+    private List<FrameworkMethod> explodeProductTestMethod(FrameworkMethod testMethod) {
+        long explodeStart = System.nanoTime();
+
+        UseDataProvider useDataProvider = testMethod.getAnnotation(UseDataProvider.class);
+        TestClass dataProviderLocation = findDataProviderLocation(useDataProvider);
+        String[] factorNames = new String[useDataProvider.product().length + 1];
+        factorNames[0] = useDataProvider.value();
+        System.arraycopy(useDataProvider.product(), 0, factorNames, 1, useDataProvider.product().length);
+
+        IndexedDataProvider[] factors = new IndexedDataProvider[factorNames.length];
+        for (int i = 0; i < factorNames.length; i++) {
+            factors[i] = invokeProductFactor(testMethod, dataProviderLocation, factorNames[i]);
+        }
+
+        IndexedDataProvider product;
+        try {
+            if (useDataProvider.strength() > 0) {
+                product = new CoveringArrayDataProvider(useDataProvider.strength(), factors);
+            } else {
+                product = new CartesianProductDataProvider(factors);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(String.format("Product of data providers %s is not valid: %s",
+                    Arrays.toString(factorNames), e.getMessage()), e);
+        }
+        return createIndexedExplodedTestMethods(testMethod, Arrays.toString(factorNames), product, product.size(),
+                explodeStart);
+    }
+
+    private IndexedDataProvider invokeProductFactor(FrameworkMethod testMethod, TestClass dataProviderLocation,
+            String factorName) {
+        Method dataProvider = null;
+        Object target = null;
+        FrameworkMethod dataProviderMethod = findDataProviderMethod(dataProviderLocation, factorName);
+        FrameworkField dataProviderField = findDataProviderField(dataProviderLocation, factorName);
+        try {
+            if (isValidDataProvider(dataProviderMethod)) {
+                dataProvider = dataProviderMethod.getMethod();
+            } else if (isValidDataProvider(dataProviderField)) {
+                target = dataProviderField.get(null);
+                if (target instanceof IndexedDataProvider) {
+                    return (IndexedDataProvider) target;
+                }
+                dataProvider = dataProviderField.getField().getType().getMethod("provide");
+            } else {
+                throw new IllegalArgumentException("No such valid data provider: " + factorName);
+            }
+
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvocationStarted(testMethod, dataProvider);
+            }
+            long start = System.nanoTime();
+            IndexedDataProvider result;
+            Object[][] rows = null;
+            if (IndexedDataProvider.class.isAssignableFrom(dataProvider.getReturnType())) {
+                result = invokeIndexedDataProvider(dataProvider, target);
+            } else {
+                rows = invokeDataProviderMemoized(dataProvider, target);
+                result = (rows == null) ? null : new ArrayDataProvider(rows);
+            }
+            long duration = System.nanoTime() - start;
+
+            for (DataProviderRunnerListener listener : getListeners()) {
+                listener.dataProviderInvoked(testMethod, dataProvider, rows, duration);
+            }
+            return result;
+        } catch (Throwable t) {
+            throw new Error(String.format("Exception while exploding test method using data provider '%s': %s",
+                    factorName, t.getMessage()), t);
+        }
+    }
+
+    /**
+     * <p>Creates the {@link ParameterHasher} configured by {@link UseDataProvider#hasher()} of the given test method or
+     * a {@link DefaultParameterHasher} if the test method does not use a data provider.</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     *
+     * @param testMethod test method that uses a data provider
+     * @return the parameter hasher (never {@code null})
+     * @throws Exception if the configured hasher cannot be instantiated
+     */
+    ParameterHasher createParameterHasher(FrameworkMethod testMethod) throws Exception {
+        UseDataProvider useDataProvider = testMethod.getAnnotation(UseDataProvider.class);
+        if (useDataProvider == null || useDataProvider.hasher() == null
+                || DefaultParameterHasher.class.equals(useDataProvider.hasher())) {
+            return new DefaultParameterHasher();
+        }
+        return useDataProvider.hasher().newInstance();
+    }
+
+    /**
+     * Invokes the given data provider or returns its memoized result if memoization is enabled (see
+     * {@link DataProviderProperties#MEMOIZATION}).
+     */
+    private Object[][] invokeDataProviderMemoized(final Method dataProvider, final Object target) throws Throwable {
+        DataProviderMemo memo = getDataProviderMemo();
+        if (memo == null || dataProvider == null) {
+            return invokeDataProviderCached(dataProvider, target);
+        }
+        return memo.get(dataProvider, target, new DataProviderMemo.Loader() {
+            public Object[][] load() throws Throwable {
+                return invokeDataProviderCached(dataProvider, target);
+            }
+        });
+    }
+
+    /**
+     * Removes the memoized result of the given data provider, if memoization is enabled (see
+     * {@link DataProviderProperties#MEMOIZATION}), such that it can be garbage collected.
+     */
+    private void forgetMemoized(Method dataProvider, Object target) {
+        DataProviderMemo memo = getDataProviderMemo();
+        if (memo != null) {
+            memo.remove(dataProvider, target);
+        }
+    }
+
+    /**
+     * Invokes the given data provider or returns its result from the persistent data provider cache if it is enabled
+     * (see {@link DataProviderProperties#PROVIDER_CACHE_DIRECTORY}) and the data provider is a
+     * {@link CachedDataProvider}.
+     */
+    private Object[][] invokeDataProviderCached(final Method dataProvider, final Object target) throws Throwable {
+        String directory = DataProviderProperties.getString(DataProviderProperties.PROVIDER_CACHE_DIRECTORY);
+        if (directory == null || dataProvider == null || !dataProvider.isAnnotationPresent(CachedDataProvider.class)) {
+            return invokeDataProvider(dataProvider, target);
+        }
+        return new ProviderResultCache(new File(directory)).get(dataProvider, new DataProviderMemo.Loader() {
+            public Object[][] load() throws Throwable {
+                return invokeDataProvider(dataProvider, target);
+            }
+        });
+    }
+
+    /**
+     * @return the memo of the configured scope or {@code null} if memoization is disabled
+     * @throws IllegalArgumentException if the configured scope is unknown
+     */
+    private synchronized DataProviderMemo getDataProviderMemo() {
+        String scope = DataProviderProperties.getString(DataProviderProperties.MEMOIZATION);
+        if (scope == null) {
+            return null;
+        }
+        if ("jvm".equalsIgnoreCase(scope)) {
+            return DataProviderMemo.jvm();
+        }
+        if ("class".equalsIgnoreCase(scope)) {
+            if (dataProviderMemo == null) {
+                dataProviderMemo = DataProviderMemo.fromProperties();
+            }
+            return dataProviderMemo;
+        }
+        throw new IllegalArgumentException(String.format("System property '%s' must be 'class' or 'jvm' but was '%s'.",
+                DataProviderProperties.MEMOIZATION, scope));
+    }
 
     /** <p>This is extracted into a method for testing purposes.</p> */
     protected Object[][] invokeDataProvider(Method dataProvider, Object target) throws Throwable {
         return (Object[][]) dataProvider.invoke(target);
     }
 
+    /** <p>This is extracted into a method for testing purposes.</p> */
+    protected IndexedDataProvider invokeIndexedDataProvider(Method dataProvider, Object target) throws Throwable {
+        return (IndexedDataProvider) dataProvider.invoke(target);
+    }
+
+    /**
+     * <p>Registers a {@link DataProviderProgressMBean} for the test class and for each test method at the platform
+     * {@link MBeanServer} if enabled (see {@link DataProviderProperties#JMX}).</p>
+     *
+     * @return the names of the registered MBeans (never {@code null})
+     */
+    private List<ObjectName> registerProgressMBeans() {
+        List<ObjectName> result = new ArrayList<ObjectName>();
+        if (!DataProviderProperties.getBoolean(DataProviderProperties.JMX)) {
+            return result;
+        }
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        String className = getTestClass().getName();
+        try {
+            Map<String, List<String>> fullMethodNamesByMethodName = new HashMap<String, List<String>>();
+            for (String fullMethodName : computedTestMethods.getFullMethodNames()) {
+                String methodName = fullMethodName.substring(fullMethodName.lastIndexOf('.') + 1);
+                if (!fullMethodNamesByMethodName.containsKey(methodName)) {
+                    fullMethodNamesByMethodName.put(methodName, new ArrayList<String>());
+                }
+                fullMethodNamesByMethodName.get(methodName).add(fullMethodName);
+            }
+
+            ObjectName classObjectName = new ObjectName(PROGRESS_MBEAN_DOMAIN + ":type=DataProviderProgress,class="
+                    + className);
+            mBeanServer.registerMBean(new DataProviderProgress(computedTestMethods, new ArrayList<String>(
+                    computedTestMethods.getFullMethodNames())), classObjectName);
+            result.add(classObjectName);
+
+            for (Map.Entry<String, List<String>> entry : fullMethodNamesByMethodName.entrySet()) {
+                ObjectName methodObjectName = new ObjectName(classObjectName + ",method=" + entry.getKey());
+                mBeanServer.registerMBean(new DataProviderProgress(computedTestMethods, entry.getValue()),
+                        methodObjectName);
+                result.add(methodObjectName);
+            }
+        } catch (JMException e) {
+            LOGGER.log(Level.WARNING, "Could not register progress MBeans of " + className, e);
+        }
+        return result;
+    }
+
+    private void unregisterProgressMBeans(List<ObjectName> objectNames) {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName objectName : objectNames) {
+            try {
+                mBeanServer.unregisterMBean(objectName);
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, "Could not unregister progress MBean " + objectName, e);
+            }
+        }
+    }
+
+    /**
+     * <p>Returns the listeners to be notified about data provider invocations and test method executions. They are
+     * created on first access using {@link #createListeners()}.</p>
+     *
+     * @return the listeners (never {@code null})
+     */
+    protected synchronized List<DataProviderRunnerListener> getListeners() {
+        if (listeners == null) {
+            listeners = createListeners();
+        }
+        return listeners;
+    }
+
+    /**
+     * <p>Creates the listeners to be notified about data provider invocations and test method executions. By default,
+     * these are the listeners of the optional features enabled by {@link DataProviderProperties}. Override this method
+     * to add custom listeners.</p>
+     *
+     * <p><i>Note:</i> This method is called during construction of the runner.</p>
+     *
+     * @return the listeners (never {@code null})
+     */
+    protected List<DataProviderRunnerListener> createListeners() {
+        List<DataProviderRunnerListener> result = new ArrayList<DataProviderRunnerListener>();
+
+        String reportFile = DataProviderProperties.getString(DataProviderProperties.REPORT_FILE);
+        if (reportFile != null) {
+            result.add(PerformanceReport.forFile(new File(reportFile),
+                    DataProviderProperties.getBoolean(DataProviderProperties.REPORT_ALLOCATIONS)));
+        }
+        String traceFile = DataProviderProperties.getString(DataProviderProperties.TRACE_FILE);
+        if (traceFile != null) {
+            TraceEventWriter traceEventWriter = TraceEventWriter.forFile(new File(traceFile));
+            if (traceEventWriter != null) {
+                result.add(traceEventWriter);
+            }
+        }
+        if (DataProviderProperties.getBoolean(DataProviderProperties.PROFILING)) {
+            result.add(new DataProviderProfiler(
+                    DataProviderProperties.getLong(DataProviderProperties.PROFILING_THRESHOLD_MILLIS, 1000),
+                    DataProviderProperties.getLong(DataProviderProperties.PROFILING_THRESHOLD_ROWS, 100000),
+                    DataProviderProperties.getLong(DataProviderProperties.PROFILING_THRESHOLD_BYTES, 256L << 20)));
+        }
+
+        DataProviderRunnerListener jfrListener = createJfrListener();
+        if (jfrListener != null) {
+            result.add(jfrListener);
+        }
+        return result;
+    }
+
+    /**
+     * <p>Creates the listener emitting Java Flight Recorder events if it is available (requires Java 11+) and a flight
+     * recording was started in the current JVM.</p>
+     *
+     * @return the listener or {@code null} if not available or no recording was started
+     */
+    private DataProviderRunnerListener createJfrListener() {
+        try {
+            Class<?> clazz = Class.forName(DataProviderRunnerListener.class.getPackage().getName()
+                    + ".JfrRunnerListener");
+            return (DataProviderRunnerListener) clazz.getMethod("createIfRecording").invoke(null);
+        } catch (LinkageError e) {
+            return null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * <p>Marks all given exploded test methods which already passed with unchanged parameters and test code to be
+     * skipped and removes them from the number of runs of their test method, such that the last run is known before
+     * any of them is run.</p>
+     *
+     * @param methods the exploded test methods to be run
+     */
+    private void skipCachedAsPassed(List<FrameworkMethod> methods) {
+        if (getResultCache() == null) {
+            return;
+        }
+        for (FrameworkMethod method : methods) {
+            if (isCachedAsPassed(method)) {
+                cachedAsPassed.put(method, Boolean.TRUE);
+                computedTestMethods.decreaseNumberOfRunsForMethodName(method);
+            }
+        }
+    }
+
+    /**
+     * <p>Checks if the given {@code method} already passed with unchanged parameters and test code.</p>
+     *
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     *
+     * @param method the test method to be run
+     * @return {@code true} if the result cache is enabled and contains {@code method} as passed, never for exploded
+     *         test methods not identified by value (see {@link DataProviderFrameworkMethod#isIdentifiedByValue()})
+     */
+    boolean isCachedAsPassed(FrameworkMethod method) {
+        ResultCache cache = getResultCache();
+        if (cache == null || !(method instanceof DataProviderFrameworkMethod)
+                || method.getAnnotation(Ignore.class) != null
+                || !((DataProviderFrameworkMethod) method).isIdentifiedByValue()) {
+            return false;
+        }
+
+        String codeHash = getCodeHash(method);
+        return codeHash != null && cache.isPassed(method.getMethod().getName(), codeHash,
+                ((DataProviderFrameworkMethod) method).getIdentifier());
+    }
+
+    /**
+     * @return the off-heap scratch file of the test class, created on first access
+     * @throws IOException if the scratch file cannot be created
+     */
+    private synchronized OffHeapStore getOffHeapStore() throws IOException {
+        if (offHeapStore == null) {
+            offHeapStore = OffHeapStore.create();
+        }
+        return offHeapStore;
+    }
+
+    private synchronized void closeOffHeapStore() {
+        if (offHeapStore == null) {
+            return;
+        }
+        try {
+            offHeapStore.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not delete off-heap scratch file of " + getTestClass().getName(), e);
+        }
+        offHeapStore = null;
+    }
+
+    /**
+     * @return the result cache of the test class or {@code null} if it is disabled
+     */
+    private synchronized ResultCache getResultCache() {
+        if (resultCache == null) {
+            String directory = DataProviderProperties.getString(DataProviderProperties.RESULT_CACHE_DIRECTORY);
+            if (directory == null) {
+                return null;
+            }
+            resultCache = new ResultCache(new File(directory, getTestClass().getName() + ".results"));
+        }
+        return resultCache;
+    }
+
+    private void saveResultCache() {
+        ResultCache cache = getResultCache();
+        if (cache == null) {
+            return;
+        }
+
+        Map<String, String> currentCodeHashes = new HashMap<String, String>();
+        for (FrameworkMethod testMethod : getTestClass().getAnnotatedMethods(Test.class)) {
+            currentCodeHashes.put(testMethod.getName(), getCodeHash(testMethod));
+        }
+        try {
+            cache.save(currentCodeHashes);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not save result cache of " + getTestClass().getName(), e);
+        }
+    }
+
+    /**
+     * <p>Returns the hash of the bytecode of all classes involved in running the given test method, i.e. the test class
+     * and its super classes, the class containing the data provider, the class of an {@link ExtendedDataProvider} and
+     * all classes declared by {@link ResultCacheDependencies}.</p>
+     *
+     * @param testMethod the (potentially exploded) test method
+     * @return the hash or {@code null} if the bytecode of any involved class cannot be read
+     */
+    private synchronized String getCodeHash(FrameworkMethod testMethod) {
+        if (codeHashes == null) {
+            codeHashes = new HashMap<String, String>();
+        }
+
+        String methodName = testMethod.getMethod().getName();
+        if (!codeHashes.containsKey(methodName)) {
+            List<Class<?>> classes = new ArrayList<Class<?>>();
+            Class<?> testClass = getTestClass().getJavaClass();
+            for (Class<?> clazz = testClass; clazz != null && clazz.getClassLoader() != null; clazz = clazz
+                    .getSuperclass()) {
+                classes.add(clazz);
+            }
+
+            UseDataProvider useDataProvider = testMethod.getAnnotation(UseDataProvider.class);
+            if (useDataProvider != null) {
+                classes.add(findDataProviderLocation(useDataProvider).getJavaClass());
+
+                FrameworkField dataProviderField = getDataProviderField(testMethod);
+                if (dataProviderField != null) {
+                    try {
+                        Object dataProvider = dataProviderField.get(null);
+                        if (dataProvider != null) {
+                            classes.add(dataProvider.getClass());
+                        }
+                    } catch (IllegalAccessException e) {
+                        // invalid data providers are reported by validation
+                    }
+                }
+            }
+
+            ResultCacheDependencies dependencies = testClass.getAnnotation(ResultCacheDependencies.class);
+            if (dependencies != null) {
+                classes.addAll(Arrays.asList(dependencies.value()));
+            }
+            codeHashes.put(methodName, BytecodeHash.of(classes));
+        }
+        return codeHashes.get(methodName);
+    }
+
     /**
      * <p>Returns a {@link TestClass} object wrapping the class to be executed. This method is required for testing because
      * {@link #getTestClass()} is final and therefore cannot be stubbed :(</p>
@@ -482,4 +2000,37 @@ public class DataProviderRunner extends BlockJUnit4ClassRunner {
     protected TestClass getTestClassInt() {
         return getTestClass();
     }
+
+    /** Instance of {@link RowIdentifier} to be added to the {@link Description} of an exploded test method. */
+    private static class RowIdentifierAnnotation implements RowIdentifier {
+        private final String value;
+
+        RowIdentifierAnnotation(String value) {
+            this.value = value;
+        }
+
+        public String value() {
+            return value;
+        }
+
+        public Class<? extends Annotation> annotationType() {
+            return RowIdentifier.class;
+        }
+
+        @Override
+        public int hashCode() {
+            // as specified by Annotation#hashCode()
+            return (127 * "value".hashCode()) ^ value.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RowIdentifier && value.equals(((RowIdentifier) obj).value());
+        }
+
+        @Override
+        public String toString() {
+            return "@" + RowIdentifier.class.getName() + "(value=" + value + ")";
+        }
+    }
 }
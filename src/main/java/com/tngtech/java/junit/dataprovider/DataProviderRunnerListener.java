@@ -0,0 +1,107 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Method;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * Gets notified by {@link DataProviderRunner} about data provider invocations and test method executions, e.g. to
+ * measure them. Listeners are created by {@link DataProviderRunner#createListeners()}.
+ * <p>
+ * All methods do nothing by default, override the ones of interest. Listeners may be notified concurrently if test
+ * classes or methods are run in parallel.
+ * </p>
+ */
+public class DataProviderRunnerListener {
+
+    /**
+     * Called on the invoking thread directly before a data provider is invoked to explode the given
+     * {@code testMethod}. Not called for a data provider field holding an {@link IndexedDataProvider}, which is used
+     * without any invocation.
+     *
+     * @param testMethod the test method using the data provider
+     * @param dataProvider the data provider method to be invoked (either annotated or
+     *            {@link ExtendedDataProvider#provide()})
+     */
+    public void dataProviderInvocationStarted(FrameworkMethod testMethod, Method dataProvider) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called after a data provider was invoked successfully to explode the given {@code testMethod}.
+     *
+     * @param testMethod the test method using the data provider
+     * @param dataProvider the invoked data provider method (either annotated or {@link ExtendedDataProvider#provide()})
+     * @param result the rows returned by the data provider, may be {@code null} or empty which is reported as error
+     *            afterwards; always {@code null} for an {@link IndexedDataProvider} whose rows are computed on demand
+     * @param durationNanos the wall time of the invocation in nanoseconds
+     */
+    public void dataProviderInvoked(FrameworkMethod testMethod, Method dataProvider, Object[][] result,
+            long durationNanos) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called after the given {@code testMethod} was exploded into one test method per data provider row.
+     *
+     * @param testMethod the test method using the data provider
+     * @param rows the number of exploded test methods
+     * @param durationNanos the wall time of exploding including the data provider invocation in nanoseconds
+     */
+    public void testMethodExploded(FrameworkMethod testMethod, int rows, long durationNanos) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called on the executing thread directly before the statement of a test method is evaluated, i.e. before any
+     * rules, befores and data provider hooks.
+     *
+     * @param method the (potentially exploded) test method
+     */
+    public void testMethodStarted(FrameworkMethod method) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called on the executing thread directly after the statement of a test method was evaluated.
+     *
+     * @param method the (potentially exploded) test method
+     * @param durationNanos the wall time of the evaluation including rules, befores and afters in nanoseconds
+     * @param failure the thrown failure or {@code null} if the test method passed
+     */
+    public void testMethodFinished(FrameworkMethod method, long durationNanos, Throwable failure) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called on the executing thread directly before a hook of an {@link ExtendedDataProvider} is invoked, i.e. one of
+     * {@code beforeAll}, {@code beforeEach}, {@code afterEach} or {@code afterAll}.
+     *
+     * @param method the exploded test method the hook is invoked for
+     * @param hookName the name of the hook
+     */
+    public void dataProviderHookStarted(FrameworkMethod method, String hookName) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called on the executing thread directly after a hook of an {@link ExtendedDataProvider} was invoked, regardless
+     * if it failed or not.
+     *
+     * @param method the exploded test method the hook was invoked for
+     * @param hookName the name of the hook
+     * @param durationNanos the wall time of the hook in nanoseconds
+     */
+    public void dataProviderHookFinished(FrameworkMethod method, String hookName, long durationNanos) {
+        /* override this method to use it */
+    }
+
+    /**
+     * Called after all test methods of a test class were run.
+     *
+     * @param testClass the test class
+     */
+    public void testClassFinished(Class<?> testClass) {
+        /* override this method to use it */
+    }
+}
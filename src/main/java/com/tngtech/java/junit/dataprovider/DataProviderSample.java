@@ -0,0 +1,45 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Runs only a seeded random sample of the rows of the data provider of the annotated test method instead of all of
+ * them, overriding {@link DataProviderProperties#SAMPLE_COUNT} and {@link DataProviderProperties#SAMPLE_FRACTION}. The
+ * seed is logged and can be set by {@link DataProviderProperties#SAMPLE_SEED} to reproduce a sample exactly.</p>
+ *
+ * <pre>
+ * &#064;Test
+ * &#064;UseDataProvider("dataProviderOrders")
+ * &#064;DataProviderSample(count = 10, keyColumn = 0)
+ * public void testOrder(Country country, Order order) {
+ *     // ...
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface DataProviderSample {
+
+    /**
+     * The number of rows to run (per key if a {@link #keyColumn()} is given). If not greater than {@code 0}, the
+     * {@link #fraction()} or the configured sample size is used.
+     */
+    int count() default 0;
+
+    /**
+     * The fraction of rows to run (per key if a {@link #keyColumn()} is given, rounded up), between {@code 0}
+     * (exclusive) and {@code 1} (inclusive). If not greater than {@code 0}, the configured sample size is used.
+     */
+    double fraction() default 0;
+
+    /**
+     * The index of the parameter whose values stratify the sample such that rows of every distinct value are run, or
+     * {@code -1} to sample from all rows at once.
+     */
+    int keyColumn() default -1;
+}
@@ -0,0 +1,137 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Array;
+
+/**
+ * Default {@link ParameterHasher} which hashes parameters by their type and
+ * <ul>
+ * <li>null -&gt; a constant</li>
+ * <li>array -&gt; recursively the hashes of all its elements</li>
+ * <li>{@link String}, {@link Enum}, {@link Class} -&gt; the characters of the value, its name or class name,
+ * respectively</li>
+ * <li>primitive wrappers -&gt; the bits of the primitive value</li>
+ * <li>other -&gt; the characters of {@link Object#toString()} (which is also used for the test method name)</li>
+ * </ul>
+ * <p>
+ * As different objects of other types may have the same {@link Object#toString()}, only parameters of the former types
+ * are hashed by value (see {@link #isHashedByValue(Object)}). Subclasses hashing further types by value should
+ * override {@link #isHashedByValue(Object)} accordingly.
+ * </p>
+ */
+public class DefaultParameterHasher implements ParameterHasher {
+
+    private static final long NULL_HASH = 0x6e756c6cL;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long MIX_MULTIPLIER = 0x9e3779b97f4a7c15L;
+
+    public long hash(Object parameter) {
+        if (parameter == null) {
+            return NULL_HASH;
+        }
+
+        Class<?> type = parameter.getClass();
+        // hash code of a string is specified and therefore stable across JVM runs
+        long result = mix(FNV_OFFSET_BASIS, type.getName().hashCode());
+
+        if (parameter instanceof byte[]) {
+            byte[] bytes = (byte[]) parameter;
+            result = mix(result, bytes.length);
+            for (byte b : bytes) {
+                result = (result ^ b) * FNV_PRIME;
+            }
+            return result;
+
+        } else if (type.isArray()) {
+            int length = Array.getLength(parameter);
+            result = mix(result, length);
+            for (int i = 0; i < length; i++) {
+                result = mix(result, hash(Array.get(parameter, i)));
+            }
+            return result;
+
+        } else if (parameter instanceof Double) {
+            return mix(result, Double.doubleToLongBits((Double) parameter));
+
+        } else if (parameter instanceof Float) {
+            return mix(result, Float.floatToIntBits((Float) parameter));
+
+        } else if (parameter instanceof Long || parameter instanceof Integer || parameter instanceof Short
+                || parameter instanceof Byte) {
+            return mix(result, ((Number) parameter).longValue());
+
+        } else if (parameter instanceof Character) {
+            return mix(result, (Character) parameter);
+
+        } else if (parameter instanceof Boolean) {
+            return mix(result, ((Boolean) parameter) ? 1 : 0);
+
+        } else if (parameter instanceof Enum<?>) {
+            return mix(result, hashChars(((Enum<?>) parameter).name()));
+
+        } else if (parameter instanceof Class<?>) {
+            return mix(result, hashChars(((Class<?>) parameter).getName()));
+
+        } else if (parameter instanceof String) {
+            return mix(result, hashChars((String) parameter));
+        }
+        return mix(result, hashChars(parameter.toString()));
+    }
+
+    /**
+     * Checks whether the given {@code parameter} is hashed by value, i.e. different parameters get different hashes
+     * (apart from collisions). Only exploded test methods whose parameters are all hashed by value are stored in the
+     * result cache (see {@link DataProviderProperties#RESULT_CACHE_DIRECTORY}).
+     *
+     * @param parameter to be hashed, may be {@code null} or an array containing further parameters
+     * @return {@code true} if the given {@code parameter} is not hashed by its {@link Object#toString()}
+     */
+    public boolean isHashedByValue(Object parameter) {
+        if (parameter == null) {
+            return true;
+        }
+
+        Class<?> type = parameter.getClass();
+        if (type.isArray()) {
+            if (type.getComponentType().isPrimitive()) {
+                return true;
+            }
+            for (Object element : (Object[]) parameter) {
+                if (!isHashedByValue(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return parameter instanceof Double || parameter instanceof Float || parameter instanceof Long
+                || parameter instanceof Integer || parameter instanceof Short || parameter instanceof Byte
+                || parameter instanceof Character || parameter instanceof Boolean || parameter instanceof Enum<?>
+                || parameter instanceof Class<?> || parameter instanceof String;
+    }
+
+    /**
+     * Combines the given {@code hash} with a further {@code value}.
+     *
+     * @param hash the hash value computed so far
+     * @param value to be added to the hash
+     * @return the new hash value
+     */
+    protected static long mix(long hash, long value) {
+        long result = (hash ^ value) * MIX_MULTIPLIER;
+        return result ^ (result >>> 29);
+    }
+
+    /**
+     * @param chars to be hashed
+     * @return the 64-bit FNV-1a hash of the given {@code chars}
+     */
+    protected static long hashChars(CharSequence chars) {
+        long result = FNV_OFFSET_BASIS;
+        for (int i = 0; i < chars.length(); i++) {
+            result = (result ^ chars.charAt(i)) * FNV_PRIME;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.List;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * Placeholder for a test method using a data provider whose explosion is deferred until the test method is about to
+ * run (see {@link DataProviderProperties#DEFERRED_EXPLOSION}).
+ */
+class DeferredFrameworkMethod extends FrameworkMethod {
+
+    private final FrameworkMethod testMethod;
+
+    /** The number of rows declared by the data provider or {@code null} if unknown (see {@link SizedDataProvider}). */
+    private final Integer declaredNumberOfRows;
+
+    /** The exploded test methods to be run or {@code null} if not yet exploded. */
+    private volatile List<FrameworkMethod> explodedMethods;
+
+    DeferredFrameworkMethod(FrameworkMethod testMethod, Integer declaredNumberOfRows) {
+        super(testMethod.getMethod());
+        this.testMethod = testMethod;
+        this.declaredNumberOfRows = declaredNumberOfRows;
+    }
+
+    /** @return the original test method to be exploded */
+    FrameworkMethod getTestMethod() {
+        return testMethod;
+    }
+
+    /** @return the number of rows declared by the data provider or {@code null} if unknown */
+    Integer getDeclaredNumberOfRows() {
+        return declaredNumberOfRows;
+    }
+
+    /**
+     * @return the number of exploded test methods to be run if already exploded, otherwise the declared number of rows
+     *         or {@code 1} if unknown
+     */
+    int getNumberOfRuns() {
+        List<FrameworkMethod> methods = explodedMethods;
+        if (methods != null) {
+            return methods.size();
+        }
+        return (declaredNumberOfRows != null) ? declaredNumberOfRows.intValue() : 1;
+    }
+
+    /** @return the exploded test methods to be run or {@code null} if not yet exploded */
+    List<FrameworkMethod> getExplodedMethods() {
+        return explodedMethods;
+    }
+
+    void setExplodedMethods(List<FrameworkMethod> explodedMethods) {
+        this.explodedMethods = explodedMethods;
+    }
+}
@@ -0,0 +1,165 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Rows of an uncompressed delimited text file (see {@link DataProviderFile}) which are parsed and converted each time
+ * they are requested by their {@link DataProviderFrameworkMethod} and are not kept afterwards. Only the byte offsets
+ * of the rows are kept, which are determined by a single pass over the file also checking that each row can be
+ * converted. The file is kept open until {@link #close()} is called when the test class finished.
+ * <p>
+ * Only files encoded in UTF-8 or a single byte charset are supported (see {@link #isSupported(File, String)}) as the
+ * byte offsets are counted from the decoded characters.
+ * </p>
+ */
+class DelimitedFileDataProvider implements IndexedDataProvider {
+
+    private final File file;
+    private final Charset charset;
+    private final char delimiter;
+    private final ParameterConverter converter;
+
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+
+    /** Offsets of the rows within the file, followed by the end offset of the last row. */
+    private long[] offsets = new long[1024];
+    private int numberOfRows;
+
+    /**
+     * @param file to be checked
+     * @param encoding of the file
+     * @return {@code true} if the given file is neither gzip-compressed nor encoded in a charset using multiple bytes
+     *         per character except UTF-8
+     * @throws IOException if the file cannot be read
+     */
+    static boolean isSupported(File file, String encoding) throws IOException {
+        if (!Charset.isSupported(encoding)) {
+            return false;
+        }
+        Charset charset = Charset.forName(encoding);
+        if (!isUtf8(charset) && (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() > 1)) {
+            return false;
+        }
+
+        InputStream inputStream = new FileInputStream(file);
+        try {
+            int first = inputStream.read();
+            int second = inputStream.read();
+            return first != (GZIPInputStream.GZIP_MAGIC & 0xff) || second != (GZIPInputStream.GZIP_MAGIC >> 8);
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    /**
+     * Indexes the rows of the given file.
+     *
+     * @param file to read the rows from, must be supported (see {@link #isSupported(File, String)})
+     * @param dataProviderFile the configuration of the file
+     * @param converter to convert the values of each row to the parameter types of the test method
+     * @return a data provider requesting the rows from the given file
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a row cannot be converted
+     */
+    static DelimitedFileDataProvider index(File file, DataProviderFile dataProviderFile, ParameterConverter converter)
+            throws IOException {
+        DelimitedFileDataProvider result = new DelimitedFileDataProvider(file, Charset.forName(dataProviderFile
+                .encoding()), dataProviderFile.delimiter(), converter);
+        try {
+            result.index(dataProviderFile.header());
+        } catch (IOException e) {
+            result.close();
+            throw e;
+        } catch (RuntimeException e) {
+            result.close();
+            throw e;
+        }
+        return result;
+    }
+
+    private DelimitedFileDataProvider(File file, Charset charset, char delimiter, ParameterConverter converter)
+            throws IOException {
+        this.file = file;
+        this.charset = charset;
+        this.delimiter = delimiter;
+        this.converter = converter;
+        this.randomAccessFile = new RandomAccessFile(file, "r");
+        this.channel = randomAccessFile.getChannel();
+    }
+
+    private void index(boolean header) throws IOException {
+        DelimitedRowReader reader = new DelimitedRowReader(new InputStreamReader(new FileInputStream(file), charset),
+                delimiter, isUtf8(charset));
+        try {
+            if (header) {
+                reader.readRow();
+            }
+            offsets[0] = reader.getByteOffset();
+
+            List<String> values;
+            while ((values = reader.readRow()) != null) {
+                converter.convert(values);
+
+                if (numberOfRows + 1 == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[++numberOfRows] = reader.getByteOffset();
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    public int size() {
+        return numberOfRows;
+    }
+
+    public Object[] row(int index) {
+        if (index < 0 || index >= numberOfRows) {
+            throw new IndexOutOfBoundsException(String.format("Row %d does not exist in %s", index, file));
+        }
+        long offset = offsets[index];
+        int length = (int) (offsets[index + 1] - offset);
+
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Row " + index + " is truncated in " + file);
+                }
+            }
+            String text = new String(buffer.array(), charset.name());
+            List<String> values = new DelimitedRowReader(new StringReader(text), delimiter).readRow();
+            if (values == null) {
+                throw new IOException("Row " + index + " of " + file + " is blank");
+            }
+            return converter.convert(values);
+        } catch (IOException e) {
+            throw new IllegalStateException(String.format("Cannot read row %d from %s: %s", index, file,
+                    e.getMessage()), e);
+        }
+    }
+
+    /** Closes the file; the rows cannot be read afterwards. */
+    void close() throws IOException {
+        randomAccessFile.close();
+    }
+
+    private static boolean isUtf8(Charset charset) {
+        return "UTF-8".equals(charset.name());
+    }
+}
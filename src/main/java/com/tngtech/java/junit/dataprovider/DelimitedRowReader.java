@@ -0,0 +1,170 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streaming parser of delimited text (e.g. CSV or TSV) reading a single row at a time from a character buffer,
+ * without creating intermediate line strings. Blank lines are skipped, values are trimmed unless they are enclosed
+ * in double quotes, and a doubled quote within quotes stands for a single one.
+ * <p>
+ * Additionally, the number of bytes read so far is counted (see {@link #getByteOffset()}) such that rows can be read
+ * again later starting at their offset (see {@link DelimitedFileDataProvider}).
+ * </p>
+ */
+class DelimitedRowReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final boolean utf8;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long byteOffset;
+
+    private final List<String> values = new ArrayList<String>();
+    private final StringBuilder value = new StringBuilder();
+
+    DelimitedRowReader(Reader reader, char delimiter) {
+        this(reader, delimiter, false);
+    }
+
+    /**
+     * @param reader to read the rows from
+     * @param delimiter the character separating the values of a row
+     * @param utf8 whether the {@code reader} decodes UTF-8, i.e. the bytes of each read character are counted as
+     *            encoded in UTF-8 instead of a single byte (see {@link #getByteOffset()})
+     */
+    DelimitedRowReader(Reader reader, char delimiter, boolean utf8) {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader must not be null");
+        }
+        if (delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+            throw new IllegalArgumentException("delimiter must neither be a quote nor a line break");
+        }
+        this.reader = reader;
+        this.delimiter = delimiter;
+        this.utf8 = utf8;
+    }
+
+    /**
+     * @return the number of bytes of all characters consumed so far (assuming UTF-8 or a single byte charset), i.e.
+     *         the offset of the next row directly after {@link #readRow()}
+     */
+    long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * @return the values of the next non-blank row or {@code null} if there are no more rows; the returned list is
+     *         reused by the next invocation
+     * @throws IOException if reading fails or the last value has an unterminated quote
+     */
+    List<String> readRow() throws IOException {
+        values.clear();
+        value.setLength(0);
+
+        boolean blank = true;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int c;
+        while ((c = read()) >= 0) {
+            if (inQuotes) {
+                if (c != '"') {
+                    value.append((char) c);
+                } else if (peek() == '"') {
+                    value.append((char) read());
+                } else {
+                    inQuotes = false;
+                }
+            } else if (c == '"' && isBlank(value)) {
+                value.setLength(0);
+                quoted = true;
+                inQuotes = true;
+                blank = false;
+            } else if (c == delimiter) {
+                addValue(quoted);
+                quoted = false;
+                blank = false;
+            } else if (c == '\n') {
+                if (!blank) {
+                    addValue(quoted);
+                    return values;
+                }
+                value.setLength(0);
+            } else if (quoted ? !Character.isWhitespace(c) : (c != '\r' || peek() != '\n')) {
+                // whitespace after the closing quote is ignored
+                value.append((char) c);
+                blank &= Character.isWhitespace(c);
+            }
+        }
+
+        if (inQuotes) {
+            throw new IOException("Unterminated quoted value: " + value);
+        }
+        if (blank) {
+            return null;
+        }
+        addValue(quoted);
+        return values;
+    }
+
+    void close() throws IOException {
+        reader.close();
+    }
+
+    private void addValue(boolean quoted) {
+        values.add(quoted ? value.toString() : value.toString().trim());
+        value.setLength(0);
+    }
+
+    private static boolean isBlank(StringBuilder builder) {
+        for (int i = 0; i < builder.length(); i++) {
+            if (!Character.isWhitespace(builder.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char result = buffer[position++];
+        if (!utf8 || result < 0x80) {
+            byteOffset++;
+        } else if (result < 0x800 || Character.isHighSurrogate(result) || Character.isLowSurrogate(result)) {
+            // each char of a surrogate pair counts half of its four bytes
+            byteOffset += 2;
+        } else {
+            byteOffset += 3;
+        }
+        return result;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+}
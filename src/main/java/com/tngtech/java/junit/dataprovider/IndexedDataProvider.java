@@ -0,0 +1,29 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * <p>Random-access data provider whose rows are computed on demand from their index instead of being returned all at
+ * once as {@link Object}{@code [][]}, e.g. a generator over a numeric space or offsets into a file.</p>
+ *
+ * <p>It can be used as type of a {@code public static} field or as return type of a {@code public static} no-arg
+ * method annotated with {@code @}{@link DataProvider}. The rows are requested whenever the parameters of an exploded
+ * test method are needed (e.g. to name or to invoke it) and are not kept afterwards. Therefore,
+ * {@link #row(int)} must always return equal rows for the same index.</p>
+ *
+ * <p>Running a single row selected by index (e.g. {@code testSquare[4: 3, 9]}) only requests this row if deferred
+ * explosion is enabled (see {@link DataProviderProperties#DEFERRED_EXPLOSION}). Otherwise, an exploded test method is
+ * created for every row up front and filtering names each of them, so every row is requested once and selecting a
+ * single row takes time linear in {@link #size()}.</p>
+ */
+public interface IndexedDataProvider {
+
+    /**
+     * @return the number of rows, must be greater than {@code 0}
+     */
+    int size();
+
+    /**
+     * @param index of the requested row, between {@code 0} (inclusive) and {@link #size()} (exclusive)
+     * @return the parameters of the requested row (must neither be {@code null} nor empty)
+     */
+    Object[] row(int index);
+}
@@ -0,0 +1,41 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Method;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * Unmodifiable list of the exploded test methods of an {@link IndexedDataProvider}, creating each
+ * {@link DataProviderFrameworkMethod} on access such that neither the exploded test methods nor their parameters are
+ * kept in memory.
+ */
+class IndexedFrameworkMethodList extends AbstractList<FrameworkMethod> implements RandomAccess {
+
+    private final Method method;
+    private final IndexedDataProvider dataProvider;
+    private final int size;
+    private final ParameterHasher parameterHasher;
+
+    IndexedFrameworkMethodList(Method method, IndexedDataProvider dataProvider, int size,
+            ParameterHasher parameterHasher) {
+        this.method = method;
+        this.dataProvider = dataProvider;
+        this.size = size;
+        this.parameterHasher = parameterHasher;
+    }
+
+    @Override
+    public FrameworkMethod get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new DataProviderFrameworkMethod(method, index + 1, size, dataProvider, parameterHasher);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Helper to write JSON without requiring any further library.
+ */
+class Json {
+
+    private Json() {
+        // utility class
+    }
+
+    /**
+     * Appends the given {@code value} as quoted and escaped JSON string.
+     *
+     * @param builder to append to
+     * @param value to be appended, {@code null} is appended as JSON {@code null}
+     * @return the given {@code builder}
+     */
+    static StringBuilder appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            return builder.append("null");
+        }
+
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    builder.append(String.format("\\u%04x", (int) c));
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+        return builder.append('"');
+    }
+}
@@ -0,0 +1,98 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Estimates the retained heap size of data provider results by summing up the shallow size of each object and walking
+ * into arrays (and the character data of strings), assuming a 64-bit JVM with compressed references. Other object
+ * references are not followed and shared objects are counted for each occurrence, except for arrays which are counted
+ * only once such that self-referencing arrays terminate.
+ */
+class ObjectSizeEstimator {
+
+    private static final int OBJECT_HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int ALIGNMENT = 8;
+
+    private static final Map<Class<?>, Long> SHALLOW_SIZES = new ConcurrentHashMap<Class<?>, Long>();
+
+    private ObjectSizeEstimator() {
+        // utility class
+    }
+
+    /**
+     * @param object to estimate the size of, may be {@code null}
+     * @return the estimated size of the given {@code object} in bytes
+     */
+    static long estimate(Object object) {
+        return estimate(object, new IdentityHashMap<Object, Boolean>());
+    }
+
+    private static long estimate(Object object, Map<Object, Boolean> visitedArrays) {
+        if (object == null) {
+            return 0;
+        }
+
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(object);
+            Class<?> componentType = type.getComponentType();
+            if (componentType.isPrimitive()) {
+                return align(ARRAY_HEADER + (long) length * sizeOf(componentType));
+            }
+
+            if (visitedArrays.put(object, Boolean.TRUE) != null) {
+                return 0;
+            }
+            long result = align(ARRAY_HEADER + (long) length * REFERENCE);
+            for (Object element : (Object[]) object) {
+                result += estimate(element, visitedArrays);
+            }
+            return result;
+
+        } else if (object instanceof String) {
+            return shallowSizeOf(type) + align(ARRAY_HEADER + 2L * ((String) object).length());
+        }
+        return shallowSizeOf(type);
+    }
+
+    private static long shallowSizeOf(Class<?> type) {
+        Long result = SHALLOW_SIZES.get(type);
+        if (result == null) {
+            long size = OBJECT_HEADER;
+            for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+                for (Field field : clazz.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        size += sizeOf(field.getType());
+                    }
+                }
+            }
+            result = align(size);
+            SHALLOW_SIZES.put(type, result);
+        }
+        return result;
+    }
+
+    private static int sizeOf(Class<?> type) {
+        if (long.class.equals(type) || double.class.equals(type)) {
+            return 8;
+        } else if (int.class.equals(type) || float.class.equals(type)) {
+            return 4;
+        } else if (short.class.equals(type) || char.class.equals(type)) {
+            return 2;
+        } else if (byte.class.equals(type) || boolean.class.equals(type)) {
+            return 1;
+        }
+        return REFERENCE;
+    }
+
+    private static long align(long size) {
+        return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+    }
+}
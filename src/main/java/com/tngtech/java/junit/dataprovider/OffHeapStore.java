@@ -0,0 +1,101 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Scratch file of a single test class storing large binary parameters of exploded test methods outside of the heap
+ * (see {@link DataProviderProperties#OFF_HEAP_THRESHOLD}). Stored parameters are replaced by small {@link Entry}s
+ * which read them back into a fresh heap buffer on each invocation, such that the copy can be collected as soon as the
+ * row has run. The scratch file is deleted by {@link #close()} when the test class finished.
+ */
+class OffHeapStore {
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private long size;
+
+    /**
+     * @return a new store backed by a temporary file
+     * @throws IOException if the temporary file cannot be created
+     */
+    static OffHeapStore create() throws IOException {
+        File file = File.createTempFile("junit-dataprovider-", ".offheap");
+        file.deleteOnExit();
+        return new OffHeapStore(file);
+    }
+
+    private OffHeapStore(File file) throws IOException {
+        this.file = file;
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.channel = randomAccessFile.getChannel();
+    }
+
+    /**
+     * @param bytes to be stored
+     * @return the entry to read the stored bytes back
+     * @throws IOException if the bytes cannot be written
+     */
+    synchronized Entry store(byte[] bytes) throws IOException {
+        long offset = size;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        size += bytes.length;
+        return new Entry(this, offset, bytes.length);
+    }
+
+    private ByteBuffer read(long offset, int length) throws IOException {
+        ByteBuffer result = ByteBuffer.allocate(length);
+        while (result.hasRemaining()) {
+            if (channel.read(result, offset + result.position()) < 0) {
+                throw new EOFException("Off-heap parameter is truncated in " + file);
+            }
+        }
+        result.flip();
+        return result;
+    }
+
+    /** Closes and deletes the scratch file; stored entries cannot be read afterwards. */
+    synchronized void close() throws IOException {
+        try {
+            randomAccessFile.close();
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+
+    /** Binary parameter stored in an {@link OffHeapStore}. */
+    static final class Entry {
+        private final OffHeapStore store;
+        private final long offset;
+        private final int length;
+
+        private Entry(OffHeapStore store, long offset, int length) {
+            this.store = store;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * @return a new heap buffer containing the stored bytes
+         * @throws IOException if the bytes cannot be read
+         */
+        ByteBuffer read() throws IOException {
+            return store.read(offset, length);
+        }
+
+        @Override
+        public String toString() {
+            return "byte[" + length + "]";
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Converts rows of {@link String} values to the parameter types of a test method. The converter of each parameter is
+ * determined once on creation such that converting a row only applies the already chosen converters.
+ */
+class ParameterConverter {
+
+    private static final String NULL = "null";
+
+    private final Method method;
+    private final Converter[] converters;
+
+    /**
+     * @param method the test method to convert the parameters for
+     * @throws IllegalArgumentException if a parameter type of the given {@code method} is not supported
+     */
+    ParameterConverter(Method method) {
+        if (method == null) {
+            throw new IllegalArgumentException("method must not be null");
+        }
+        this.method = method;
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        converters = new Converter[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            converters[i] = createConverter(parameterTypes[i]);
+        }
+    }
+
+    /**
+     * @param values of a single row, one per parameter of the test method
+     * @return the converted parameters
+     * @throws IllegalArgumentException if the number of values does not match or a value cannot be converted
+     */
+    Object[] convert(List<String> values) {
+        if (values.size() != converters.length) {
+            throw new IllegalArgumentException(String.format(
+                    "Row %s has %d values but test method '%s' takes %d parameters", values, values.size(),
+                    method.getName(), converters.length));
+        }
+
+        Object[] result = new Object[converters.length];
+        for (int i = 0; i < converters.length; i++) {
+            String value = values.get(i);
+            try {
+                result[i] = converters[i].convert(value);
+            } catch (Exception e) {
+                Throwable cause = (e instanceof InvocationTargetException) ? e.getCause() : e;
+                throw new IllegalArgumentException(String.format("Cannot convert value '%s' to parameter %d of type %s",
+                        value, i, method.getParameterTypes()[i].getName()), cause);
+            }
+        }
+        return result;
+    }
+
+    private interface Converter {
+        Object convert(String value) throws Exception;
+    }
+
+    private static Converter createConverter(final Class<?> type) {
+        if (type.isPrimitive()) {
+            return createPrimitiveConverter(type);
+        }
+
+        final Converter converter = createObjectConverter(type);
+        return new Converter() {
+            public Object convert(String value) throws Exception {
+                return NULL.equals(value) ? null : converter.convert(value);
+            }
+        };
+    }
+
+    private static Converter createPrimitiveConverter(Class<?> type) {
+        if (boolean.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    if ("true".equalsIgnoreCase(value)) {
+                        return Boolean.TRUE;
+                    }
+                    if ("false".equalsIgnoreCase(value)) {
+                        return Boolean.FALSE;
+                    }
+                    throw new IllegalArgumentException("not a boolean");
+                }
+            };
+        }
+        if (char.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    if (value.length() != 1) {
+                        throw new IllegalArgumentException("not a single character");
+                    }
+                    return value.charAt(0);
+                }
+            };
+        }
+        if (byte.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return Byte.valueOf(value);
+                }
+            };
+        }
+        if (short.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return Short.valueOf(value);
+                }
+            };
+        }
+        if (int.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return Integer.valueOf(value);
+                }
+            };
+        }
+        if (long.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return Long.valueOf(value);
+                }
+            };
+        }
+        if (float.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return Float.valueOf(value);
+                }
+            };
+        }
+        if (double.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return Double.valueOf(value);
+                }
+            };
+        }
+        throw new IllegalArgumentException("Unsupported parameter type " + type.getName());
+    }
+
+    private static Converter createObjectConverter(final Class<?> type) {
+        if (String.class.equals(type) || Object.class.equals(type)) {
+            return new Converter() {
+                public Object convert(String value) {
+                    return value;
+                }
+            };
+        }
+        if (Boolean.class.equals(type) || Character.class.equals(type)) {
+            return createPrimitiveConverter(Boolean.class.equals(type) ? boolean.class : char.class);
+        }
+        if (type.isEnum()) {
+            return new Converter() {
+                @SuppressWarnings({ "unchecked", "rawtypes" })
+                public Object convert(String value) {
+                    return Enum.valueOf((Class) type, value);
+                }
+            };
+        }
+
+        try {
+            final Method valueOf = type.getMethod("valueOf", String.class);
+            if (Modifier.isStatic(valueOf.getModifiers()) && type.isAssignableFrom(valueOf.getReturnType())) {
+                return new Converter() {
+                    public Object convert(String value) throws Exception {
+                        return valueOf.invoke(null, value);
+                    }
+                };
+            }
+        } catch (NoSuchMethodException e) {
+            // try constructor
+        }
+        try {
+            final Constructor<?> constructor = type.getConstructor(String.class);
+            if (!Modifier.isAbstract(type.getModifiers())) {
+                return new Converter() {
+                    public Object convert(String value) throws Exception {
+                        return constructor.newInstance(value);
+                    }
+                };
+            }
+        } catch (NoSuchMethodException e) {
+            // unsupported
+        }
+        throw new IllegalArgumentException("Unsupported parameter type " + type.getName()
+                + ", requires a public static valueOf(String) method or a public constructor taking a String");
+    }
+}
@@ -0,0 +1,23 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Computes the hash of a single test method parameter which is used to build the stable identifier of an exploded test
+ * method (see {@link DataProviderFrameworkMethod#getIdentifier()}).
+ * <p>
+ * Implementations must return the same value for equal parameters in every JVM run, i.e. they must not rely on
+ * {@link Object#hashCode()} of classes not specifying it. Implementations must also provide a public no-arg
+ * constructor as they are instantiated reflectively (see {@link UseDataProvider#hasher()}).
+ * </p>
+ * <p>
+ * A custom hasher for specific types is best written by extending {@link DefaultParameterHasher} and delegating all
+ * other types to its implementation.
+ * </p>
+ */
+public interface ParameterHasher {
+
+    /**
+     * @param parameter to be hashed, may be {@code null} or an array containing further parameters
+     * @return a hash value of supplied {@code parameter} which is stable across JVM runs
+     */
+    long hash(Object parameter);
+}
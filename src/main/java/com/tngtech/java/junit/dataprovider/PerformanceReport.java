@@ -0,0 +1,334 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * {@link DataProviderRunnerListener} aggregating the wall time of all rows of each test method into a
+ * {@link TimingHistogram} and the durations of the data provider invocations per test method and data provider. The
+ * collected data of all test classes run in the current JVM is written as JSON to the configured file once when the
+ * JVM shuts down (see {@link DataProviderProperties#REPORT_FILE}).
+ * <p>
+ * Optionally, the bytes allocated and the garbage collections during each row are accounted per test method and the
+ * rows allocating most or spending most time in garbage collections are reported (see {@link AllocationSampler} and
+ * {@link DataProviderProperties#REPORT_ALLOCATIONS}).
+ * </p>
+ */
+class PerformanceReport extends DataProviderRunnerListener {
+
+    private static final Logger LOGGER = Logger.getLogger(PerformanceReport.class.getName());
+
+    private static final Map<File, PerformanceReport> INSTANCES = new HashMap<File, PerformanceReport>();
+
+    /** Number of rows reported as top offenders regarding allocated bytes and garbage collection time. */
+    private static final int TOP_OFFENDERS = 20;
+
+    private static final Comparator<RowAllocation> BY_ALLOCATED_BYTES = new Comparator<RowAllocation>() {
+        public int compare(RowAllocation a, RowAllocation b) {
+            return compareLongs(a.allocatedBytes, b.allocatedBytes);
+        }
+    };
+
+    private static final Comparator<RowAllocation> BY_GC_TIME = new Comparator<RowAllocation>() {
+        public int compare(RowAllocation a, RowAllocation b) {
+            return compareLongs(a.gcTimeMillis, b.gcTimeMillis);
+        }
+    };
+
+    private final File file;
+
+    private final Map<Method, TimingHistogram> histograms = new LinkedHashMap<Method, TimingHistogram>();
+    private final Map<Method, Map<String, DataProviderInvocations>> dataProviderInvocations =
+            new LinkedHashMap<Method, Map<String, DataProviderInvocations>>();
+
+    /** Sampler for allocations or {@code null} if allocations are not tracked. */
+    private final AllocationSampler allocationSampler;
+    private final ThreadLocal<long[]> allocationSamples = new ThreadLocal<long[]>();
+
+    private final Map<Method, long[]> allocationsByMethod = new HashMap<Method, long[]>();
+    private final PriorityQueue<RowAllocation> topAllocatingRows = new PriorityQueue<RowAllocation>(TOP_OFFENDERS + 1,
+            BY_ALLOCATED_BYTES);
+    private final PriorityQueue<RowAllocation> topGcRows = new PriorityQueue<RowAllocation>(TOP_OFFENDERS + 1,
+            BY_GC_TIME);
+
+    /**
+     * @param file to write the report to when the JVM shuts down
+     * @param trackAllocations whether allocations should be tracked if the report is created
+     * @return the report of the current JVM for the given {@code file}
+     */
+    static synchronized PerformanceReport forFile(File file, boolean trackAllocations) {
+        File key = file.getAbsoluteFile();
+        PerformanceReport result = INSTANCES.get(key);
+        if (result == null) {
+            result = new PerformanceReport(key, trackAllocations ? new AllocationSampler() : null);
+            Runtime.getRuntime().addShutdownHook(
+                    new Thread(new ReportWriter(result), "junit-dataprovider-report-writer"));
+            INSTANCES.put(key, result);
+        }
+        return result;
+    }
+
+    /** <p><i>Note:</i> This constructor is visible for testing.</p> */
+    PerformanceReport(File file, AllocationSampler allocationSampler) {
+        this.file = file;
+        this.allocationSampler = allocationSampler;
+    }
+
+    @Override
+    public synchronized void dataProviderInvoked(FrameworkMethod testMethod, Method dataProvider, Object[][] result,
+            long durationNanos) {
+
+        Map<String, DataProviderInvocations> invocationsByDataProvider = dataProviderInvocations.get(testMethod
+                .getMethod());
+        if (invocationsByDataProvider == null) {
+            invocationsByDataProvider = new LinkedHashMap<String, DataProviderInvocations>();
+            dataProviderInvocations.put(testMethod.getMethod(), invocationsByDataProvider);
+        }
+        DataProviderInvocations invocations = invocationsByDataProvider.get(dataProvider.getName());
+        if (invocations == null) {
+            invocations = new DataProviderInvocations();
+            invocationsByDataProvider.put(dataProvider.getName(), invocations);
+        }
+        invocations.record((result == null) ? 0 : result.length, durationNanos);
+    }
+
+    @Override
+    public void testMethodStarted(FrameworkMethod method) {
+        if (allocationSampler != null) {
+            allocationSamples.set(allocationSampler.sample());
+        }
+    }
+
+    @Override
+    public void testMethodFinished(FrameworkMethod method, long durationNanos, Throwable failure) {
+        long[] allocationSample = null;
+        if (allocationSampler != null && allocationSamples.get() != null) {
+            allocationSample = AllocationSampler.difference(allocationSamples.get(), allocationSampler.sample());
+            allocationSamples.remove();
+        }
+        record(method, durationNanos, allocationSample);
+    }
+
+    /**
+     * <p><i>Note:</i> This method is visible for testing.</p>
+     *
+     * @param method the (potentially exploded) test method
+     * @param durationNanos the wall time of the test method
+     * @param allocationSample the allocations during the test method or {@code null} if not tracked
+     */
+    synchronized void record(FrameworkMethod method, long durationNanos, long[] allocationSample) {
+        if (allocationSample != null) {
+            recordAllocations(method, allocationSample);
+        }
+
+        TimingHistogram histogram = histograms.get(method.getMethod());
+        if (histogram == null) {
+            histogram = new TimingHistogram();
+            histograms.put(method.getMethod(), histogram);
+        }
+        histogram.record(durationNanos);
+    }
+
+    private void recordAllocations(FrameworkMethod method, long[] allocationSample) {
+        long[] total = allocationsByMethod.get(method.getMethod());
+        if (total == null) {
+            total = new long[allocationSample.length];
+            allocationsByMethod.put(method.getMethod(), total);
+        }
+        for (int i = 0; i < total.length; i++) {
+            total[i] += allocationSample[i];
+        }
+
+        RowAllocation rowAllocation = new RowAllocation(method.getMethod(),
+                AllocationSampler.getAllocatedBytes(allocationSample), AllocationSampler.getGcCount(allocationSample),
+                AllocationSampler.getGcTimeMillis(allocationSample));
+        boolean topAllocating = isTopOffender(topAllocatingRows, rowAllocation, BY_ALLOCATED_BYTES);
+        boolean topGc = rowAllocation.gcTimeMillis > 0 && isTopOffender(topGcRows, rowAllocation, BY_GC_TIME);
+        if (!topAllocating && !topGc) {
+            return;
+        }
+
+        // name the row now as its parameters may be spilled or stored off-heap only until the test class finished
+        rowAllocation.row = method.getName();
+        if (method instanceof DataProviderFrameworkMethod) {
+            rowAllocation.identifier = ((DataProviderFrameworkMethod) method).getIdentifier();
+        }
+        if (topAllocating) {
+            addTopOffender(topAllocatingRows, rowAllocation);
+        }
+        if (topGc) {
+            addTopOffender(topGcRows, rowAllocation);
+        }
+    }
+
+    private boolean isTopOffender(PriorityQueue<RowAllocation> topOffenders, RowAllocation rowAllocation,
+            Comparator<RowAllocation> comparator) {
+        return topOffenders.size() < TOP_OFFENDERS || comparator.compare(rowAllocation, topOffenders.peek()) > 0;
+    }
+
+    private void addTopOffender(PriorityQueue<RowAllocation> topOffenders, RowAllocation rowAllocation) {
+        topOffenders.add(rowAllocation);
+        if (topOffenders.size() > TOP_OFFENDERS) {
+            topOffenders.poll();
+        }
+    }
+
+    synchronized String toJson() {
+        StringBuilder json = new StringBuilder("{\n  \"testMethods\": [");
+        String separator = "\n    ";
+        for (Map.Entry<Method, TimingHistogram> entry : histograms.entrySet()) {
+            TimingHistogram histogram = entry.getValue();
+            appendMethod(json.append(separator).append('{'), entry.getKey());
+            json.append(", \"rows\": ").append(histogram.getCount());
+            json.append(", \"totalNanos\": ").append(histogram.getTotal());
+            json.append(", \"minNanos\": ").append(histogram.getMin());
+            json.append(", \"p50Nanos\": ").append(histogram.getPercentile(50));
+            json.append(", \"p90Nanos\": ").append(histogram.getPercentile(90));
+            json.append(", \"p99Nanos\": ").append(histogram.getPercentile(99));
+            json.append(", \"maxNanos\": ").append(histogram.getMax());
+
+            long[] allocations = allocationsByMethod.get(entry.getKey());
+            if (allocations != null) {
+                json.append(", \"allocatedBytes\": ").append(AllocationSampler.getAllocatedBytes(allocations));
+                json.append(", \"gcCount\": ").append(AllocationSampler.getGcCount(allocations));
+                json.append(", \"gcTimeMillis\": ").append(AllocationSampler.getGcTimeMillis(allocations));
+            }
+            json.append('}');
+            separator = ",\n    ";
+        }
+        json.append("\n  ],\n  \"dataProviderInvocations\": [");
+        separator = "\n    ";
+        for (Map.Entry<Method, Map<String, DataProviderInvocations>> entry : dataProviderInvocations.entrySet()) {
+            for (Map.Entry<String, DataProviderInvocations> invocations : entry.getValue().entrySet()) {
+                appendMethod(json.append(separator).append('{'), entry.getKey());
+                Json.appendString(json.append(", \"dataProvider\": "), invocations.getKey());
+                json.append(", \"invocations\": ").append(invocations.getValue().count);
+                json.append(", \"rows\": ").append(invocations.getValue().rows);
+                json.append(", \"totalNanos\": ").append(invocations.getValue().totalNanos);
+                json.append(", \"maxNanos\": ").append(invocations.getValue().maxNanos).append('}');
+                separator = ",\n    ";
+            }
+        }
+        json.append("\n  ]");
+
+        if (allocationSampler != null) {
+            appendRowAllocations(json.append(",\n  \"topAllocatingRows\": ["), topAllocatingRows, BY_ALLOCATED_BYTES);
+            appendRowAllocations(json.append(",\n  \"topGcRows\": ["), topGcRows, BY_GC_TIME);
+        }
+        return json.append("\n}\n").toString();
+    }
+
+    private void appendRowAllocations(StringBuilder json, PriorityQueue<RowAllocation> topOffenders,
+            Comparator<RowAllocation> comparator) {
+
+        List<RowAllocation> rowAllocations = new ArrayList<RowAllocation>(topOffenders);
+        Collections.sort(rowAllocations, Collections.reverseOrder(comparator));
+
+        String separator = "\n    ";
+        for (RowAllocation rowAllocation : rowAllocations) {
+            appendMethod(json.append(separator).append('{'), rowAllocation.method);
+            Json.appendString(json.append(", \"row\": "), rowAllocation.row);
+            if (rowAllocation.identifier != null) {
+                Json.appendString(json.append(", \"identifier\": "), rowAllocation.identifier);
+            }
+            json.append(", \"allocatedBytes\": ").append(rowAllocation.allocatedBytes);
+            json.append(", \"gcCount\": ").append(rowAllocation.gcCount);
+            json.append(", \"gcTimeMillis\": ").append(rowAllocation.gcTimeMillis).append('}');
+            separator = ",\n    ";
+        }
+        json.append("\n  ]");
+    }
+
+    /** <p><i>Note:</i> This method is visible for testing.</p> */
+    void write() throws IOException {
+        String json = toJson();
+
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent);
+        }
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(json);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private StringBuilder appendMethod(StringBuilder json, Method method) {
+        Json.appendString(json.append("\"class\": "), method.getDeclaringClass().getName());
+        return Json.appendString(json.append(", \"method\": "), method.getName());
+    }
+
+    private static int compareLongs(long a, long b) {
+        return (a < b) ? -1 : ((a == b) ? 0 : 1);
+    }
+
+    /** Invocations of a single data provider for a single test method, e.g. once per test class. */
+    private static class DataProviderInvocations {
+        long count;
+        long rows;
+        long totalNanos;
+        long maxNanos;
+
+        void record(int rows, long durationNanos) {
+            this.count++;
+            this.rows += rows;
+            this.totalNanos += durationNanos;
+            this.maxNanos = Math.max(maxNanos, durationNanos);
+        }
+    }
+
+    /**
+     * Allocations and garbage collections during a single row. The row is only referenced by its name and identifier
+     * such that neither the exploded test method nor its parameters are retained.
+     */
+    private static class RowAllocation {
+        final Method method;
+        final long allocatedBytes;
+        final long gcCount;
+        final long gcTimeMillis;
+
+        String row;
+        String identifier;
+
+        RowAllocation(Method method, long allocatedBytes, long gcCount, long gcTimeMillis) {
+            this.method = method;
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcTimeMillis = gcTimeMillis;
+        }
+    }
+
+    private static class ReportWriter implements Runnable {
+        private final PerformanceReport performanceReport;
+
+        ReportWriter(PerformanceReport performanceReport) {
+            this.performanceReport = performanceReport;
+        }
+
+        public void run() {
+            try {
+                performanceReport.write();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not write performance report to " + performanceReport.file, e);
+            }
+        }
+    }
+}
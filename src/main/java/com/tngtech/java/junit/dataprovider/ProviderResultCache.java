@@ -0,0 +1,205 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Method;
+import java.nio.channels.FileLock;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * On-disk cache of the results of data providers annotated with {@link CachedDataProvider}, shared by all JVMs using
+ * the same directory. Each result is stored as binary fixture (see {@link BinaryFixtureWriter}) named after the hash of
+ * its cache key and read back memory-mapped by {@link BinaryFixtureDataProvider}, which also validates it.
+ * <p>
+ * A missing result is computed while holding an exclusive lock on a lock file next to it such that concurrently forked
+ * JVMs compute it only once. Results are written to a temporary file which is renamed afterwards, hence readers never
+ * observe partially written files. Any I/O failure of the cache itself only results in a cache miss.
+ * </p>
+ */
+class ProviderResultCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ProviderResultCache.class.getName());
+
+    private static final String VERSION = "junit-dataprovider-provider-cache 1";
+
+    /** File locks are held per JVM, hence threads of the same JVM must be serialized additionally. */
+    private static final ConcurrentMap<String, Object> LOCKS = new ConcurrentHashMap<String, Object>();
+
+    private final File directory;
+
+    /**
+     * @param directory to store the results in, does not need to exist
+     */
+    ProviderResultCache(File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        this.directory = directory;
+    }
+
+    /**
+     * @param dataProvider the data provider method
+     * @param loader invoking the data provider if its result is not cached yet
+     * @return the cached or newly loaded result
+     * @throws Throwable if the {@code loader} failed
+     */
+    Object[][] get(Method dataProvider, DataProviderMemo.Loader loader) throws Throwable {
+        CachedDataProvider cachedDataProvider = dataProvider.getAnnotation(CachedDataProvider.class);
+        String key = (cachedDataProvider == null) ? null : key(dataProvider, cachedDataProvider);
+        if (key == null) {
+            return loader.load();
+        }
+
+        File file = new File(directory, key + ".bin");
+        Object[][] result = read(file);
+        if (result != null) {
+            return result;
+        }
+
+        Object lock = LOCKS.putIfAbsent(key, new Object());
+        if (lock == null) {
+            lock = LOCKS.get(key);
+        }
+        synchronized (lock) {
+            RandomAccessFile lockFile = null;
+            FileLock fileLock = null;
+            try {
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    throw new IOException("Cannot create provider cache directory " + directory);
+                }
+                lockFile = new RandomAccessFile(new File(directory, key + ".lock"), "rw");
+                fileLock = lockFile.getChannel().lock();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not lock provider cache entry of " + dataProvider, e);
+                close(lockFile);
+                return loader.load();
+            }
+            try {
+                result = read(file);
+                if (result == null) {
+                    result = loader.load();
+                    write(file, result);
+                }
+                return result;
+            } finally {
+                try {
+                    fileLock.release();
+                } finally {
+                    close(lockFile);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the hexadecimal hash of the cache key of the given data provider or {@code null} if it cannot be computed
+     */
+    String key(Method dataProvider, CachedDataProvider cachedDataProvider) {
+        List<Class<?>> classes = new ArrayList<Class<?>>();
+        for (Class<?> clazz = dataProvider.getDeclaringClass(); clazz != null && clazz.getClassLoader() != null;
+                clazz = clazz.getSuperclass()) {
+            classes.add(clazz);
+        }
+        classes.addAll(Arrays.asList(cachedDataProvider.dependencies()));
+        String bytecodeHash = BytecodeHash.of(classes);
+        if (bytecodeHash == null) {
+            return null;
+        }
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            update(digest, VERSION);
+            update(digest, dataProvider.toString());
+            update(digest, bytecodeHash);
+            byte[] buffer = new byte[8192];
+            for (String inputFile : cachedDataProvider.inputFiles()) {
+                update(digest, inputFile);
+                InputStream in = new FileInputStream(inputFile);
+                try {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                } finally {
+                    in.close();
+                }
+            }
+            return BytecodeHash.toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not hash input files of " + dataProvider, e);
+            return null;
+        }
+    }
+
+    private static void close(RandomAccessFile file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not close provider cache lock file", e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) throws IOException {
+        digest.update(value.getBytes("UTF-8"));
+        digest.update((byte) 0);
+    }
+
+    private Object[][] read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            BinaryFixtureDataProvider fixture = new BinaryFixtureDataProvider(file);
+            Object[][] result = new Object[fixture.size()][];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = fixture.row(i);
+            }
+            return result;
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Ignoring invalid provider cache file " + file, e);
+            return null;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, "Ignoring invalid provider cache file " + file, e);
+            return null;
+        }
+    }
+
+    private void write(File file, Object[][] rows) {
+        if (rows == null) {
+            return;
+        }
+        File tempFile = null;
+        try {
+            tempFile = File.createTempFile(file.getName(), ".tmp", directory);
+            BinaryFixtureWriter.write(tempFile, rows);
+            if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+                throw new IOException("Cannot replace provider cache file " + file);
+            }
+            tempFile = null;
+        } catch (IllegalArgumentException e) {
+            LOGGER.log(Level.FINE, "Not caching unsupported result in " + file, e);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write provider cache file " + file, e);
+        } finally {
+            if (tempFile != null) {
+                tempFile.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * On-disk index of passed exploded test methods of a single test class. Each entry consists of the test method name,
+ * the hash of the involved test code (see {@link BytecodeHash}) and the {@link RowIdentifier} of the exploded test
+ * method such that a change to either of them misses the cache.
+ * <p>
+ * The index is rewritten atomically on {@link #save(Map)} and silently ignored if it cannot be read or has an unknown
+ * version.
+ * </p>
+ */
+class ResultCache {
+
+    private static final String HEADER = "junit-dataprovider-result-cache 1";
+    private static final String ENCODING = "UTF-8";
+
+    private final File file;
+    private final Set<String> entries = new HashSet<String>();
+
+    /**
+     * @param file containing the index of passed exploded test methods, does not need to exist
+     */
+    ResultCache(File file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file must not be null");
+        }
+        this.file = file;
+        load();
+    }
+
+    synchronized boolean isPassed(String methodName, String codeHash, String identifier) {
+        return entries.contains(toEntry(methodName, codeHash, identifier));
+    }
+
+    synchronized void setPassed(String methodName, String codeHash, String identifier) {
+        entries.add(toEntry(methodName, codeHash, identifier));
+    }
+
+    synchronized void setFailed(String methodName, String codeHash, String identifier) {
+        entries.remove(toEntry(methodName, codeHash, identifier));
+    }
+
+    /**
+     * Writes the index to disk retaining only entries of test methods which still exist and whose code hash is still
+     * up-to-date.
+     *
+     * @param codeHashes the current code hashes by test method name
+     * @throws IOException if the index cannot be written
+     */
+    synchronized void save(Map<String, String> codeHashes) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create result cache directory " + parent);
+        }
+
+        File tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(tempFile), ENCODING));
+        try {
+            writer.write(HEADER);
+            writer.write('\n');
+            for (String entry : entries) {
+                String[] parts = entry.split(" ");
+                if (parts[1].equals(codeHashes.get(parts[0]))) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } finally {
+            writer.close();
+        }
+
+        if (!tempFile.renameTo(file) && !(file.delete() && tempFile.renameTo(file))) {
+            tempFile.delete();
+            throw new IOException("Cannot replace result cache file " + file);
+        }
+    }
+
+    private void load() {
+        if (!file.isFile()) {
+            return;
+        }
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), ENCODING));
+            try {
+                if (!HEADER.equals(reader.readLine())) {
+                    return;
+                }
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.split(" ").length == 3) {
+                        entries.add(line);
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            // a broken cache is treated like an empty one
+            entries.clear();
+        }
+    }
+
+    private String toEntry(String methodName, String codeHash, String identifier) {
+        return methodName + " " + codeHash + " " + identifier;
+    }
+}
@@ -0,0 +1,24 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares further classes of a test class run by {@link DataProviderRunner} whose bytecode is part of the result
+ * cache key (see {@link DataProviderProperties#RESULT_CACHE_DIRECTORY}). The test class including its super classes,
+ * the class containing the data provider and the class of an {@link ExtendedDataProvider} are always part of the key.
+ * <p>
+ * Add all classes under test here, otherwise changes in them do not invalidate cached results.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface ResultCacheDependencies {
+
+    /** The classes the test class depends on. */
+    Class<?>[] value();
+}
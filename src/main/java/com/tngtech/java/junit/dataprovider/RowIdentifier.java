@@ -0,0 +1,24 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.runner.Description;
+
+/**
+ * Carries the stable identifier of an exploded test method (see {@link DataProviderFrameworkMethod#getIdentifier()})
+ * within its {@link Description} such that it can be retrieved using {@link Description#getAnnotation(Class)}.
+ * <p>
+ * <i>Note:</i> This annotation is added by {@link DataProviderRunner} and cannot be applied manually.
+ * </p>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface RowIdentifier {
+
+    /** The stable identifier of the exploded test method. */
+    String value();
+}
@@ -0,0 +1,184 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * Selects a seeded random sample of the exploded test methods of a test method (see {@link DataProviderSample}).
+ * Without key column, the sample indices are drawn by reservoir sampling (algorithm L) over the indices only, such
+ * that the exploded test methods of an {@link IndexedDataProvider} are neither created nor requested unless sampled.
+ * With key column, each row is requested once (twice for a fraction) to read its key and sampled within its stratum.
+ * The selected exploded test methods keep their order and index.
+ */
+class RowSampler {
+
+    private final long seed;
+
+    /**
+     * @param seed from which the random number generator of each test method is derived
+     */
+    RowSampler(long seed) {
+        this.seed = seed;
+    }
+
+    long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @param testMethodName the name of the test method whose rows are sampled, which is part of the seed such that
+     *            the sample of a test method does not depend on the order of test methods
+     * @param explodedMethods the exploded test methods to sample from
+     * @param count the number of rows to select (per key), used if greater than {@code 0}
+     * @param fraction the fraction of rows to select (per key, rounded up), used if {@code count} is not greater than
+     *            {@code 0}
+     * @param keyColumn the index of the parameter stratifying the sample or a negative value
+     * @return the selected exploded test methods in their original order
+     * @throws IllegalArgumentException if the {@code keyColumn} does not exist in a row
+     */
+    List<FrameworkMethod> sample(String testMethodName, List<FrameworkMethod> explodedMethods, int count,
+            double fraction, int keyColumn) {
+        Random random = new Random(seed ^ (testMethodName.hashCode() * 0x9E3779B97F4A7C15L));
+
+        int[] indices;
+        if (keyColumn < 0) {
+            indices = reservoir(random, explodedMethods.size(), sampleSize(explodedMethods.size(), count, fraction));
+        } else {
+            indices = stratifiedReservoir(random, explodedMethods, count, fraction, keyColumn);
+        }
+
+        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>(indices.length);
+        for (int index : indices) {
+            result.add(explodedMethods.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Selects {@code k} of the indices {@code 0 .. n - 1} with equal probability by skipping over the indices which
+     * are not selected (algorithm L), i.e. in {@code O(k (1 + log(n / k)))} steps.
+     *
+     * @return the selected indices in ascending order
+     */
+    static int[] reservoir(Random random, int n, int k) {
+        if (k >= n) {
+            int[] result = new int[n];
+            for (int i = 0; i < n; i++) {
+                result[i] = i;
+            }
+            return result;
+        }
+
+        int[] result = new int[k];
+        for (int i = 0; i < k; i++) {
+            result[i] = i;
+        }
+        double w = Math.exp(Math.log(nextOpenDouble(random)) / k);
+        long index = k - 1;
+        while (true) {
+            index += (long) Math.floor(Math.log(nextOpenDouble(random)) / Math.log(1 - w)) + 1;
+            if (index >= n) {
+                break;
+            }
+            result[random.nextInt(k)] = (int) index;
+            w *= Math.exp(Math.log(nextOpenDouble(random)) / k);
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private int[] stratifiedReservoir(Random random, List<FrameworkMethod> explodedMethods, int count,
+            double fraction, int keyColumn) {
+        Map<Object, Integer> stratumSizes = new HashMap<Object, Integer>();
+        if (count <= 0) {
+            for (FrameworkMethod explodedMethod : explodedMethods) {
+                Object key = getKey(explodedMethod, keyColumn);
+                Integer size = stratumSizes.get(key);
+                stratumSizes.put(key, (size == null) ? 1 : size.intValue() + 1);
+            }
+        }
+
+        Map<Object, Stratum> strata = new LinkedHashMap<Object, Stratum>();
+        for (int index = 0; index < explodedMethods.size(); index++) {
+            Object key = getKey(explodedMethods.get(index), keyColumn);
+            Stratum stratum = strata.get(key);
+            if (stratum == null) {
+                stratum = new Stratum((count > 0) ? count : sampleSize(stratumSizes.get(key).intValue(), 0, fraction));
+                strata.put(key, stratum);
+            }
+            stratum.offer(random, index);
+        }
+
+        int size = 0;
+        for (Stratum stratum : strata.values()) {
+            size += stratum.size();
+        }
+        int[] result = new int[size];
+        int position = 0;
+        for (Stratum stratum : strata.values()) {
+            System.arraycopy(stratum.reservoir, 0, result, position, stratum.size());
+            position += stratum.size();
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static Object getKey(FrameworkMethod explodedMethod, int keyColumn) {
+        if (!(explodedMethod instanceof DataProviderFrameworkMethod)) {
+            return null;
+        }
+        Object[] parameters = ((DataProviderFrameworkMethod) explodedMethod).getParameters();
+        if (keyColumn >= parameters.length) {
+            throw new IllegalArgumentException(String.format("Key column %d does not exist in row of %d parameters",
+                    keyColumn, parameters.length));
+        }
+        Object key = parameters[keyColumn];
+        // arrays do not implement equals and hashCode by content
+        return (key != null && key.getClass().isArray()) ? Arrays.deepToString(new Object[] { key }) : key;
+    }
+
+    private static int sampleSize(int n, int count, double fraction) {
+        if (count > 0) {
+            return count;
+        }
+        return (int) Math.max(1, Math.min(n, Math.ceil(fraction * n)));
+    }
+
+    /** @return a random number between {@code 0} (exclusive) and {@code 1} (inclusive) */
+    private static double nextOpenDouble(Random random) {
+        return 1 - random.nextDouble();
+    }
+
+    /** Reservoir of the indices of a single stratum (algorithm R). */
+    private static class Stratum {
+        private final int[] reservoir;
+        private int seen;
+
+        Stratum(int capacity) {
+            this.reservoir = new int[capacity];
+        }
+
+        void offer(Random random, int index) {
+            seen++;
+            if (seen <= reservoir.length) {
+                reservoir[seen - 1] = index;
+            } else {
+                int replaced = random.nextInt(seen);
+                if (replaced < reservoir.length) {
+                    reservoir[replaced] = index;
+                }
+            }
+        }
+
+        int size() {
+            return Math.min(seen, reservoir.length);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * <p>Use this class instead of an {@link ExtendedDataProvider} if the number of rows can be determined cheaply without
+ * generating them.</p>
+ *
+ * <p>If the explosion of test methods is deferred (see {@link DataProviderProperties#DEFERRED_EXPLOSION}), the
+ * declared size is used to count the tests up front, e.g. by {@link DataProviderRunner#testCount()}, such that
+ * {@link #provide()} is only called if the test method actually runs.</p>
+ */
+public abstract class SizedDataProvider extends ExtendedDataProvider {
+
+    /**
+     * <p>Implement this method to return the number of rows {@link #provide()} will return. It should neither generate
+     * the rows nor perform any other expensive operation.</p>
+     *
+     * @return the number of rows
+     */
+    public abstract int size();
+}
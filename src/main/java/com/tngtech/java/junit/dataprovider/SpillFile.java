@@ -0,0 +1,120 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Temporary file holding the serialized rows of a data provider which exceed the heap budget of the test class (see
+ * {@link DataProviderProperties#HEAP_BUDGET}). The rows are deserialized each time they are requested by their
+ * {@link DataProviderFrameworkMethod} and are not kept afterwards. The file is deleted by {@link #close()} when the
+ * test class finished.
+ */
+class SpillFile implements IndexedDataProvider {
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+
+    /** Index of the first spilled row within the data provider result. */
+    private final int firstIndex;
+
+    /** Offsets of the spilled rows within the file, followed by the end offset of the last row. */
+    private long[] offsets = new long[1024];
+    private int numberOfRows;
+
+    /**
+     * @param firstIndex index of the first row to be spilled within the data provider result (starting at {@code 0})
+     * @return a new spill file backed by a temporary file
+     * @throws IOException if the temporary file cannot be created
+     */
+    static SpillFile create(int firstIndex) throws IOException {
+        File file = File.createTempFile("junit-dataprovider-", ".spill");
+        file.deleteOnExit();
+        return new SpillFile(file, firstIndex);
+    }
+
+    private SpillFile(File file, int firstIndex) throws IOException {
+        this.file = file;
+        this.firstIndex = firstIndex;
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        this.channel = randomAccessFile.getChannel();
+    }
+
+    /**
+     * Appends the given row which gets the next index after all already spilled rows.
+     *
+     * @param row to be spilled
+     * @throws java.io.NotSerializableException if any parameter of the row is not serializable
+     * @throws IOException if the row cannot be written
+     */
+    synchronized void spill(Object[] row) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(row);
+        out.close();
+
+        if (numberOfRows + 1 == offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        long offset = offsets[numberOfRows];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, offset + buffer.position());
+        }
+        offsets[++numberOfRows] = offset + buffer.limit();
+    }
+
+    public synchronized int size() {
+        return firstIndex + numberOfRows;
+    }
+
+    public Object[] row(int index) {
+        long offset;
+        int length;
+        synchronized (this) {
+            if (index < firstIndex || index >= firstIndex + numberOfRows) {
+                throw new IndexOutOfBoundsException(String.format("Row %d is not spilled to %s", index, file));
+            }
+            offset = offsets[index - firstIndex];
+            length = (int) (offsets[index - firstIndex + 1] - offset);
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("Spilled row " + index + " is truncated in " + file);
+                }
+            }
+            ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buffer.array()));
+            try {
+                return (Object[]) in.readObject();
+            } finally {
+                in.close();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(String.format("Cannot read spilled row %d from %s: %s", index, file,
+                    e.getMessage()), e);
+        }
+    }
+
+    /** Closes and deletes the spill file; the spilled rows cannot be read afterwards. */
+    synchronized void close() throws IOException {
+        try {
+            randomAccessFile.close();
+        } finally {
+            if (!file.delete()) {
+                file.deleteOnExit();
+            }
+        }
+    }
+}
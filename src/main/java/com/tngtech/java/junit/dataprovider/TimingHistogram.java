@@ -0,0 +1,87 @@
+package com.tngtech.java.junit.dataprovider;
+
+/**
+ * Histogram of durations in nanoseconds using logarithmic buckets with 16 linear sub-buckets each. Recording is
+ * therefore constant in time and memory while percentiles are accurate to about 6%. Minimum, maximum and total are
+ * exact.
+ * <p>
+ * <i>Note:</i> This class is not thread-safe.
+ * </p>
+ */
+class TimingHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final int[] counts = new int[(64 - SUB_BUCKET_BITS) * SUB_BUCKETS];
+
+    private long count;
+    private long total;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    long getTotal() {
+        return total;
+    }
+
+    long getMin() {
+        return (count == 0) ? 0 : min;
+    }
+
+    long getMax() {
+        return (count == 0) ? 0 : max;
+    }
+
+    /**
+     * @param percentile between {@code 0} (exclusive) and {@code 100} (inclusive)
+     * @return the upper bound of the bucket containing the given percentile, limited to the recorded minimum and
+     *         maximum, or {@code 0} if nothing was recorded
+     */
+    long getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, upperBoundOf(i)));
+            }
+        }
+        return max;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) + subBucket;
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = (index >> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,220 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.junit.runners.model.FrameworkMethod;
+
+/**
+ * {@link DataProviderRunnerListener} streaming a timeline of all data provider invocations, rows and
+ * {@link ExtendedDataProvider} hooks in the trace event format (loadable in {@code chrome://tracing} or Perfetto) to
+ * the configured file (see {@link DataProviderProperties#TRACE_FILE}).
+ * <p>
+ * Every span is written as complete event (phase {@code "X"}) on the thread it was executed on as soon as it
+ * finished, such that nothing but the names of the already seen threads is kept in memory. The events are flushed
+ * after each test class and the JSON array is closed when the JVM shuts down (the trace event format tolerates a
+ * missing closing bracket if the JVM is killed).
+ * </p>
+ */
+class TraceEventWriter extends DataProviderRunnerListener {
+
+    private static final Logger LOGGER = Logger.getLogger(TraceEventWriter.class.getName());
+
+    private static final Map<File, TraceEventWriter> INSTANCES = new HashMap<File, TraceEventWriter>();
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Writer writer;
+    private final long baseNanos;
+
+    private final Set<Long> seenThreadIds = new HashSet<Long>();
+    private final StringBuilder event = new StringBuilder();
+    private String separator = "\n";
+    private boolean disabled;
+
+    /**
+     * @param file to write the trace events to
+     * @return the trace event writer of the current JVM for the given {@code file} or {@code null} if the file cannot
+     *         be opened
+     */
+    static synchronized TraceEventWriter forFile(File file) {
+        File key = file.getAbsoluteFile();
+        TraceEventWriter result = INSTANCES.get(key);
+        if (result == null) {
+            try {
+                result = new TraceEventWriter(open(key), System.nanoTime());
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not open trace event file " + key, e);
+                return null;
+            }
+            Runtime.getRuntime().addShutdownHook(new Thread(new Closer(result), "junit-dataprovider-trace-closer"));
+            INSTANCES.put(key, result);
+        }
+        return result;
+    }
+
+    private static Writer open(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"), BUFFER_SIZE);
+    }
+
+    /**
+     * <p><i>Note:</i> This constructor is visible for testing.</p>
+     *
+     * @param writer to stream the trace events to
+     * @param baseNanos {@link System#nanoTime()} to be used as zero timestamp
+     * @throws IOException if the beginning of the trace cannot be written
+     */
+    TraceEventWriter(Writer writer, long baseNanos) throws IOException {
+        this.writer = writer;
+        this.baseNanos = baseNanos;
+        writer.write('[');
+    }
+
+    @Override
+    public void dataProviderInvoked(FrameworkMethod testMethod, Method dataProvider, Object[][] result,
+            long durationNanos) {
+        writeSpan(dataProvider.getName(), "dataProvider", testMethod, durationNanos,
+                (result == null) ? null : ", \"rows\": " + result.length);
+    }
+
+    @Override
+    public void testMethodFinished(FrameworkMethod testMethod, long durationNanos, Throwable failure) {
+        writeSpan(testMethod.getName(), "row", testMethod, durationNanos, (failure == null) ? null
+                : ", \"failed\": true");
+    }
+
+    @Override
+    public void dataProviderHookFinished(FrameworkMethod testMethod, String hookName, long durationNanos) {
+        writeSpan(hookName, "hook", testMethod, durationNanos, null);
+    }
+
+    @Override
+    public void testClassFinished(Class<?> testClass) {
+        flush();
+    }
+
+    /**
+     * Writes a complete event for the span of the current thread which just finished.
+     *
+     * @param name of the span
+     * @param category of the span
+     * @param testMethod the span belongs to
+     * @param durationNanos of the span
+     * @param additionalArgs already formatted additional arguments starting with a comma or {@code null} if none
+     */
+    private synchronized void writeSpan(String name, String category, FrameworkMethod testMethod, long durationNanos,
+            String additionalArgs) {
+        long endNanos = System.nanoTime() - baseNanos;
+        Thread thread = Thread.currentThread();
+
+        event.setLength(0);
+        if (seenThreadIds.add(thread.getId())) {
+            event.append(separator);
+            event.append("{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": ").append(thread.getId());
+            Json.appendString(event.append(", \"args\": {\"name\": "), thread.getName()).append("}}");
+            separator = ",\n";
+        }
+        event.append(separator);
+
+        Json.appendString(event.append("{\"name\": "), name);
+        Json.appendString(event.append(", \"cat\": "), category);
+        event.append(", \"ph\": \"X\", \"pid\": 1, \"tid\": ").append(thread.getId());
+        appendMicros(event.append(", \"ts\": "), endNanos - durationNanos);
+        appendMicros(event.append(", \"dur\": "), durationNanos);
+
+        Json.appendString(event.append(", \"args\": {\"class\": "), testMethod.getMethod().getDeclaringClass()
+                .getName());
+        Json.appendString(event.append(", \"method\": "), testMethod.getMethod().getName());
+        if (testMethod instanceof DataProviderFrameworkMethod) {
+            event.append(", \"row\": ").append(((DataProviderFrameworkMethod) testMethod).getIndex());
+        }
+        if (additionalArgs != null) {
+            event.append(additionalArgs);
+        }
+        event.append("}}");
+
+        write(event);
+        separator = ",\n";
+    }
+
+    private static void appendMicros(StringBuilder builder, long nanos) {
+        long fraction = Math.abs(nanos % 1000);
+        builder.append(nanos / 1000).append('.');
+        if (fraction < 100) {
+            builder.append('0');
+        }
+        if (fraction < 10) {
+            builder.append('0');
+        }
+        builder.append(fraction);
+    }
+
+    private void write(CharSequence text) {
+        if (disabled) {
+            return;
+        }
+        try {
+            writer.append(text);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /** <p><i>Note:</i> This method is visible for testing.</p> */
+    synchronized void flush() {
+        if (disabled) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /** <p><i>Note:</i> This method is visible for testing.</p> */
+    synchronized void close() {
+        if (disabled) {
+            return;
+        }
+        try {
+            writer.write("\n]\n");
+            writer.close();
+        } catch (IOException e) {
+            fail(e);
+        }
+        disabled = true;
+    }
+
+    private void fail(IOException e) {
+        LOGGER.log(Level.WARNING, "Could not write trace events, disabling trace event writer", e);
+        disabled = true;
+    }
+
+    private static class Closer implements Runnable {
+        private final TraceEventWriter traceEventWriter;
+
+        Closer(TraceEventWriter traceEventWriter) {
+            this.traceEventWriter = traceEventWriter;
+        }
+
+        public void run() {
+            traceEventWriter.close();
+        }
+    }
+}
@@ -20,4 +20,26 @@ public @interface UseDataProvider {
 
     /** The class holding the data provider method, defaults to the test class (just first class will be considered). */
     Class<?>[] location() default {};
+
+    /**
+     * Names of further data providers (in the same {@link #location()}) whose rows are combined with the rows of
+     * {@link #value()} to their Cartesian product, e.g.
+     * {@code @UseDataProvider(value = "browsers", product = "locales")}. The rows of the product are computed on
+     * demand (see {@link CartesianProductDataProvider}).
+     */
+    String[] product() default {};
+
+    /**
+     * If greater than {@code 0}, the rows of {@link #value()} and {@link #product()} are not combined to their full
+     * Cartesian product but to a covering array in which every combination of rows of any {@code strength} data
+     * providers occurs at least once, e.g. {@code 2} for all pairs (see {@link CoveringArrayDataProvider}).
+     */
+    int strength() default 0;
+
+    /**
+     * The {@link ParameterHasher} used to compute the stable identifiers of the exploded test methods, defaults to
+     * {@link DefaultParameterHasher}. Rows with parameters the {@link DefaultParameterHasher} does not hash by value
+     * are never skipped by the result cache unless a custom hasher is given.
+     */
+    Class<? extends ParameterHasher> hasher() default DefaultParameterHasher.class;
 }
@@ -0,0 +1,215 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.Runner;
+
+/**
+ * Drives the {@link DataProviderRunner} through {@link JUnitCore} with synthetic data providers (see
+ * {@link ScalingTests}) of growing row counts (powers of ten) and parameter sizes and records discovery time, execution
+ * time, peak heap and retained heap after the run of each combination as CSV.
+ * <p>
+ * Fails (= exits with status {@code 1}) if the time or retained heap per row grows superlinearly, i.e. if the cost per
+ * row grows by more than the given factor from one power of ten to the next.
+ * </p>
+ * <p>
+ * Usage: {@code ScalingSuite <csv file> [<max rows> [<parameter sizes, comma separated> [<max growth factor>]]]}
+ * </p>
+ */
+public class ScalingSuite {
+
+    private static final int MIN_ROWS = 1000;
+
+    /** Minimal total duration of a run for its time per row to be considered by the threshold assertions. */
+    private static final long MIN_ASSERTED_NANOS = 50L * 1000 * 1000;
+
+    /** Minimal retained heap of a run for its retained heap per row to be considered by the threshold assertions. */
+    private static final long MIN_ASSERTED_BYTES = 1L << 20;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ScalingSuite <csv file> [<max rows> [<parameter sizes> [<max growth factor>]]]");
+            System.exit(2);
+        }
+        File csvFile = new File(args[0]);
+        int maxRows = (args.length > 1) ? Integer.parseInt(args[1]) : 1000000;
+        String[] parameterSizes = ((args.length > 2) ? args[2] : "1,100").split(",");
+        double maxGrowth = (args.length > 3) ? Double.parseDouble(args[3]) : 2.0;
+
+        // warm up class loading and JIT such that the smallest row count is not dominated by it
+        measure(MIN_ROWS * 10, 1);
+
+        List<String> violations = new ArrayList<String>();
+        PrintWriter csv = open(csvFile);
+        try {
+            csv.println("rows,parameterSize,discoveryMillis,executionMillis,peakHeapBytes,retainedHeapBytes,"
+                    + "nanosPerRow,retainedBytesPerRow");
+
+            for (String parameterSize : parameterSizes) {
+                Measurement previous = null;
+                for (int rows = MIN_ROWS; rows <= maxRows && rows > 0; rows *= 10) {
+                    Measurement current = measure(rows, Integer.parseInt(parameterSize.trim()));
+                    csv.println(current.toCsv());
+                    csv.flush();
+                    System.out.println(current);
+
+                    if (previous != null) {
+                        checkGrowth(previous, current, maxGrowth, violations);
+                    }
+                    previous = current;
+                }
+            }
+        } finally {
+            csv.close();
+        }
+
+        System.out.println("Results written to " + csvFile.getAbsolutePath());
+        if (!violations.isEmpty()) {
+            for (String violation : violations) {
+                System.err.println(violation);
+            }
+            System.exit(1);
+        }
+    }
+
+    private static PrintWriter open(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+        return new PrintWriter(new OutputStreamWriter(new FileOutputStream(file), "UTF-8"));
+    }
+
+    private static Measurement measure(int rows, int parameterSize) throws Exception {
+        ScalingTests.rows = rows;
+        ScalingTests.parameterSize = parameterSize;
+
+        long baselineHeap = usedHeapAfterGc();
+        resetPeakHeap();
+
+        long start = System.nanoTime();
+        Runner runner = Request.aClass(ScalingTests.class).getRunner();
+        runner.getDescription();
+        long discoveryNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        Result result = new JUnitCore().run(runner);
+        long executionNanos = System.nanoTime() - start;
+
+        long peakHeap = getPeakHeap();
+        long retainedHeap = usedHeapAfterGc() - baselineHeap;
+
+        if (result.getRunCount() != rows || !result.wasSuccessful()) {
+            throw new IllegalStateException(String.format("Expected %d successful rows but %d ran and %d failed: %s",
+                    rows, result.getRunCount(), result.getFailureCount(), result.getFailures()));
+        }
+        // keep runner (and therewith all exploded test methods) reachable until retained heap was measured
+        if (runner.testCount() != rows) {
+            throw new IllegalStateException("Unexpected test count " + runner.testCount());
+        }
+        return new Measurement(rows, parameterSize, discoveryNanos, executionNanos, peakHeap, retainedHeap);
+    }
+
+    private static long usedHeapAfterGc() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long result = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(20);
+            result = Math.min(result, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return result;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /** @return the sum of the peaks of all heap pools, an upper bound of the actual peak heap usage */
+    private static long getPeakHeap() {
+        long result = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null) {
+                result += pool.getPeakUsage().getUsed();
+            }
+        }
+        return result;
+    }
+
+    private static void checkGrowth(Measurement previous, Measurement current, double maxGrowth,
+            List<String> violations) {
+        if (previous.getTotalNanos() >= MIN_ASSERTED_NANOS
+                && current.getNanosPerRow() > maxGrowth * previous.getNanosPerRow()) {
+            violations.add(String.format("Time per row grew superlinearly from %.0f ns (%d rows) to %.0f ns (%d rows) "
+                    + "with parameter size %d, i.e. more than factor %.1f", previous.getNanosPerRow(), previous.rows,
+                    current.getNanosPerRow(), current.rows, current.parameterSize, maxGrowth));
+        }
+        if (previous.retainedHeapBytes >= MIN_ASSERTED_BYTES
+                && current.getRetainedBytesPerRow() > maxGrowth * previous.getRetainedBytesPerRow()) {
+            violations.add(String.format("Retained heap per row grew superlinearly from %.0f bytes (%d rows) to "
+                    + "%.0f bytes (%d rows) with parameter size %d, i.e. more than factor %.1f",
+                    previous.getRetainedBytesPerRow(), previous.rows, current.getRetainedBytesPerRow(), current.rows,
+                    current.parameterSize, maxGrowth));
+        }
+    }
+
+    private static class Measurement {
+        final int rows;
+        final int parameterSize;
+        final long discoveryNanos;
+        final long executionNanos;
+        final long peakHeapBytes;
+        final long retainedHeapBytes;
+
+        Measurement(int rows, int parameterSize, long discoveryNanos, long executionNanos, long peakHeapBytes,
+                long retainedHeapBytes) {
+            this.rows = rows;
+            this.parameterSize = parameterSize;
+            this.discoveryNanos = discoveryNanos;
+            this.executionNanos = executionNanos;
+            this.peakHeapBytes = peakHeapBytes;
+            this.retainedHeapBytes = retainedHeapBytes;
+        }
+
+        long getTotalNanos() {
+            return discoveryNanos + executionNanos;
+        }
+
+        double getNanosPerRow() {
+            return (double) getTotalNanos() / rows;
+        }
+
+        double getRetainedBytesPerRow() {
+            return (double) retainedHeapBytes / rows;
+        }
+
+        String toCsv() {
+            return String.format("%d,%d,%d,%d,%d,%d,%.1f,%.1f", rows, parameterSize, discoveryNanos / 1000000,
+                    executionNanos / 1000000, peakHeapBytes, retainedHeapBytes, getNanosPerRow(),
+                    getRetainedBytesPerRow());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d rows of parameter size %d: discovery %d ms, execution %d ms, peak heap %,d bytes, "
+                    + "retained heap %,d bytes", rows, parameterSize, discoveryNanos / 1000000,
+                    executionNanos / 1000000, peakHeapBytes, retainedHeapBytes);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.tngtech.java.junit.dataprovider;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Test class run by the {@link ScalingSuite}. Its data provider synthesizes {@link #rows} rows, each containing a
+ * {@link String} and an {@code int[]} of {@link #parameterSize} elements.
+ */
+@RunWith(DataProviderRunner.class)
+public class ScalingTests {
+
+    static volatile int rows = 1;
+    static volatile int parameterSize = 1;
+
+    @DataProvider
+    public static Object[][] dataProviderSynthetic() {
+        char[] text = new char[parameterSize];
+        Arrays.fill(text, 'x');
+
+        Object[][] result = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            int[] numbers = new int[parameterSize];
+            Arrays.fill(numbers, i);
+            result[i] = new Object[] { i, new String(text), numbers };
+        }
+        return result;
+    }
+
+    @Test
+    @UseDataProvider("dataProviderSynthetic")
+    public void testSynthetic(int index, String text, int[] numbers) {
+        if (numbers.length != text.length()) {
+            throw new AssertionError("Parameters of row " + index + " differ in size");
+        }
+    }
+}
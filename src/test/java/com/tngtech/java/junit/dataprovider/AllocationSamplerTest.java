@@ -0,0 +1,41 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class AllocationSamplerTest {
+
+    @Test
+    public void testDifferenceShouldSubtractAllCounters() {
+        // Given:
+
+        // When:
+        long[] result = AllocationSampler.difference(new long[] { 10, 2, 30 }, new long[] { 25, 3, 30 });
+
+        // Then:
+        assertThat(AllocationSampler.getAllocatedBytes(result)).isEqualTo(15);
+        assertThat(AllocationSampler.getGcCount(result)).isEqualTo(1);
+        assertThat(AllocationSampler.getGcTimeMillis(result)).isEqualTo(0);
+    }
+
+    @Test
+    public void testSampleShouldAccountAllocationsOfCurrentThreadIfSupported() {
+        // Given:
+        AllocationSampler underTest = new AllocationSampler();
+        long[] start = underTest.sample();
+
+        // When:
+        byte[] allocated = new byte[1 << 20];
+        long[] result = AllocationSampler.difference(start, underTest.sample());
+
+        // Then:
+        assertThat(allocated).isNotNull();
+        if (underTest.isAllocatedBytesSupported()) {
+            assertThat(AllocationSampler.getAllocatedBytes(result)).isGreaterThanOrEqualTo(1 << 20);
+        } else {
+            assertThat(AllocationSampler.getAllocatedBytes(result)).isEqualTo(0);
+        }
+        assertThat(AllocationSampler.getGcCount(result)).isGreaterThanOrEqualTo(0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BinaryFixtureDataProviderTest {
+
+    private static final Object[][] ROWS = new Object[][] {
+            { null, true, (byte) -1, (short) -2, 'c', -3, -4L, 5.5f, -6.25d },
+            { "some string with umlauts \u00e4\u00f6\u00fc", new byte[] { 1, 2, 3 } },
+            { Integer.MIN_VALUE, Long.MAX_VALUE, "" }, };
+
+    private File file;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("fixture", ".bin");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testRowShouldReturnWrittenRows() throws IOException {
+        // Given:
+        BinaryFixtureWriter.write(file, ROWS);
+
+        // When:
+        BinaryFixtureDataProvider underTest = new BinaryFixtureDataProvider(file);
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(3);
+        assertThat(underTest.row(0)).isEqualTo(ROWS[0]);
+        assertThat(underTest.row(1)[0]).isEqualTo(ROWS[1][0]);
+        assertThat((byte[]) underTest.row(1)[1]).isEqualTo((byte[]) ROWS[1][1]);
+        assertThat(underTest.row(2)).isEqualTo(ROWS[2]);
+    }
+
+    @Test
+    public void testRowShouldReturnWrittenRowsIfValuesSpanSegments() throws IOException {
+        // Given:
+        BinaryFixtureWriter.write(file, ROWS);
+
+        // When:
+        BinaryFixtureDataProvider underTest = new BinaryFixtureDataProvider(file, 3);
+
+        // Then:
+        assertThat(underTest.row(2)).isEqualTo(ROWS[2]);
+        assertThat(underTest.row(1)[0]).isEqualTo(ROWS[1][0]);
+        assertThat(underTest.row(0)).isEqualTo(ROWS[0]);
+    }
+
+    @Test
+    public void testShardShouldReturnEveryNthRow() throws IOException {
+        // Given:
+        BinaryFixtureWriter.write(file, new Object[][] { { 0 }, { 1 }, { 2 }, { 3 }, { 4 } });
+        BinaryFixtureDataProvider underTest = new BinaryFixtureDataProvider(file);
+
+        // When:
+        IndexedDataProvider result = underTest.shard(1, 2);
+
+        // Then:
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.row(0)).containsOnly(1);
+        assertThat(result.row(1)).containsOnly(3);
+        assertThat(underTest.shard(0, 2).size()).isEqualTo(3);
+    }
+
+    @Test(expected = IOException.class)
+    public void testBinaryFixtureDataProviderShouldThrowIOExceptionIfFileIsNoBinaryFixture() throws IOException {
+        // Given:
+        FileOutputStream out = new FileOutputStream(file);
+        out.write("no binary fixture at all".getBytes("UTF-8"));
+        out.close();
+
+        // When:
+        new BinaryFixtureDataProvider(file);
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWriteRowShouldThrowIllegalArgumentExceptionForUnsupportedType() throws IOException {
+        // Given:
+        BinaryFixtureWriter underTest = new BinaryFixtureWriter(new FileOutputStream(file));
+
+        // When:
+        try {
+            underTest.writeRow(new Object());
+        } finally {
+            underTest.close();
+        }
+
+        // Then: expect exception
+    }
+}
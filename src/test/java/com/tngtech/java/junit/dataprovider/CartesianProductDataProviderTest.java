@@ -0,0 +1,133 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class CartesianProductDataProviderTest {
+
+    @Before
+    public void setup() {
+        ProductTests.combinations.clear();
+    }
+
+    @Test
+    public void testRowShouldCombineRowsOfFactorsWithLastFactorVaryingFastest() {
+        // Given:
+        CartesianProductDataProvider underTest = CartesianProductDataProvider.of(new Object[][] { { "a", 1 },
+                { "b", 2 } }, new Object[][] { { true }, { false } }, new Object[][] { { 'x' }, { 'y' }, { 'z' } });
+
+        // When:
+        Object[] result = underTest.row(4);
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(12);
+        assertThat(result).containsExactly("a", 1, false, 'y');
+        assertThat(underTest.row(0)).containsExactly("a", 1, true, 'x');
+        assertThat(underTest.row(11)).containsExactly("b", 2, false, 'z');
+    }
+
+    @Test
+    public void testRowShouldOnlyRequestRowsOfFactorsForLargeProduct() {
+        // Given:
+        CartesianProductDataProvider underTest = new CartesianProductDataProvider(range(1000), range(1000), range(50));
+
+        // When:
+        Object[] result = underTest.row(49999999);
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(50000000);
+        assertThat(result).containsExactly(999, 999, 49);
+        assertThat(underTest.row(50 * 1000 + 50 + 1)).containsExactly(1, 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCartesianProductDataProviderShouldThrowIllegalArgumentExceptionIfProductIsTooLarge() {
+        // Given:
+
+        // When:
+        new CartesianProductDataProvider(range(100000), range(100000));
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCartesianProductDataProviderShouldThrowIllegalArgumentExceptionIfFactorIsEmpty() {
+        // Given:
+
+        // When:
+        CartesianProductDataProvider.of(new Object[][] { { 1 } }, new Object[0][]);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testRunShouldRunAllCombinationsOfProduct() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(ProductTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(12);
+        assertThat(ProductTests.combinations).hasSize(12).contains("chrome de 0", "firefox en 2");
+    }
+
+    @Test
+    public void testRunShouldRunSingleCombinationIfFiltered() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(ProductTests.class, "testProduct[6: chrome, en, 2]"));
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(ProductTests.combinations).containsExactly("chrome en 2");
+    }
+
+    private static IndexedDataProvider range(final int size) {
+        return new IndexedDataProvider() {
+            public int size() {
+                return size;
+            }
+
+            public Object[] row(int index) {
+                return new Object[] { index };
+            }
+        };
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class ProductTests {
+        static final List<String> combinations = new CopyOnWriteArrayList<String>();
+
+        @DataProvider
+        public static Object[][] dataProviderBrowsers() {
+            return new Object[][] { { "chrome" }, { "firefox" } };
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderLocales() {
+            return new Object[][] { { "de" }, { "en" } };
+        }
+
+        @DataProvider
+        public static IndexedDataProvider dataProviderPayloads = range(3);
+
+        @Test
+        @UseDataProvider(value = "dataProviderBrowsers", product = { "dataProviderLocales", "dataProviderPayloads" })
+        public void testProduct(String browser, String locale, int payload) {
+            combinations.add(browser + " " + locale + " " + payload);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class ColumnarDataProviderTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColumnShouldThrowIllegalArgumentExceptionIfLengthDoesNotMatch() {
+        // Given:
+        ColumnarDataProvider underTest = new ColumnarDataProvider(2);
+
+        // When:
+        underTest.column(new int[3]);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testRowShouldBoxValuesOfAllColumns() {
+        // Given:
+        ColumnarDataProvider underTest = new ColumnarDataProvider(2).column(new int[] { 1, 2 })
+                .column(new long[] { 3L, 4L }).column(new double[] { 5.5, 6.5 }).column(new boolean[] { true, false })
+                .column(new String[] { "a", null });
+
+        // When:
+        Object[] result = underTest.row(1);
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(result).isEqualTo(new Object[] { 2, 4L, 6.5, false, null });
+    }
+
+    @Test
+    public void testRunShouldRunAllRowsOfColumnarDataProvider() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(ColumnarTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(100);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class ColumnarTests {
+
+        @DataProvider
+        public static IndexedDataProvider dataProviderSquares() {
+            int[] numbers = new int[100];
+            long[] squares = new long[numbers.length];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = i;
+                squares[i] = (long) i * i;
+            }
+            return new ColumnarDataProvider(numbers.length).column(numbers).column(squares);
+        }
+
+        @Test
+        @UseDataProvider("dataProviderSquares")
+        public void testSquare(int number, long square) {
+            assertThat(square).isEqualTo((long) number * number);
+        }
+    }
+}
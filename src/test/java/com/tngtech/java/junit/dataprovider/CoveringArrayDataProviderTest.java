@@ -0,0 +1,172 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class CoveringArrayDataProviderTest {
+
+    @Before
+    public void setup() {
+        PairwiseTests.configurations.clear();
+    }
+
+    @Test
+    public void testGenerateShouldCoverAllPairsOfTwentyFactorsWithTenRowsEach() {
+        // Given:
+        int[] sizes = new int[20];
+        Arrays.fill(sizes, 10);
+
+        // When:
+        long start = System.nanoTime();
+        int[][] result = CoveringArrayDataProvider.generate(2, sizes);
+        long duration = System.nanoTime() - start;
+
+        // Then:
+        assertCovers(result, sizes, 2);
+        assertThat(result.length).isLessThan(250);
+        assertThat(duration).isLessThan(5000000000L);
+    }
+
+    @Test
+    public void testGenerateShouldCoverAllTriplesOfFactorsWithDifferentSizes() {
+        // Given:
+        int[] sizes = new int[] { 3, 2, 4, 3, 2, 3, 2 };
+
+        // When:
+        int[][] result = CoveringArrayDataProvider.generate(3, sizes);
+
+        // Then:
+        assertCovers(result, sizes, 3);
+        assertThat(result.length).isLessThan(3 * 2 * 4 * 3 * 2 * 3 * 2);
+    }
+
+    @Test
+    public void testGenerateShouldCoverEachRowOnceIfStrengthIsOne() {
+        // Given:
+        int[] sizes = new int[] { 3, 5, 2 };
+
+        // When:
+        int[][] result = CoveringArrayDataProvider.generate(1, sizes);
+
+        // Then:
+        assertCovers(result, sizes, 1);
+        assertThat(result.length).isEqualTo(5);
+    }
+
+    @Test
+    public void testRowShouldReturnFullProductIfStrengthIsNotLessThanNumberOfFactors() {
+        // Given:
+
+        // When:
+        CoveringArrayDataProvider underTest = CoveringArrayDataProvider.of(3, new Object[][] { { "a", 1 }, { "b", 2 } },
+                new Object[][] { { true }, { false } });
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(4);
+        assertThat(underTest.row(0)).containsExactly("a", 1, true);
+        assertThat(underTest.row(3)).containsExactly("b", 2, false);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCoveringArrayDataProviderShouldThrowIllegalArgumentExceptionIfStrengthIsNotPositive() {
+        // Given:
+
+        // When:
+        CoveringArrayDataProvider.of(0, new Object[][] { { 1 } });
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testRunShouldRunAllPairsOfDataProviders() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(PairwiseTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(PairwiseTests.configurations.size()).isLessThan(27);
+        Set<String> pairs = new HashSet<String>();
+        for (String configuration : PairwiseTests.configurations) {
+            String[] values = configuration.split(" ");
+            pairs.add(values[0] + " " + values[1] + " *");
+            pairs.add(values[0] + " * " + values[2]);
+            pairs.add("* " + values[1] + " " + values[2]);
+        }
+        assertThat(pairs).hasSize(3 * 9);
+    }
+
+    private static void assertCovers(int[][] rows, int[] sizes, int strength) {
+        int[] factors = new int[strength];
+        for (int i = 0; i < strength; i++) {
+            factors[i] = i;
+        }
+        while (true) {
+            Set<List<Integer>> combinations = new HashSet<List<Integer>>();
+            for (int[] row : rows) {
+                Integer[] combination = new Integer[strength];
+                for (int i = 0; i < strength; i++) {
+                    assertThat(row[factors[i]]).isGreaterThanOrEqualTo(0).isLessThan(sizes[factors[i]]);
+                    combination[i] = row[factors[i]];
+                }
+                combinations.add(Arrays.asList(combination));
+            }
+            int expected = 1;
+            for (int factor : factors) {
+                expected *= sizes[factor];
+            }
+            assertThat(combinations).as("combinations of factors " + Arrays.toString(factors)).hasSize(expected);
+
+            int i = strength - 1;
+            while (i >= 0 && factors[i] == sizes.length - strength + i) {
+                i--;
+            }
+            if (i < 0) {
+                return;
+            }
+            factors[i]++;
+            for (int j = i + 1; j < strength; j++) {
+                factors[j] = factors[j - 1] + 1;
+            }
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class PairwiseTests {
+        static final List<String> configurations = new CopyOnWriteArrayList<String>();
+
+        @DataProvider
+        public static Object[][] dataProviderBrowsers() {
+            return new Object[][] { { "chrome" }, { "firefox" }, { "safari" } };
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderLocales() {
+            return new Object[][] { { "de" }, { "en" }, { "fr" } };
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderDatabases() {
+            return new Object[][] { { "h2" }, { "mysql" }, { "oracle" } };
+        }
+
+        @Test
+        @UseDataProvider(value = "dataProviderBrowsers", product = { "dataProviderLocales", "dataProviderDatabases" },
+                strength = 2)
+        public void testPairwise(String browser, String locale, String database) {
+            configurations.add(browser + " " + locale + " " + database);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+
+public class DataProviderFileTest {
+
+    @Before
+    public void setup() {
+        FileTests.texts.clear();
+    }
+
+    @Test
+    public void testRunShouldRunAllRowsOfCsvFile() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(FileTests.class, "testAdd"));
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(3);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void testRunShouldRunAllRowsOfGzippedTsvFileWithQuotedValues() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(FileTests.class, "testStrings"));
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(4);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(FileTests.texts).containsExactly("tab\tin quotes", "", "say \"hi\"", null);
+    }
+
+    @Test
+    public void testGetDescriptionShouldNameExplodedTestMethodsByConvertedParameters() {
+        // Given:
+
+        // When:
+        Description result = Request.method(FileTests.class, "testAdd").getRunner().getDescription();
+
+        // Then:
+        assertThat(result.getChildren().get(2).getDisplayName()).isEqualTo(
+                "testAdd[3: -1, 1, 0](" + FileTests.class.getName() + ")");
+    }
+
+    @Test
+    public void testReadDataProviderFileShouldCloseFileIfEncodingIsUnsupported() throws Exception {
+        // Given:
+        final boolean[] stubbed = new boolean[1];
+        final boolean[] closed = new boolean[1];
+        DataProviderRunner runner = new DataProviderRunner(FileTests.class) {
+            @Override
+            InputStream openDataProviderFile(DataProviderFile dataProviderFile) throws IOException {
+                if (!stubbed[0]) {
+                    return super.openDataProviderFile(dataProviderFile);
+                }
+                return new ByteArrayInputStream("1,2,3".getBytes()) {
+                    @Override
+                    public void close() throws IOException {
+                        closed[0] = true;
+                        super.close();
+                    }
+                };
+            }
+        };
+        stubbed[0] = true;
+
+        FrameworkMethod testMethod = new FrameworkMethod(FileTests.class.getMethod("testAdd", int.class, int.class,
+                long.class));
+
+        DataProviderFile dataProviderFile = mock(DataProviderFile.class);
+        doReturn("add.csv").when(dataProviderFile).value();
+        doReturn(',').when(dataProviderFile).delimiter();
+        doReturn("no-such-encoding").when(dataProviderFile).encoding();
+
+        // When:
+        try {
+            runner.readDataProviderFile(testMethod, dataProviderFile);
+            fail("expected UnsupportedEncodingException");
+        } catch (UnsupportedEncodingException e) {
+            // expected
+        }
+
+        // Then:
+        assertThat(closed[0]).isTrue();
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class FileTests {
+        static final List<String> texts = new CopyOnWriteArrayList<String>();
+
+        enum Kind {
+            TEXT, EMPTY, NONE
+        }
+
+        @Test
+        @DataProviderFile(value = "add.csv", header = true)
+        public void testAdd(int a, int b, long expected) {
+            assertThat(a + b).isEqualTo((int) expected);
+        }
+
+        @Test
+        @DataProviderFile(value = "strings.tsv.gz", delimiter = '\t', header = true)
+        public void testStrings(String text, Integer length, Kind kind) {
+            assertThat((text == null) ? -1 : text.length()).isEqualTo(length);
+            assertThat(kind).isEqualTo((text == null) ? Kind.NONE : text.isEmpty() ? Kind.EMPTY : Kind.TEXT);
+            texts.add(text);
+        }
+    }
+}
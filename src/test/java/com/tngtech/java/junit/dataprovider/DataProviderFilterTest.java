@@ -228,6 +228,65 @@ public class DataProviderFilterTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void testShouldRunShouldReturnTrueWhenDescriptionHasEqualRowIdentifier() {
+
+        // Given:
+        setupDataProviderFilterWith("Method testMain[#00000000000000ab](Clazz)");
+        Description description = setupDescription(true, "testMain[3: test](Clazz)");
+        doReturn(setupRowIdentifier("00000000000000ab")).when(description).getAnnotation(RowIdentifier.class);
+
+        // When:
+        boolean result = underTest.shouldRun(description);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testShouldRunShouldReturnFalseWhenDescriptionHasDifferentRowIdentifier() {
+
+        // Given:
+        setupDataProviderFilterWith("Method testMain[#00000000000000ab](Clazz)");
+        Description description = setupDescription(true, "testMain[3: test](Clazz)");
+        doReturn(setupRowIdentifier("00000000000000cd")).when(description).getAnnotation(RowIdentifier.class);
+
+        // When:
+        boolean result = underTest.shouldRun(description);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testShouldRunShouldReturnFalseWhenDescriptionHasNoRowIdentifier() {
+
+        // Given:
+        setupDataProviderFilterWith("Method testMain[#00000000000000ab](Clazz)");
+        Description description = setupDescription(true, "testMain(Clazz)");
+
+        // When:
+        boolean result = underTest.shouldRun(description);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testShouldRunShouldReturnFalseWhenDescriptionHasEqualRowIdentifierButDifferentMethodName() {
+
+        // Given:
+        setupDataProviderFilterWith("Method testMain[#00000000000000ab](Clazz)");
+        Description description = setupDescription(true, "testOther[3: test](Clazz)");
+        doReturn(setupRowIdentifier("00000000000000ab")).when(description).getAnnotation(RowIdentifier.class);
+
+        // When:
+        boolean result = underTest.shouldRun(description);
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
     @Test
     public void testDescribeShouldReturnFilterDescripe() {
 
@@ -393,6 +452,12 @@ public class DataProviderFilterTest {
         return description;
     }
 
+    private RowIdentifier setupRowIdentifier(String value) {
+        RowIdentifier rowIdentifier = mock(RowIdentifier.class);
+        doReturn(value).when(rowIdentifier).value();
+        return rowIdentifier;
+    }
+
     private void assertThatMatcherGroupsAre(Matcher matcher, String... expectedGroups) {
         assertThat(matcher.groupCount()).as("group-count").isEqualTo(expectedGroups.length);
         for (int idx = 0; idx < expectedGroups.length; idx++) {
@@ -266,6 +266,98 @@ public class DataProviderFrameworkMethodTest {
         assertThat(result).isFalse();
     }
 
+    @Test
+    public void testGetIdentifierShouldBeEqualForEqualParametersAtDifferentIndices() {
+
+        // Given:
+        DataProviderFrameworkMethod m1 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { "a", 1, null });
+        DataProviderFrameworkMethod m2 = new DataProviderFrameworkMethod(anyMethod(), 2, new Object[] { "a", 1, null });
+
+        // When:
+        String result = m1.getIdentifier();
+
+        // Then:
+        assertThat(result).hasSize(16).isEqualTo(m2.getIdentifier());
+    }
+
+    @Test
+    public void testGetIdentifierShouldDifferForUnequalParamTypes() {
+
+        // Given:
+        DataProviderFrameworkMethod m1 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 14, 25L });
+        DataProviderFrameworkMethod m2 = new DataProviderFrameworkMethod(anyMethod(), 1, new Object[] { 14L, 25 });
+
+        // When:
+        String result = m1.getIdentifier();
+
+        // Then:
+        assertThat(result).isNotEqualTo(m2.getIdentifier());
+    }
+
+    @Test
+    public void testGetIdentifierShouldUseSuppliedParameterHasher() {
+
+        // Given:
+        ParameterHasher hasher = new ParameterHasher() {
+            public long hash(Object parameter) {
+                return 0xabcL;
+            }
+        };
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(anyMethod(), 1, 1,
+                new Object[] { "test" }, hasher);
+
+        // When:
+        String result = underTest.getIdentifier();
+
+        // Then:
+        assertThat(result).isEqualTo("0000000000000abc");
+    }
+
+    @Test
+    public void testGetNameShouldRequestParametersFromRowSource() {
+
+        // Given:
+        IndexedDataProvider rowSource = new IndexedDataProvider() {
+            public int size() {
+                return 3;
+            }
+
+            public Object[] row(int index) {
+                return new Object[] { "row" + index };
+            }
+        };
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(anyMethod(), 2, 3, rowSource,
+                new DefaultParameterHasher());
+
+        // When:
+        String result = underTest.getName();
+
+        // Then:
+        assertThat(result).isEqualTo("anyMethod[2: row1]");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetNameShouldThrowIllegalStateExceptionIfRowSourceReturnsNull() {
+
+        // Given:
+        IndexedDataProvider rowSource = new IndexedDataProvider() {
+            public int size() {
+                return 1;
+            }
+
+            public Object[] row(int index) {
+                return null;
+            }
+        };
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(anyMethod(), 1, 1, rowSource,
+                new DefaultParameterHasher());
+
+        // When:
+        underTest.getName();
+
+        // Then: expect exception
+    }
+
     private static Method anyMethod() {
         final Class<DataProviderFrameworkMethodTest> clazz = DataProviderFrameworkMethodTest.class;
         final String methodName = "anyMethod";
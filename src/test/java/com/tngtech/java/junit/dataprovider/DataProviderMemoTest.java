@@ -0,0 +1,266 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class DataProviderMemoTest {
+
+    private Method dataProvider;
+
+    @Before
+    public void setup() throws Exception {
+        dataProvider = SharedDataProviders.class.getMethod("dataProviderNumbers");
+        SharedDataProviders.invocations.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.MEMOIZATION);
+        System.clearProperty(DataProviderProperties.HEAP_BUDGET);
+    }
+
+    @Test
+    public void testRunShouldInvokeSharedDataProviderForEachTestMethodIfMemoizationIsDisabled() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(FirstTests.class, SecondTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(9);
+        assertThat(SharedDataProviders.invocations.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testRunShouldInvokeSharedDataProviderOncePerTestClassIfMemoizationScopeIsClass() {
+        // Given:
+        System.setProperty(DataProviderProperties.MEMOIZATION, "class");
+
+        // When:
+        Result result = new JUnitCore().run(FirstTests.class, SecondTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(9);
+        assertThat(SharedDataProviders.invocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRunShouldInvokeSharedDataProviderOnceIfMemoizationScopeIsJvm() {
+        // Given:
+        System.setProperty(DataProviderProperties.MEMOIZATION, "jvm");
+
+        // When:
+        Result result = new JUnitCore().run(FirstTests.class, SecondTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(9);
+        assertThat(SharedDataProviders.invocations.get()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    public void testRunShouldNotKeepResultMemoizedIfItsRowsAreSpilled() {
+        // Given:
+        System.setProperty(DataProviderProperties.MEMOIZATION, "class");
+        System.setProperty(DataProviderProperties.HEAP_BUDGET, "0");
+
+        // When:
+        Result result = new JUnitCore().run(FirstTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(6);
+        assertThat(SharedDataProviders.invocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRemoveShouldForgetLoadedEntry() throws Throwable {
+        // Given:
+        DataProviderMemo underTest = new DataProviderMemo(Long.MAX_VALUE, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+        underTest.get(dataProvider, null, countingLoader(loads));
+
+        // When:
+        underTest.remove(dataProvider, null);
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(0);
+        underTest.get(dataProvider, null, countingLoader(loads));
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGetShouldEvictLeastRecentlyUsedEntryIfMaxEntriesIsExceeded() throws Throwable {
+        // Given:
+        Method other = SharedDataProviders.class.getMethod("dataProviderOther");
+        DataProviderMemo underTest = new DataProviderMemo(1, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When:
+        underTest.get(dataProvider, null, countingLoader(loads));
+        underTest.get(other, null, countingLoader(loads));
+        underTest.get(dataProvider, null, countingLoader(loads));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(3);
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetShouldEvictEntriesIfMaxBytesIsExceeded() throws Throwable {
+        // Given:
+        DataProviderMemo underTest = new DataProviderMemo(Long.MAX_VALUE, 1);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When:
+        Object[][] result = underTest.get(dataProvider, null, countingLoader(loads));
+
+        // Then:
+        assertThat(result).isEqualTo(new Object[][] { { 1 } });
+        assertThat(underTest.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testGetShouldDistinguishTargets() throws Throwable {
+        // Given:
+        DataProviderMemo underTest = new DataProviderMemo(Long.MAX_VALUE, Long.MAX_VALUE);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When:
+        underTest.get(dataProvider, new Object(), countingLoader(loads));
+        underTest.get(dataProvider, new Object(), countingLoader(loads));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testGetShouldNotMemoizeFailures() throws Throwable {
+        // Given:
+        DataProviderMemo underTest = new DataProviderMemo(Long.MAX_VALUE, Long.MAX_VALUE);
+        final IllegalStateException exception = new IllegalStateException("failed");
+
+        // When:
+        try {
+            underTest.get(dataProvider, null, new DataProviderMemo.Loader() {
+                public Object[][] load() {
+                    throw exception;
+                }
+            });
+        } catch (IllegalStateException e) {
+            assertThat(e).isSameAs(exception);
+        }
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testGetShouldLoadOnlyOnceForConcurrentRequests() throws Exception {
+        // Given:
+        final DataProviderMemo underTest = new DataProviderMemo(Long.MAX_VALUE, Long.MAX_VALUE);
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // When:
+        List<Future<Object[][]>> futures = new ArrayList<Future<Object[][]>>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(new Callable<Object[][]>() {
+                    public Object[][] call() throws Exception {
+                        start.await();
+                        try {
+                            return underTest.get(dataProvider, null, new DataProviderMemo.Loader() {
+                                public Object[][] load() throws Throwable {
+                                    loads.incrementAndGet();
+                                    Thread.sleep(50);
+                                    return new Object[][] { { 1 } };
+                                }
+                            });
+                        } catch (Throwable t) {
+                            throw new Exception(t);
+                        }
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Object[][]> future : futures) {
+                assertThat(future.get()).isEqualTo(new Object[][] { { 1 } });
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    private DataProviderMemo.Loader countingLoader(final AtomicInteger loads) {
+        return new DataProviderMemo.Loader() {
+            public Object[][] load() {
+                loads.incrementAndGet();
+                return new Object[][] { { 1 } };
+            }
+        };
+    }
+
+    public static class SharedDataProviders {
+        static final AtomicInteger invocations = new AtomicInteger();
+
+        @DataProvider
+        public static Object[][] dataProviderNumbers() {
+            invocations.incrementAndGet();
+            return new Object[][] { { 1 }, { 2 }, { 3 } };
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderOther() {
+            return new Object[][] { { 4 } };
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class FirstTests {
+
+        @Test
+        @UseDataProvider(value = "dataProviderNumbers", location = SharedDataProviders.class)
+        public void testFirst(int number) {
+            assertThat(number).isPositive();
+        }
+
+        @Test
+        @UseDataProvider(value = "dataProviderNumbers", location = SharedDataProviders.class)
+        public void testSecond(int number) {
+            assertThat(number).isLessThan(4);
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class SecondTests {
+
+        @Test
+        @UseDataProvider(value = "dataProviderNumbers", location = SharedDataProviders.class)
+        public void testThird(int number) {
+            assertThat(number).isNotZero();
+        }
+    }
+}
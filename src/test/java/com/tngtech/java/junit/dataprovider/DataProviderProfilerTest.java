@@ -0,0 +1,119 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runners.model.FrameworkMethod;
+
+public class DataProviderProfilerTest {
+
+    private final Logger logger = Logger.getLogger(DataProviderProfiler.class.getName());
+    private final List<LogRecord> logRecords = new ArrayList<LogRecord>();
+
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+            logRecords.add(record);
+        }
+
+        @Override
+        public void flush() {
+            // nothing to do
+        }
+
+        @Override
+        public void close() {
+            // nothing to do
+        }
+    };
+
+    private FrameworkMethod testMethod;
+    private Method dataProvider;
+
+    @Before
+    public void setup() throws Exception {
+        logger.addHandler(handler);
+        testMethod = new FrameworkMethod(getClass().getMethod("setup"));
+        dataProvider = getClass().getMethod("tearDown");
+    }
+
+    @After
+    public void tearDown() {
+        logger.removeHandler(handler);
+    }
+
+    @Test
+    public void testTestMethodExplodedShouldLogWarningIfRowThresholdIsExceeded() {
+
+        // Given:
+        DataProviderProfiler underTest = new DataProviderProfiler(1000, 2, Long.MAX_VALUE);
+        underTest.dataProviderInvoked(testMethod, dataProvider, new Object[][] { { 1 }, { 2, 3 }, { 4 } }, 5000000);
+
+        // When:
+        underTest.testMethodExploded(testMethod, 3, 6000000);
+
+        // Then:
+        assertThat(logRecords).hasSize(1);
+        assertThat(logRecords.get(0).getLevel()).isEqualTo(Level.WARNING);
+        assertThat(logRecords.get(0).getMessage()).contains("'tearDown'").contains(".setup:").contains(
+                "invocation 5 ms, explosion 6 ms, 3 rows, arity 1..2").contains("exceeds threshold");
+    }
+
+    @Test
+    public void testTestMethodExplodedShouldNotLogWarningIfNoThresholdIsExceeded() {
+
+        // Given:
+        DataProviderProfiler underTest = new DataProviderProfiler(1000, 10, Long.MAX_VALUE);
+        underTest.dataProviderInvoked(testMethod, dataProvider, new Object[][] { { 1 } }, 1000);
+
+        // When:
+        underTest.testMethodExploded(testMethod, 1, 2000);
+
+        // Then:
+        for (LogRecord logRecord : logRecords) {
+            assertThat(logRecord.getLevel()).isNotEqualTo(Level.WARNING);
+        }
+    }
+
+    @Test
+    public void testIsExceedingThresholdShouldReturnTrueIfEstimatedBytesExceedThreshold() {
+
+        // Given:
+        DataProviderProfiler underTest = new DataProviderProfiler(1000, 10, 100);
+
+        DataProviderProfiler.Profile profile = new DataProviderProfiler.Profile(testMethod.getMethod(), "test");
+        profile.estimatedBytes = ObjectSizeEstimator.estimate(new Object[][] { { new byte[200] } });
+
+        // When:
+        boolean result = underTest.isExceedingThreshold(profile);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testIsExceedingThresholdShouldReturnTrueIfLatencyExceedsThreshold() {
+
+        // Given:
+        DataProviderProfiler underTest = new DataProviderProfiler(1000, 10, Long.MAX_VALUE);
+
+        DataProviderProfiler.Profile profile = new DataProviderProfiler.Profile(testMethod.getMethod(), "test");
+        profile.invocationNanos = 1001000000L;
+
+        // When:
+        boolean result = underTest.isExceedingThreshold(profile);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+}
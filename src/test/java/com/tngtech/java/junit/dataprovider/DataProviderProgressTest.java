@@ -0,0 +1,161 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.model.FrameworkMethod;
+
+public class DataProviderProgressTest {
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.JMX);
+    }
+
+    @Test
+    public void testGetRowsShouldAggregateCountersOfAllMethods() throws Exception {
+
+        // Given:
+        DataProviderMethodsList methodsList = setupMethodsList(3);
+        FrameworkMethod first = methodsList.getListOfComputedMethods().get(0);
+
+        methodsList.testStartedForMethodName(first);
+        methodsList.testFinishedForMethodName(first, true);
+        methodsList.testStartedForMethodName(first);
+
+        DataProviderProgress underTest = new DataProviderProgress(methodsList, methodsList.getFullMethodNames());
+
+        // When:
+        int result = underTest.getTotalRows();
+
+        // Then:
+        assertThat(result).isEqualTo(3);
+        assertThat(underTest.getCompletedRows()).isEqualTo(1);
+        assertThat(underTest.getFailedRows()).isEqualTo(1);
+        assertThat(underTest.getInFlightRows()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGetEstimatedSecondsRemainingShouldReturnMinusOneIfNothingCompleted() throws Exception {
+
+        // Given:
+        DataProviderMethodsList methodsList = setupMethodsList(2);
+        DataProviderProgress underTest = new DataProviderProgress(methodsList, methodsList.getFullMethodNames());
+
+        // When:
+        long result = underTest.getEstimatedSecondsRemaining();
+
+        // Then:
+        assertThat(result).isEqualTo(-1);
+        assertThat(underTest.getRowsPerSecond()).isEqualTo(0.0);
+    }
+
+    @Test
+    public void testGetEstimatedSecondsRemainingShouldReturnZeroIfAllCompleted() throws Exception {
+
+        // Given:
+        DataProviderMethodsList methodsList = setupMethodsList(2);
+        for (FrameworkMethod method : methodsList.getListOfComputedMethods()) {
+            methodsList.testStartedForMethodName(method);
+            methodsList.testFinishedForMethodName(method, false);
+        }
+        DataProviderProgress underTest = new DataProviderProgress(methodsList, methodsList.getFullMethodNames());
+
+        // When:
+        long result = underTest.getEstimatedSecondsRemaining();
+
+        // Then:
+        assertThat(result).isEqualTo(0);
+        assertThat(underTest.getRowsPerSecond()).isGreaterThan(0.0);
+    }
+
+    @Test
+    public void testDataProviderRunnerShouldRegisterProgressMBeansWhileRunning() {
+
+        // Given:
+        System.setProperty(DataProviderProperties.JMX, "true");
+        ProgressTests.inFlightRows.clear();
+
+        // When:
+        Result result = JUnitCore.runClasses(ProgressTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(ProgressTests.inFlightRows).containsExactly(1, 1);
+        assertThat(ManagementFactory.getPlatformMBeanServer().queryNames(ProgressTests.classObjectName(), null))
+                .isEmpty();
+    }
+
+    @Test
+    public void testDataProviderRunnerShouldNotTrackProgressIfJmxIsDisabled() throws Exception {
+
+        // Given:
+        ProgressTests.inFlightRows.clear();
+        DataProviderRunner underTest = new DataProviderRunner(ProgressTests.class);
+
+        // When:
+        underTest.run(new RunNotifier());
+
+        // Then:
+        String fullMethodName = underTest.computedTestMethods.getFullMethodNames().iterator().next();
+        assertThat(underTest.computedTestMethods.getCounterForFullMethodName(fullMethodName).getCompleted())
+                .isEqualTo(0);
+        assertThat(underTest.computedTestMethods.getCounterForFullMethodName(fullMethodName).getFirstStartNanos())
+                .isNull();
+    }
+
+    private DataProviderMethodsList setupMethodsList(int rows) throws Exception {
+        Method method = getClass().getMethod("tearDown");
+        List<FrameworkMethod> methods = new ArrayList<FrameworkMethod>();
+        for (int i = 1; i <= rows; i++) {
+            methods.add(new DataProviderFrameworkMethod(method, i, new Object[] { i }));
+        }
+
+        DataProviderMethodsList result = new DataProviderMethodsList();
+        result.setListOfComputedMethods(methods);
+        return result;
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class ProgressTests {
+        static final List<Object> inFlightRows = new ArrayList<Object>();
+
+        static ObjectName classObjectName() {
+            try {
+                return new ObjectName(DataProviderRunner.PROGRESS_MBEAN_DOMAIN
+                        + ":type=DataProviderProgress,class=" + ProgressTests.class.getName());
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderNumbers() {
+            return new Object[][] { { 1 }, { 2 } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderNumbers")
+        public void testNumber(int number) throws Exception {
+            if (System.getProperty(DataProviderProperties.JMX) != null) {
+                MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+                ObjectName objectName = new ObjectName(classObjectName() + ",method=testNumber");
+                inFlightRows.add(mBeanServer.getAttribute(objectName, "InFlightRows"));
+                assertThat(mBeanServer.getAttribute(objectName, "TotalRows")).isEqualTo(2);
+            }
+        }
+    }
+}
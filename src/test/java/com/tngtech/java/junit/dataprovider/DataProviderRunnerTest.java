@@ -125,10 +125,32 @@ public class DataProviderRunnerTest {
 
         // Then:
         verify(testMethod).getAnnotation(UseDataProvider.class);
+        verify(testMethod).getAnnotation(DataProviderFile.class);
+        verify(testMethod).getAnnotation(DataProvider.class);
         verify(testMethod).validatePublicVoidNoArg(false, errors);
         verifyNoMoreInteractions(testMethod);
     }
 
+    @Test
+    public void testValidateTestMethodsShouldCheckForPublicVoidIfDataProviderFileTestMethod() {
+
+        // Given:
+        FrameworkMethod testMethod = mock(FrameworkMethod.class);
+        DataProviderFile dataProviderFile = mock(DataProviderFile.class);
+
+        doReturn(asList(testMethod)).when(testClass).getAnnotatedMethods(Test.class);
+        doReturn(null).when(testMethod).getAnnotation(UseDataProvider.class);
+        doReturn(dataProviderFile).when(testMethod).getAnnotation(DataProviderFile.class);
+
+        List<Throwable> errors = new ArrayList<Throwable>();
+
+        // When:
+        underTest.validateTestMethods(errors);
+
+        // Then:
+        verify(testMethod).validatePublicVoid(false, errors);
+    }
+
     @Test
     public void testValidateTestMethodsShouldCheckForPublicVoidIfDataProviderTestMethod() {
 
@@ -237,6 +259,58 @@ public class DataProviderRunnerTest {
         assertThat(errors).isEmpty();
     }
 
+    @Test
+    public void testValidateDataProviderMethodsShouldAddErrorIfParameterHasherCannotBeInstantiated() {
+
+        // Given:
+        FrameworkMethod testMethod = mock(FrameworkMethod.class);
+        FrameworkMethod dataProviderMethod = mock(FrameworkMethod.class);
+        UseDataProvider useDataProvider = mock(UseDataProvider.class);
+
+        doReturn(asList(testMethod)).when(testClass).getAnnotatedMethods(UseDataProvider.class);
+        doReturn(dataProviderMethod).when(underTest).getDataProviderMethod(testMethod);
+        doReturn(useDataProvider).when(testMethod).getAnnotation(UseDataProvider.class);
+        doReturn("testMethod").when(testMethod).getName();
+        doReturn(NonInstantiableParameterHasher.class).when(useDataProvider).hasher();
+        doReturn(true).when(underTest).isValidDataProvider(dataProviderMethod);
+
+        List<Throwable> errors = new ArrayList<Throwable>();
+
+        // When:
+        underTest.validateDataProviderObjects(errors);
+
+        // Then:
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).getMessage()).contains("testMethod").containsIgnoringCase(
+                "parameter hasher");
+    }
+
+    @Test
+    public void testValidateDataProviderMethodsShouldAddErrorIfStrengthIsGivenWithoutProduct() {
+
+        // Given:
+        FrameworkMethod testMethod = mock(FrameworkMethod.class);
+        FrameworkMethod dataProviderMethod = mock(FrameworkMethod.class);
+        UseDataProvider useDataProvider = mock(UseDataProvider.class);
+
+        doReturn(asList(testMethod)).when(testClass).getAnnotatedMethods(UseDataProvider.class);
+        doReturn(dataProviderMethod).when(underTest).getDataProviderMethod(testMethod);
+        doReturn(useDataProvider).when(testMethod).getAnnotation(UseDataProvider.class);
+        doReturn("testMethod").when(testMethod).getName();
+        doReturn(2).when(useDataProvider).strength();
+        doReturn(new String[0]).when(useDataProvider).product();
+        doReturn(true).when(underTest).isValidDataProvider(dataProviderMethod);
+
+        List<Throwable> errors = new ArrayList<Throwable>();
+
+        // When:
+        underTest.validateDataProviderObjects(errors);
+
+        // Then:
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).getMessage()).contains("testMethod").containsIgnoringCase("strength");
+    }
+
     @Test
     public void testGenerateExplodedTestMethodsForShouldReturnEmptyListIfArgumentIsNull() {
 
@@ -491,6 +565,21 @@ public class DataProviderRunnerTest {
         assertThat(result).isTrue();
     }
 
+    @Test
+    public void testisValidDataProviderShouldReturnTrueIfItIsPublicStaticNoArgAndReturnsIndexedDataProvider() {
+
+        // Given:
+        FrameworkMethod dataProviderMethod = mock(FrameworkMethod.class);
+
+        doReturn(getMethod("validIndexedDataProviderMethod")).when(dataProviderMethod).getMethod();
+
+        // When:
+        boolean result = underTest.isValidDataProvider(dataProviderMethod);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
     @Test(expected = Error.class)
     public void testExplodeTestMethodsShouldThrowErrorIfDataProviderMethodThrowsException() throws Throwable {
 
@@ -624,4 +713,15 @@ public class DataProviderRunnerTest {
         return null;
     }
 
+    public static IndexedDataProvider validIndexedDataProviderMethod() {
+        return null;
+    }
+
+    // Parameter hasher used to test validateDataProviderObjects
+    static class NonInstantiableParameterHasher extends DefaultParameterHasher {
+        private NonInstantiableParameterHasher() {
+            // not instantiable reflectively
+        }
+    }
+
 }
@@ -0,0 +1,127 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.annotation.ElementType;
+
+import org.junit.Test;
+
+public class DefaultParameterHasherTest {
+
+    private final DefaultParameterHasher underTest = new DefaultParameterHasher();
+
+    @Test
+    public void testHashShouldReturnSameValueForEqualStrings() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash(new String("test"));
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.hash("test"));
+    }
+
+    @Test
+    public void testHashShouldReturnStableValueForString() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash("test");
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.hash("test")).isNotEqualTo(underTest.hash("tesT"));
+    }
+
+    @Test
+    public void testHashShouldDifferForNullAndNullString() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash(null);
+
+        // Then:
+        assertThat(result).isNotEqualTo(underTest.hash("null"));
+    }
+
+    @Test
+    public void testHashShouldDifferForEqualValuesOfDifferentTypes() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash(1);
+
+        // Then:
+        assertThat(result).isNotEqualTo(underTest.hash(1L)).isNotEqualTo(underTest.hash("1"));
+    }
+
+    @Test
+    public void testHashShouldRespectOrderOfArrayElements() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash(new Object[] { 1, 2 });
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.hash(new Object[] { 1, 2 })).isNotEqualTo(
+                underTest.hash(new Object[] { 2, 1 }));
+    }
+
+    @Test
+    public void testHashShouldReturnSameValueForEqualPrimitiveArrays() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash(new byte[] { 1, 2, 3 });
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.hash(new byte[] { 1, 2, 3 })).isNotEqualTo(
+                underTest.hash(new byte[] { 1, 2 }));
+    }
+
+    @Test
+    public void testHashShouldUseNameOfEnum() {
+
+        // Given:
+
+        // When:
+        long result = underTest.hash(ElementType.FIELD);
+
+        // Then:
+        assertThat(result).isEqualTo(underTest.hash(ElementType.valueOf("FIELD"))).isNotEqualTo(
+                underTest.hash(ElementType.METHOD));
+    }
+
+    @Test
+    public void testIsHashedByValueShouldReturnTrueForKnownTypesAndArraysThereof() {
+
+        // Given:
+        Object[] parameters = new Object[] { null, "a", 1, 2L, 'c', true, ElementType.FIELD, String.class,
+                new int[] { 1 }, new String[][] { { "b" } } };
+
+        // When:
+        boolean result = underTest.isHashedByValue(parameters);
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testIsHashedByValueShouldReturnFalseForOtherTypesAlsoWithinArrays() {
+
+        // Given:
+
+        // When:
+        boolean result = underTest.isHashedByValue(new Object());
+
+        // Then:
+        assertThat(result).isFalse();
+        assertThat(underTest.isHashedByValue(new Object[] { "a", new Object[] { new StringBuilder("b") } }))
+                .isFalse();
+    }
+}
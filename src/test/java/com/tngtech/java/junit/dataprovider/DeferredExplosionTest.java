@@ -0,0 +1,225 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+
+public class DeferredExplosionTest {
+
+    @Before
+    public void setup() {
+        System.setProperty(DataProviderProperties.DEFERRED_EXPLOSION, "true");
+        DeferredTests.invocations.set(0);
+        DeferredTests.numbers.clear();
+        SizedTests.events.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.DEFERRED_EXPLOSION);
+        System.clearProperty(SizedTests.SIZE_PROPERTY);
+    }
+
+    @Test
+    public void testGetDescriptionShouldNotInvokeDataProvider() {
+        // Given:
+        Runner runner = Request.aClass(DeferredTests.class).getRunner();
+
+        // When:
+        Description result = runner.getDescription();
+
+        // Then:
+        assertThat(DeferredTests.invocations.get()).isEqualTo(0);
+        assertThat(result.getChildren()).hasSize(2);
+        assertThat(runner.testCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testRunShouldNotInvokeDataProviderOfFilteredTestMethod() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(DeferredTests.class, "testPlain"));
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(DeferredTests.invocations.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testRunShouldExplodeAndRunAllRowsWhenTestMethodIsReached() {
+        // Given:
+        Runner runner = Request.aClass(DeferredTests.class).getRunner();
+
+        // When:
+        Result result = new JUnitCore().run(runner);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(4);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(DeferredTests.invocations.get()).isEqualTo(1);
+        assertThat(DeferredTests.numbers).containsExactly(1, 2, 3);
+        for (Description child : runner.getDescription().getChildren()) {
+            assertThat(child.getChildren()).hasSize(child.getDisplayName().startsWith("testNumber") ? 3 : 0);
+        }
+    }
+
+    @Test
+    public void testRunShouldOnlyRunFilteredRow() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(DeferredTests.class, "testNumber[2: 2]"));
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(DeferredTests.numbers).containsExactly(2);
+    }
+
+    @Test
+    public void testRunShouldReportFailingDataProviderAsFailureOfTestMethod() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(FailingDeferredTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(result.getFailures().get(0).getDescription().getDisplayName()).isEqualTo(
+                "testNumber(" + FailingDeferredTests.class.getName() + ")");
+    }
+
+    @Test
+    public void testTestCountShouldUseDeclaredSizeWithoutInvokingDataProvider() {
+        // Given:
+        System.setProperty(SizedTests.SIZE_PROPERTY, "1000000");
+        Runner runner = Request.aClass(SizedTests.class).getRunner();
+
+        // When:
+        int result = runner.testCount();
+
+        // Then:
+        assertThat(result).isEqualTo(1000000);
+        assertThat(SizedTests.events).isEmpty();
+    }
+
+    @Test
+    public void testTestCountShouldCountSingleTestIfFilteredByRow() {
+        // Given:
+        Runner runner = Request.method(SizedTests.class, "testSized[2: 1]").getRunner();
+
+        // When:
+        int result = runner.testCount();
+
+        // Then:
+        assertThat(result).isEqualTo(1);
+        assertThat(SizedTests.events).isEmpty();
+    }
+
+    @Test
+    public void testRunShouldInvokeHooksOfSizedDataProviderOnceForAllRows() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(SizedTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(3);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(SizedTests.events).containsExactly("provide", "beforeAll", "test", "test", "test", "afterAll");
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class DeferredTests {
+        static final AtomicInteger invocations = new AtomicInteger();
+        static final List<Integer> numbers = new CopyOnWriteArrayList<Integer>();
+
+        @DataProvider
+        public static Object[][] dataProviderNumbers() {
+            invocations.incrementAndGet();
+            return new Object[][] { { 1 }, { 2 }, { 3 } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderNumbers")
+        public void testNumber(int number) {
+            numbers.add(number);
+        }
+
+        @Test
+        public void testPlain() {
+            // nothing to do
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class FailingDeferredTests {
+
+        @DataProvider
+        public static Object[][] dataProviderFailing() {
+            if (System.getProperty(DataProviderProperties.DEFERRED_EXPLOSION) == null) {
+                return new Object[][] { { 1 } };
+            }
+            throw new IllegalStateException("failing data provider");
+        }
+
+        @Test
+        @UseDataProvider("dataProviderFailing")
+        public void testNumber(int number) {
+            // nothing to do
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class SizedTests {
+        static final String SIZE_PROPERTY = "junit.dataprovider.test.size";
+        static final List<String> events = new CopyOnWriteArrayList<String>();
+
+        @DataProvider
+        public static SizedDataProvider dataProviderSized = new SizedDataProvider() {
+            @Override
+            public int size() {
+                return Integer.parseInt(System.getProperty(SIZE_PROPERTY, "3"));
+            }
+
+            @Override
+            public Object[][] provide() {
+                events.add("provide");
+                Object[][] result = new Object[size()][];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = new Object[] { i };
+                }
+                return result;
+            }
+
+            @Override
+            public void beforeAll() {
+                events.add("beforeAll");
+            }
+
+            @Override
+            public void afterAll() {
+                events.add("afterAll");
+            }
+        };
+
+        @Test
+        @UseDataProvider("dataProviderSized")
+        public void testSized(int number) {
+            events.add("test");
+        }
+    }
+}
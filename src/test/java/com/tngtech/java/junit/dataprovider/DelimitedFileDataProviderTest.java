@@ -0,0 +1,110 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DelimitedFileDataProviderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testRowShouldParseAndConvertRowAtItsOffset() throws Exception {
+        // Given:
+        File file = write("text,number\n\n\u00e4\u20ac,1\n\"multi\nline \u00e4\",2\n\n\ud834\udd1e,3", "UTF-8");
+
+        // When:
+        DelimitedFileDataProvider underTest = DelimitedFileDataProvider.index(file, dataProviderFile(true, "UTF-8"),
+                converter());
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(3);
+        assertThat(underTest.row(2)).isEqualTo(new Object[] { "\ud834\udd1e", 3 });
+        assertThat(underTest.row(0)).isEqualTo(new Object[] { "\u00e4\u20ac", 1 });
+        assertThat(underTest.row(1)).isEqualTo(new Object[] { "multi\nline \u00e4", 2 });
+        underTest.close();
+    }
+
+    @Test
+    public void testRowShouldSupportSingleByteCharset() throws Exception {
+        // Given:
+        File file = write("\u00e4,1\r\n\u00f6,2\r\n", "ISO-8859-1");
+
+        // When:
+        DelimitedFileDataProvider underTest = DelimitedFileDataProvider.index(file,
+                dataProviderFile(false, "ISO-8859-1"), converter());
+
+        // Then:
+        assertThat(underTest.size()).isEqualTo(2);
+        assertThat(underTest.row(1)).isEqualTo(new Object[] { "\u00f6", 2 });
+        underTest.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testIndexShouldThrowIllegalArgumentExceptionIfRowCannotBeConverted() throws Exception {
+        // Given:
+        File file = write("a,1\nb,x\n", "UTF-8");
+
+        // When:
+        DelimitedFileDataProvider.index(file, dataProviderFile(false, "UTF-8"), converter());
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testIsSupportedShouldReturnFalseForGzippedFilesAndMultiByteCharsets() throws Exception {
+        // Given:
+        File file = write("a,1\n", "UTF-8");
+        File gzipped = temporaryFolder.newFile("rows.csv.gz");
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(gzipped));
+        out.write("a,1\n".getBytes("UTF-8"));
+        out.close();
+
+        // When:
+        boolean result = DelimitedFileDataProvider.isSupported(file, "UTF-8");
+
+        // Then:
+        assertThat(result).isTrue();
+        assertThat(DelimitedFileDataProvider.isSupported(gzipped, "UTF-8")).isFalse();
+        assertThat(DelimitedFileDataProvider.isSupported(file, "UTF-16")).isFalse();
+        assertThat(DelimitedFileDataProvider.isSupported(file, "no-such-encoding")).isFalse();
+    }
+
+    public void rowMethod(String text, int number) {
+        // only used for its parameter types
+    }
+
+    private File write(String content, String encoding) throws IOException {
+        File result = temporaryFolder.newFile("rows-" + temporaryFolder.getRoot().list().length + ".csv");
+        OutputStream out = new FileOutputStream(result);
+        try {
+            out.write(content.getBytes(encoding));
+        } finally {
+            out.close();
+        }
+        return result;
+    }
+
+    private DataProviderFile dataProviderFile(boolean header, String encoding) {
+        DataProviderFile result = mock(DataProviderFile.class);
+        doReturn(',').when(result).delimiter();
+        doReturn(header).when(result).header();
+        doReturn(encoding).when(result).encoding();
+        return result;
+    }
+
+    private ParameterConverter converter() throws NoSuchMethodException {
+        return new ParameterConverter(getClass().getMethod("rowMethod", String.class, int.class));
+    }
+}
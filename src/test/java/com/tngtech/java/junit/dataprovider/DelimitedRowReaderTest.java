@@ -0,0 +1,67 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+public class DelimitedRowReaderTest {
+
+    @Test
+    public void testReadRowShouldTrimValuesAndSkipBlankLines() throws IOException {
+        // Given:
+        DelimitedRowReader underTest = new DelimitedRowReader(new StringReader(" a , b,c\r\n\n   \n1,,2"), ',');
+
+        // When:
+        String first = underTest.readRow().toString();
+        String second = underTest.readRow().toString();
+
+        // Then:
+        assertThat(first).isEqualTo("[a, b, c]");
+        assertThat(second).isEqualTo("[1, , 2]");
+        assertThat(underTest.readRow()).isNull();
+    }
+
+    @Test
+    public void testReadRowShouldKeepQuotedValuesIncludingDelimitersLineBreaksAndQuotes() throws IOException {
+        // Given:
+        DelimitedRowReader underTest = new DelimitedRowReader(new StringReader("\" a;\n\"\"b\"\" \" ; \"\"\n"), ';');
+
+        // When:
+        String result = underTest.readRow().toString();
+
+        // Then:
+        assertThat(result).isEqualTo("[ a;\n\"b\" , ]");
+        assertThat(underTest.readRow()).isNull();
+    }
+
+    @Test
+    public void testGetByteOffsetShouldCountUtf8BytesOfConsumedRows() throws IOException {
+        // Given:
+        DelimitedRowReader underTest = new DelimitedRowReader(new StringReader("\u00e4,\u20ac\n\n\ud834\udd1e\n"),
+                ',', true);
+
+        // When:
+        underTest.readRow();
+        long first = underTest.getByteOffset();
+        underTest.readRow();
+        long second = underTest.getByteOffset();
+
+        // Then:
+        assertThat(first).isEqualTo(2 + 1 + 3 + 1);
+        assertThat(second).isEqualTo(first + 1 + 4 + 1);
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadRowShouldThrowIOExceptionForUnterminatedQuote() throws IOException {
+        // Given:
+        DelimitedRowReader underTest = new DelimitedRowReader(new StringReader("a,\"b"), ',');
+
+        // When:
+        underTest.readRow();
+
+        // Then: expect exception
+    }
+}
@@ -0,0 +1,177 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+
+public class IndexedDataProviderTest {
+
+    @Before
+    public void setup() {
+        IndexedTests.requestedRows.clear();
+        IndexedTests.squares.clear();
+        RecordingRunner.invokedDataProviders.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.DEFERRED_EXPLOSION);
+    }
+
+    @Test
+    public void testRunShouldRunAllRowsOfIndexedDataProviderMethodAndField() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(IndexedTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(8);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(IndexedTests.squares).containsExactly(0, 1, 4, 9, 16);
+    }
+
+    @Test
+    public void testRunShouldOnlyRequestFilteredRowIfExplosionIsDeferred() {
+        // Given:
+        System.setProperty(DataProviderProperties.DEFERRED_EXPLOSION, "true");
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(IndexedTests.class, "testSquare[4: 3, 9]"));
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(new HashSet<Integer>(IndexedTests.requestedRows)).containsOnly(3);
+        assertThat(IndexedTests.squares).containsExactly(9);
+    }
+
+    @Test
+    public void testTestCountShouldUseSizeOfIndexedDataProviderFieldWithoutRequestingRows() {
+        // Given:
+        System.setProperty(DataProviderProperties.DEFERRED_EXPLOSION, "true");
+        Runner runner = Request.method(IndexedTests.class, "testField").getRunner();
+
+        // When:
+        int result = runner.testCount();
+
+        // Then:
+        assertThat(result).isEqualTo(3);
+        assertThat(IndexedTests.requestedRows).isEmpty();
+    }
+
+    @Test
+    public void testRunShouldOnlyNotifyListenersAboutInvokedDataProviderMethods() throws Exception {
+        // Given:
+        Runner runner = new RecordingRunner(IndexedTests.class);
+
+        // When:
+        Result result = new JUnitCore().run(Request.runner(runner));
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(RecordingRunner.invokedDataProviders).containsOnly("dataProviderSquares");
+    }
+
+    @Test
+    public void testRunShouldNameNullIndexedDataProviderFieldInFailure() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(NullFieldTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(result.getFailures().get(0).getException().getMessage()).contains("'dataProviderNull'");
+    }
+
+    public static class RecordingRunner extends DataProviderRunner {
+        static final List<String> invokedDataProviders = new CopyOnWriteArrayList<String>();
+
+        public RecordingRunner(Class<?> clazz) throws InitializationError {
+            super(clazz);
+        }
+
+        @Override
+        protected List<DataProviderRunnerListener> createListeners() {
+            List<DataProviderRunnerListener> result = super.createListeners();
+            result.add(new DataProviderRunnerListener() {
+                @Override
+                public void dataProviderInvocationStarted(FrameworkMethod testMethod, Method dataProvider) {
+                    invokedDataProviders.add(dataProvider.getName());
+                }
+            });
+            return result;
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class NullFieldTests {
+        @DataProvider
+        public static IndexedDataProvider dataProviderNull = null;
+
+        @Test
+        @UseDataProvider("dataProviderNull")
+        public void testNull(String row) {
+            // not executed
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class IndexedTests {
+        static final List<Integer> requestedRows = new CopyOnWriteArrayList<Integer>();
+        static final List<Integer> squares = new CopyOnWriteArrayList<Integer>();
+
+        @DataProvider
+        public static IndexedDataProvider dataProviderSquares() {
+            return new IndexedDataProvider() {
+                public int size() {
+                    return 5;
+                }
+
+                public Object[] row(int index) {
+                    requestedRows.add(index);
+                    return new Object[] { index, index * index };
+                }
+            };
+        }
+
+        @DataProvider
+        public static IndexedDataProvider dataProviderField = new IndexedDataProvider() {
+            public int size() {
+                return 3;
+            }
+
+            public Object[] row(int index) {
+                return new Object[] { "row" + index };
+            }
+        };
+
+        @Test
+        @UseDataProvider("dataProviderSquares")
+        public void testSquare(int number, int square) {
+            assertThat(square).isEqualTo(number * number);
+            squares.add(square);
+        }
+
+        @Test
+        @UseDataProvider("dataProviderField")
+        public void testField(String row) {
+            assertThat(row).startsWith("row");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.Runner;
+import org.junit.runners.model.FrameworkMethod;
+
+public class InlineDataProviderTest {
+
+    @Before
+    public void setup() {
+        InlineTests.words.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.DEFERRED_EXPLOSION);
+    }
+
+    @Test
+    public void testRunShouldRunAllInlineRows() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(InlineTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(5);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(InlineTests.words).containsExactly("a;b", null);
+    }
+
+    @Test
+    public void testRunShouldOnlyRunFilteredInlineRowIfExplosionIsDeferred() {
+        // Given:
+        System.setProperty(DataProviderProperties.DEFERRED_EXPLOSION, "true");
+
+        // When:
+        Result result = new JUnitCore().run(Request.method(InlineTests.class, "testWords[2: null, 0]"));
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(1);
+        assertThat(InlineTests.words).containsExactly((String) null);
+    }
+
+    @Test
+    public void testTestCountShouldCountInlineRowsIfExplosionIsDeferred() {
+        // Given:
+        System.setProperty(DataProviderProperties.DEFERRED_EXPLOSION, "true");
+        Runner runner = Request.aClass(InlineTests.class).getRunner();
+
+        // When:
+        int result = runner.testCount();
+
+        // Then:
+        assertThat(result).isEqualTo(5);
+    }
+
+    @Test
+    public void testGetInlineRowsShouldParseAndConvertRowsOnlyOnce() throws Exception {
+        // Given:
+        DataProviderRunner underTest = new DataProviderRunner(InlineTests.class);
+        FrameworkMethod testMethod = new FrameworkMethod(InlineTests.class.getMethod("testAdd", int.class, int.class,
+                long.class));
+
+        // When:
+        Object[][] result = underTest.getInlineRows(testMethod);
+
+        // Then:
+        assertThat(result).isEqualTo(new Object[][] { { 1, 2, 3L }, { 4, 5, 9L }, { -1, 1, 0L } });
+        assertThat(underTest.getInlineRows(testMethod)).isSameAs(result);
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class InlineTests {
+        static final List<String> words = new CopyOnWriteArrayList<String>();
+
+        @Test
+        @DataProvider({ "1, 2, 3", "4, 5, 9", "-1, 1, 0" })
+        public void testAdd(int a, int b, long expected) {
+            assertThat(a + b).isEqualTo((int) expected);
+        }
+
+        @Test
+        @DataProvider(value = { "\"a;b\"; 3", "null; 0" }, delimiter = ';')
+        public void testWords(String word, int length) {
+            assertThat((word == null) ? 0 : word.length()).isEqualTo(length);
+            words.add(word);
+        }
+    }
+}
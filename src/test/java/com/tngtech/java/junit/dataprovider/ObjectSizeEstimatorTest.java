@@ -0,0 +1,75 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ObjectSizeEstimatorTest {
+
+    @Test
+    public void testEstimateShouldReturnZeroForNull() {
+
+        // Given:
+
+        // When:
+        long result = ObjectSizeEstimator.estimate(null);
+
+        // Then:
+        assertThat(result).isEqualTo(0);
+    }
+
+    @Test
+    public void testEstimateShouldReturnAlignedSizeOfPrimitiveArray() {
+
+        // Given:
+
+        // When:
+        long result = ObjectSizeEstimator.estimate(new byte[1000]);
+
+        // Then:
+        assertThat(result).isEqualTo(1016);
+    }
+
+    @Test
+    public void testEstimateShouldIncludeCharactersOfString() {
+
+        // Given:
+
+        // When:
+        long result = ObjectSizeEstimator.estimate("0123456789");
+
+        // Then:
+        assertThat(result).isGreaterThan(ObjectSizeEstimator.estimate(""));
+        assertThat(result - ObjectSizeEstimator.estimate("")).isEqualTo(24);
+    }
+
+    @Test
+    public void testEstimateShouldWalkIntoNestedArrays() {
+
+        // Given:
+        Object[][] rows = new Object[][] { { new long[100], 1 }, { new long[100], 2 } };
+
+        // When:
+        long result = ObjectSizeEstimator.estimate(rows);
+
+        // Then:
+        assertThat(result).isEqualTo(
+                ObjectSizeEstimator.estimate(new Object[2]) + 2 * ObjectSizeEstimator.estimate(new Object[2]) + 2
+                        * ObjectSizeEstimator.estimate(new long[100]) + 2 * ObjectSizeEstimator.estimate(1));
+        assertThat(ObjectSizeEstimator.estimate(new long[100])).isEqualTo(816);
+    }
+
+    @Test
+    public void testEstimateShouldCountSelfReferencingArrayOnlyOnce() {
+
+        // Given:
+        Object[] row = new Object[1];
+        row[0] = row;
+
+        // When:
+        long result = ObjectSizeEstimator.estimate(new Object[][] { row });
+
+        // Then:
+        assertThat(result).isEqualTo(2 * ObjectSizeEstimator.estimate(new Object[1]));
+    }
+}
@@ -0,0 +1,96 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class OffHeapStoreTest {
+
+    @Before
+    public void setup() {
+        BinaryTests.lengths.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.OFF_HEAP_THRESHOLD);
+    }
+
+    @Test
+    public void testReadShouldReturnStoredBytes() throws IOException {
+        // Given:
+        OffHeapStore underTest = OffHeapStore.create();
+        underTest.store(new byte[] { 9, 9 });
+        OffHeapStore.Entry entry = underTest.store(new byte[] { 1, 2, 3 });
+
+        // When:
+        ByteBuffer result = entry.read();
+
+        // Then:
+        assertThat(result.array()).isEqualTo(new byte[] { 1, 2, 3 });
+        assertThat(entry.toString()).isEqualTo("byte[3]");
+        underTest.close();
+    }
+
+    @Test
+    public void testMoveParametersOffHeapShouldKeepIdentifierAndInvokeWithCopies() throws Throwable {
+        // Given:
+        OffHeapStore store = OffHeapStore.create();
+        DataProviderFrameworkMethod underTest = new DataProviderFrameworkMethod(BinaryTests.class.getMethod(
+                "testBytes", byte[].class, ByteBuffer.class), 1, 1, new Object[] { new byte[] { 1, 2 },
+                new byte[] { 3, 4, 5 } }, new DefaultParameterHasher());
+        String identifier = underTest.getIdentifier();
+
+        // When:
+        underTest.moveParametersOffHeap(store, 3);
+        underTest.invokeExplosively(new BinaryTests());
+
+        // Then:
+        assertThat(underTest.getIdentifier()).isEqualTo(identifier);
+        assertThat(underTest.getParameters()[0]).isInstanceOf(byte[].class);
+        assertThat(underTest.getParameters()[1]).isInstanceOf(OffHeapStore.Entry.class);
+        assertThat(BinaryTests.lengths).containsExactly(2, 3);
+        store.close();
+    }
+
+    @Test
+    public void testRunShouldPassOffHeapParametersToTestMethods() {
+        // Given:
+        System.setProperty(DataProviderProperties.OFF_HEAP_THRESHOLD, "0");
+
+        // When:
+        Result result = new JUnitCore().run(BinaryTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(2);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(BinaryTests.lengths).containsExactly(1, 2, 3, 4);
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class BinaryTests {
+        static final List<Integer> lengths = new CopyOnWriteArrayList<Integer>();
+
+        @DataProvider
+        public static Object[][] dataProviderBytes() {
+            return new Object[][] { { new byte[1], new byte[2] }, { new byte[3], new byte[4] } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderBytes")
+        public void testBytes(byte[] bytes, ByteBuffer buffer) {
+            lengths.add(bytes.length);
+            lengths.add(buffer.remaining());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ParameterConverterTest {
+
+    @Test
+    public void testConvertShouldConvertToParameterTypes() {
+        // Given:
+        ParameterConverter underTest = new ParameterConverter(getMethod("supportedTypes"));
+
+        // When:
+        Object[] result = underTest.convert(Arrays.asList("true", "x", "-1", "2", "3.5", "null", "7",
+                "RUNTIME", "1.25", "text"));
+
+        // Then:
+        assertThat(result).isEqualTo(
+                new Object[] { true, 'x', -1, 2L, 3.5d, null, 7, RetentionPolicy.RUNTIME, new BigDecimal("1.25"),
+                        "text" });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertShouldThrowIllegalArgumentExceptionIfValueCannotBeConverted() {
+        // Given:
+        ParameterConverter underTest = new ParameterConverter(getMethod("primitive"));
+
+        // When:
+        underTest.convert(Arrays.asList("null"));
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConvertShouldThrowIllegalArgumentExceptionIfNumberOfValuesDoesNotMatch() {
+        // Given:
+        ParameterConverter underTest = new ParameterConverter(getMethod("primitive"));
+
+        // When:
+        underTest.convert(Arrays.asList("1", "2"));
+
+        // Then: expect exception
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParameterConverterShouldThrowIllegalArgumentExceptionForUnsupportedType() {
+        // Given:
+
+        // When:
+        new ParameterConverter(getMethod("unsupportedType"));
+
+        // Then: expect exception
+    }
+
+    private static Method getMethod(String methodName) {
+        for (Method method : ParameterConverterTest.class.getDeclaredMethods()) {
+            if (method.getName().equals(methodName)) {
+                return method;
+            }
+        }
+        fail(String.format("No method with name '%s' found in %s", methodName, ParameterConverterTest.class));
+        return null; // fool compiler
+    }
+
+    // Methods used to test the conversion
+    public void supportedTypes(boolean b, char c, int i, long l, double d, String nullString, Integer integer,
+            RetentionPolicy retentionPolicy, BigDecimal bigDecimal, Object object) {
+        // nothing to do
+    }
+
+    public void primitive(int i) {
+        // nothing to do
+    }
+
+    public void unsupportedType(List<String> list) {
+        // nothing to do
+    }
+}
@@ -0,0 +1,178 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.util.Scanner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.model.FrameworkMethod;
+
+public class PerformanceReportTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testToJsonShouldContainEmptyArraysIfNothingWasRecorded() {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), null);
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).isEqualTo("{\n  \"testMethods\": [\n  ],\n  \"dataProviderInvocations\": [\n  ]\n}\n");
+    }
+
+    @Test
+    public void testToJsonShouldContainHistogramOfAllRowsOfTestMethod() throws Exception {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), null);
+        Method method = getClass().getMethod("testToJsonShouldContainHistogramOfAllRowsOfTestMethod");
+
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 1, new Object[] { 1 }), 10, null);
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 2, new Object[] { 2 }), 5, null);
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 3, new Object[] { 3 }), 15, null);
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).contains(
+                "{\"class\": \"" + getClass().getName() + "\", \"method\": \"" + method.getName()
+                        + "\", \"rows\": 3, \"totalNanos\": 30, \"minNanos\": 5, \"p50Nanos\": 10, \"p90Nanos\": 15, "
+                        + "\"p99Nanos\": 15, \"maxNanos\": 15}");
+    }
+
+    @Test
+    public void testToJsonShouldContainDataProviderInvocation() throws Exception {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), null);
+        Method method = getClass().getMethod("testToJsonShouldContainDataProviderInvocation");
+        Method dataProvider = getClass().getMethod("dataProvider");
+
+        underTest.dataProviderInvoked(new FrameworkMethod(method), dataProvider, dataProvider(), 1234);
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).contains(
+                "{\"class\": \"" + getClass().getName() + "\", \"method\": \"" + method.getName()
+                        + "\", \"dataProvider\": \"dataProvider\", \"invocations\": 1, \"rows\": 2, "
+                        + "\"totalNanos\": 1234, \"maxNanos\": 1234}");
+    }
+
+    @Test
+    public void testToJsonShouldAggregateInvocationsOfSameDataProviderForSameTestMethod() throws Exception {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), null);
+        Method method = getClass().getMethod("testToJsonShouldAggregateInvocationsOfSameDataProviderForSameTestMethod");
+        Method dataProvider = getClass().getMethod("dataProvider");
+
+        underTest.dataProviderInvoked(new FrameworkMethod(method), dataProvider, dataProvider(), 100);
+        underTest.dataProviderInvoked(new FrameworkMethod(method), dataProvider, null, 300);
+        underTest.dataProviderInvoked(new FrameworkMethod(method), dataProvider, dataProvider(), 200);
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).contains(
+                "{\"class\": \"" + getClass().getName() + "\", \"method\": \"" + method.getName()
+                        + "\", \"dataProvider\": \"dataProvider\", \"invocations\": 3, \"rows\": 4, "
+                        + "\"totalNanos\": 600, \"maxNanos\": 300}");
+        assertThat(result.split("\"dataProvider\": ")).hasSize(2);
+    }
+
+    @Test
+    public void testWriteShouldWriteReportToFile() throws Exception {
+
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "reports/report.json");
+        PerformanceReport underTest = new PerformanceReport(file, null);
+
+        // When:
+        underTest.write();
+
+        // Then:
+        assertThat(new Scanner(file, "UTF-8").useDelimiter("\\A").next()).isEqualTo(underTest.toJson());
+    }
+
+    @Test
+    public void testToJsonShouldNotContainAllocationsIfNotTracked() throws Exception {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), null);
+        Method method = getClass().getMethod("testToJsonShouldNotContainAllocationsIfNotTracked");
+
+        underTest.testMethodStarted(new DataProviderFrameworkMethod(method, 1, new Object[] { 1 }));
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 1, new Object[] { 1 }), 10, null);
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).doesNotContain("allocatedBytes").doesNotContain("topAllocatingRows");
+    }
+
+    @Test
+    public void testToJsonShouldContainAllocationsPerTestMethodAndTopAllocatingRows() throws Exception {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), new AllocationSampler());
+        Method method = getClass().getMethod("testToJsonShouldContainAllocationsPerTestMethodAndTopAllocatingRows");
+
+        DataProviderFrameworkMethod method1 = new DataProviderFrameworkMethod(method, 1, new Object[] { 1 });
+        DataProviderFrameworkMethod method2 = new DataProviderFrameworkMethod(method, 2, new Object[] { 2 });
+        underTest.record(method1, 10, new long[] { 100, 0, 0 });
+        underTest.record(method2, 10, new long[] { 300, 1, 7 });
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).contains(
+                "\"maxNanos\": 10, \"allocatedBytes\": 400, \"gcCount\": 1, \"gcTimeMillis\": 7}");
+        String row1 = "\"row\": \"" + method.getName() + "[1: 1]\", \"identifier\": \"" + method1.getIdentifier()
+                + "\", \"allocatedBytes\": 100, \"gcCount\": 0, \"gcTimeMillis\": 0}";
+        String row2 = "\"row\": \"" + method.getName() + "[2: 2]\", \"identifier\": \"" + method2.getIdentifier()
+                + "\", \"allocatedBytes\": 300, \"gcCount\": 1, \"gcTimeMillis\": 7}";
+        String topAllocatingRows = result.substring(result.indexOf("\"topAllocatingRows\""),
+                result.indexOf("\"topGcRows\""));
+        assertThat(topAllocatingRows.indexOf(row2)).isGreaterThan(0).isLessThan(topAllocatingRows.indexOf(row1));
+        String topGcRows = result.substring(result.indexOf("\"topGcRows\""));
+        assertThat(topGcRows).contains(row2).doesNotContain(row1);
+    }
+
+    @Test
+    public void testToJsonShouldLimitTopAllocatingRows() throws Exception {
+
+        // Given:
+        PerformanceReport underTest = new PerformanceReport(new File("report.json"), new AllocationSampler());
+        Method method = getClass().getMethod("testToJsonShouldLimitTopAllocatingRows");
+
+        for (int idx = 0; idx < 30; idx++) {
+            underTest.record(new DataProviderFrameworkMethod(method, idx, new Object[] { idx }), 10, new long[] { idx,
+                    0, 0 });
+        }
+
+        // When:
+        String result = underTest.toJson();
+
+        // Then:
+        assertThat(result).contains("[29: 29]").contains("[10: 10]").doesNotContain("[9: 9]");
+    }
+
+    public static Object[][] dataProvider() {
+        return new Object[][] { { 1 }, { 2 } };
+    }
+}
@@ -0,0 +1,196 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class ProviderResultCacheTest {
+
+    private File directory;
+    private File inputFile;
+    private AtomicInteger loads;
+
+    @Before
+    public void setup() throws IOException {
+        directory = File.createTempFile("provider-cache", "");
+        directory.delete();
+        inputFile = new File(Inputs.INPUT_FILE);
+        inputFile.getParentFile().mkdirs();
+        writeInputFile("first");
+        loads = new AtomicInteger();
+        CachedTests.invocations.set(0);
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.PROVIDER_CACHE_DIRECTORY);
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+        inputFile.delete();
+    }
+
+    @Test
+    public void testGetShouldReuseResultWrittenByOtherInstance() throws Throwable {
+        // Given:
+        Method dataProvider = CachedTests.class.getMethod("dataProviderCached");
+
+        // When:
+        Object[][] first = new ProviderResultCache(directory).get(dataProvider, loader(new Object[][] { { 1, "a" } }));
+        Object[][] second = new ProviderResultCache(directory).get(dataProvider, loader(new Object[][] { { 2, "b" } }));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(first).isEqualTo(new Object[][] { { 1, "a" } });
+        assertThat(second).isEqualTo(first);
+    }
+
+    @Test
+    public void testGetShouldMissIfInputFileChanged() throws Throwable {
+        // Given:
+        Method dataProvider = Inputs.class.getMethod("dataProviderWithInput");
+        ProviderResultCache underTest = new ProviderResultCache(directory);
+        underTest.get(dataProvider, loader(new Object[][] { { 1 } }));
+
+        // When:
+        writeInputFile("second");
+        Object[][] result = underTest.get(dataProvider, loader(new Object[][] { { 2 } }));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(result).isEqualTo(new Object[][] { { 2 } });
+    }
+
+    @Test
+    public void testGetShouldNotCacheUnsupportedParameterTypes() throws Throwable {
+        // Given:
+        Method dataProvider = CachedTests.class.getMethod("dataProviderCached");
+        ProviderResultCache underTest = new ProviderResultCache(directory);
+
+        // When:
+        underTest.get(dataProvider, loader(new Object[][] { { new Object() } }));
+        underTest.get(dataProvider, loader(new Object[][] { { new Object() } }));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(directory.list()).doesNotContain(underTest.key(dataProvider,
+                dataProvider.getAnnotation(CachedDataProvider.class)) + ".bin");
+    }
+
+    @Test
+    public void testGetShouldIgnoreAndReplaceCorruptCacheFile() throws Throwable {
+        // Given:
+        Method dataProvider = CachedTests.class.getMethod("dataProviderCached");
+        ProviderResultCache underTest = new ProviderResultCache(directory);
+        directory.mkdirs();
+        String key = underTest.key(dataProvider, dataProvider.getAnnotation(CachedDataProvider.class));
+        FileOutputStream out = new FileOutputStream(new File(directory, key + ".bin"));
+        out.write("corrupt".getBytes("UTF-8"));
+        out.close();
+
+        // When:
+        underTest.get(dataProvider, loader(new Object[][] { { 1 } }));
+        Object[][] result = underTest.get(dataProvider, loader(new Object[][] { { 2 } }));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(result).isEqualTo(new Object[][] { { 1 } });
+    }
+
+    @Test
+    public void testGetShouldAlwaysLoadIfDataProviderIsNotAnnotated() throws Throwable {
+        // Given:
+        Method dataProvider = CachedTests.class.getMethod("dataProviderNotCached");
+        ProviderResultCache underTest = new ProviderResultCache(directory);
+
+        // When:
+        underTest.get(dataProvider, loader(new Object[][] { { 1 } }));
+        underTest.get(dataProvider, loader(new Object[][] { { 1 } }));
+
+        // Then:
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(directory.exists()).isFalse();
+    }
+
+    @Test
+    public void testRunShouldInvokeCachedDataProviderOnlyOnceAcrossRuns() {
+        // Given:
+        System.setProperty(DataProviderProperties.PROVIDER_CACHE_DIRECTORY, directory.getPath());
+
+        // When:
+        Result first = new JUnitCore().run(CachedTests.class);
+        Result second = new JUnitCore().run(CachedTests.class);
+
+        // Then:
+        assertThat(first.getFailureCount()).isEqualTo(0);
+        assertThat(second.getFailureCount()).isEqualTo(0);
+        assertThat(second.getRunCount()).isEqualTo(3);
+        assertThat(CachedTests.invocations.get()).isEqualTo(1);
+    }
+
+    private DataProviderMemo.Loader loader(final Object[][] result) {
+        return new DataProviderMemo.Loader() {
+            public Object[][] load() {
+                loads.incrementAndGet();
+                return result;
+            }
+        };
+    }
+
+    private void writeInputFile(String content) throws IOException {
+        FileOutputStream out = new FileOutputStream(inputFile);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    public static class Inputs {
+        static final String INPUT_FILE = "build/tmp/provider-cache-input.txt";
+
+        @CachedDataProvider(inputFiles = INPUT_FILE)
+        public static Object[][] dataProviderWithInput() {
+            return new Object[0][];
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class CachedTests {
+        static final AtomicInteger invocations = new AtomicInteger();
+
+        @DataProvider
+        @CachedDataProvider
+        public static Object[][] dataProviderCached() {
+            invocations.incrementAndGet();
+            return new Object[][] { { 1, "one" }, { 2, "two" }, { 3, "three" } };
+        }
+
+        @DataProvider
+        public static Object[][] dataProviderNotCached() {
+            return new Object[][] { { 1 } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderCached")
+        public void test(int number, String name) {
+            assertThat(name).isNotEmpty();
+            assertThat(number).isPositive();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class ResultCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.RESULT_CACHE_DIRECTORY);
+    }
+
+    @Test
+    public void testIsPassedShouldReturnFalseForNotExistingFile() {
+
+        // Given:
+        ResultCache underTest = new ResultCache(new File(temporaryFolder.getRoot(), "notExisting.results"));
+
+        // When:
+        boolean result = underTest.isPassed("testMain", "abc", "0123");
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testIsPassedShouldReturnTrueForSavedAndReloadedEntry() throws IOException {
+
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "test.results");
+
+        ResultCache underTest = new ResultCache(file);
+        underTest.setPassed("testMain", "abc", "0123");
+        underTest.save(Collections.singletonMap("testMain", "abc"));
+
+        // When:
+        boolean result = new ResultCache(file).isPassed("testMain", "abc", "0123");
+
+        // Then:
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    public void testIsPassedShouldReturnFalseForFailedEntry() {
+
+        // Given:
+        ResultCache underTest = new ResultCache(new File(temporaryFolder.getRoot(), "test.results"));
+        underTest.setPassed("testMain", "abc", "0123");
+        underTest.setFailed("testMain", "abc", "0123");
+
+        // When:
+        boolean result = underTest.isPassed("testMain", "abc", "0123");
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testSaveShouldDropEntriesWithOutdatedCodeHash() throws IOException {
+
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "test.results");
+
+        ResultCache underTest = new ResultCache(file);
+        underTest.setPassed("testMain", "abc", "0123");
+        underTest.setPassed("testOther", "abc", "0123");
+        underTest.save(Collections.singletonMap("testMain", "def"));
+
+        // When:
+        ResultCache result = new ResultCache(file);
+
+        // Then:
+        assertThat(result.isPassed("testMain", "abc", "0123")).isFalse();
+        assertThat(result.isPassed("testOther", "abc", "0123")).isFalse();
+    }
+
+    @Test
+    public void testIsPassedShouldIgnoreFileWithUnknownHeader() throws IOException {
+
+        // Given:
+        File file = temporaryFolder.newFile("test.results");
+        FileWriter writer = new FileWriter(file);
+        writer.write("junit-dataprovider-result-cache 0\ntestMain abc 0123\n");
+        writer.close();
+
+        // When:
+        boolean result = new ResultCache(file).isPassed("testMain", "abc", "0123");
+
+        // Then:
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    public void testBytecodeHashShouldBeEqualForSameClassesAndDifferForOtherClasses() {
+
+        // Given:
+
+        // When:
+        String result = BytecodeHash.of(Collections.<Class<?>> singletonList(ResultCacheTest.class));
+
+        // Then:
+        assertThat(result).hasSize(40).isEqualTo(
+                BytecodeHash.of(Collections.<Class<?>> singletonList(ResultCacheTest.class))).isNotEqualTo(
+                BytecodeHash.of(Collections.<Class<?>> singletonList(ResultCache.class)));
+    }
+
+    @Test
+    public void testDataProviderRunnerShouldSkipPassedRowsOnSecondRun() {
+
+        // Given:
+        System.setProperty(DataProviderProperties.RESULT_CACHE_DIRECTORY, temporaryFolder.getRoot().getPath());
+        CachedTests.invocations.set(0);
+
+        Result firstRun = JUnitCore.runClasses(CachedTests.class);
+
+        // When:
+        Result result = JUnitCore.runClasses(CachedTests.class);
+
+        // Then:
+        assertThat(firstRun.getRunCount()).isEqualTo(3);
+        assertThat(firstRun.getFailureCount()).isEqualTo(1);
+
+        assertThat(result.getIgnoreCount()).isEqualTo(2);
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(CachedTests.invocations.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void testDataProviderRunnerShouldInvokeAfterAllIfLastRowIsSkipped() {
+
+        // Given:
+        System.setProperty(DataProviderProperties.RESULT_CACHE_DIRECTORY, temporaryFolder.getRoot().getPath());
+        JUnitCore.runClasses(CachedHookTests.class);
+        CachedHookTests.hooks.clear();
+
+        // When:
+        Result result = JUnitCore.runClasses(CachedHookTests.class);
+
+        // Then:
+        assertThat(result.getIgnoreCount()).isEqualTo(1);
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(CachedHookTests.hooks).containsExactly("beforeAll", "fail", "afterAll");
+    }
+
+    @Test
+    public void testDataProviderRunnerShouldNotSkipRowsNotIdentifiedByValue() {
+
+        // Given:
+        System.setProperty(DataProviderProperties.RESULT_CACHE_DIRECTORY, temporaryFolder.getRoot().getPath());
+        JUnitCore.runClasses(UncachedTests.class);
+        UncachedTests.invocations.set(0);
+
+        // When:
+        Result result = JUnitCore.runClasses(UncachedTests.class);
+
+        // Then:
+        assertThat(result.getIgnoreCount()).isEqualTo(0);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(UncachedTests.invocations.get()).isEqualTo(2);
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class CachedTests {
+        static final AtomicInteger invocations = new AtomicInteger();
+
+        @DataProvider
+        public static Object[][] dataProviderNumbers() {
+            return new Object[][] { { 1 }, { 2 }, { -1 } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderNumbers")
+        public void testPositive(int number) {
+            invocations.incrementAndGet();
+            if (System.getProperty(DataProviderProperties.RESULT_CACHE_DIRECTORY) != null) {
+                assertThat(number).isPositive();
+            }
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class UncachedTests {
+        static final AtomicInteger invocations = new AtomicInteger();
+
+        @DataProvider
+        public static Object[][] dataProviderOpaque() {
+            return new Object[][] { { new Opaque(1) }, { new Opaque(2) } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderOpaque")
+        public void testOpaque(Opaque opaque) {
+            invocations.incrementAndGet();
+        }
+
+        static class Opaque {
+            final int value;
+
+            Opaque(int value) {
+                this.value = value;
+            }
+
+            @Override
+            public String toString() {
+                return "opaque";
+            }
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class CachedHookTests {
+        static final List<String> hooks = new CopyOnWriteArrayList<String>();
+
+        @DataProvider
+        public static ExtendedDataProvider dataProviderWords = new ExtendedDataProvider() {
+            @Override
+            public Object[][] provide() {
+                return new Object[][] { { "fail" }, { "pass" } };
+            }
+
+            @Override
+            public void beforeAll() {
+                hooks.add("beforeAll");
+            }
+
+            @Override
+            public void afterAll() {
+                hooks.add("afterAll");
+            }
+        };
+
+        @Test
+        @UseDataProvider("dataProviderWords")
+        public void testWord(String word) {
+            hooks.add(word);
+            if (System.getProperty(DataProviderProperties.RESULT_CACHE_DIRECTORY) != null) {
+                assertThat(word).isEqualTo("pass");
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+
+public class RowSamplerTest {
+
+    private Method method;
+
+    @Before
+    public void setup() throws Exception {
+        method = SampledTests.class.getMethod("testSampled", int.class);
+        SampledTests.numbers.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.SAMPLE_COUNT);
+        System.clearProperty(DataProviderProperties.SAMPLE_FRACTION);
+        System.clearProperty(DataProviderProperties.SAMPLE_SEED);
+    }
+
+    @Test
+    public void testReservoirShouldSelectDistinctSortedIndicesDeterministically() {
+        // Given:
+
+        // When:
+        int[] result = RowSampler.reservoir(new Random(42), 1000000, 100);
+
+        // Then:
+        assertThat(result).hasSize(100).isSorted();
+        assertThat(result[0]).isGreaterThanOrEqualTo(0);
+        assertThat(result[99]).isLessThan(1000000);
+        for (int i = 1; i < result.length; i++) {
+            assertThat(result[i]).isGreaterThan(result[i - 1]);
+        }
+        assertThat(RowSampler.reservoir(new Random(42), 1000000, 100)).isEqualTo(result);
+    }
+
+    @Test
+    public void testReservoirShouldSelectEachIndexWithEqualProbability() {
+        // Given:
+        int[] counts = new int[10];
+        Random random = new Random(1);
+
+        // When:
+        for (int i = 0; i < 10000; i++) {
+            for (int index : RowSampler.reservoir(random, 10, 3)) {
+                counts[index]++;
+            }
+        }
+
+        // Then:
+        for (int count : counts) {
+            assertThat(count).isBetween(2700, 3300);
+        }
+    }
+
+    @Test
+    public void testReservoirShouldSelectAllIndicesIfSampleIsNotSmaller() {
+        // Given:
+
+        // When:
+        int[] result = RowSampler.reservoir(new Random(), 3, 5);
+
+        // Then:
+        assertThat(result).isEqualTo(new int[] { 0, 1, 2 });
+    }
+
+    @Test
+    public void testSampleShouldNotRequestRowsOfIndexedDataProvider() {
+        // Given:
+        final AtomicInteger requestedRows = new AtomicInteger();
+        IndexedDataProvider dataProvider = new IndexedDataProvider() {
+            public int size() {
+                return 1000000;
+            }
+
+            public Object[] row(int index) {
+                requestedRows.incrementAndGet();
+                return new Object[] { index };
+            }
+        };
+        List<FrameworkMethod> explodedMethods = new IndexedFrameworkMethodList(method, dataProvider,
+                dataProvider.size(), new DefaultParameterHasher());
+
+        // When:
+        List<FrameworkMethod> result = new RowSampler(7).sample("test", explodedMethods, 5, 0, -1);
+
+        // Then:
+        assertThat(result).hasSize(5);
+        assertThat(requestedRows.get()).isEqualTo(0);
+    }
+
+    @Test
+    public void testSampleShouldSelectCountPerKeyIfStratified() {
+        // Given:
+        List<FrameworkMethod> explodedMethods = explodedMethodsWithKeys(90, 10);
+
+        // When:
+        List<FrameworkMethod> result = new RowSampler(7).sample("test", explodedMethods, 2, 0, 0);
+
+        // Then:
+        assertThat(keys(result)).containsExactly("a", "a", "b", "b");
+    }
+
+    @Test
+    public void testSampleShouldSelectFractionPerKeyIfStratified() {
+        // Given:
+        List<FrameworkMethod> explodedMethods = explodedMethodsWithKeys(90, 5);
+
+        // When:
+        List<FrameworkMethod> result = new RowSampler(7).sample("test", explodedMethods, 0, 0.1, 0);
+
+        // Then:
+        assertThat(keys(result)).containsExactly("a", "a", "a", "a", "a", "a", "a", "a", "a", "b");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSampleShouldThrowIllegalArgumentExceptionIfKeyColumnDoesNotExist() {
+        // Given:
+        List<FrameworkMethod> explodedMethods = explodedMethodsWithKeys(2, 2);
+
+        // When:
+        new RowSampler(7).sample("test", explodedMethods, 1, 0, 2);
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testRunShouldRunSameSampleForSameSeed() {
+        // Given:
+        System.setProperty(DataProviderProperties.SAMPLE_COUNT, "3");
+        System.setProperty(DataProviderProperties.SAMPLE_SEED, "42");
+
+        // When:
+        Result first = new JUnitCore().run(SampledTests.class);
+        List<Integer> firstNumbers = new ArrayList<Integer>(SampledTests.numbers);
+        SampledTests.numbers.clear();
+        Result second = new JUnitCore().run(SampledTests.class);
+
+        // Then:
+        assertThat(first.getFailureCount()).isEqualTo(0);
+        assertThat(first.getRunCount()).isEqualTo(3);
+        assertThat(second.getRunCount()).isEqualTo(3);
+        assertThat(SampledTests.numbers).isEqualTo(firstNumbers);
+    }
+
+    @Test
+    public void testRunShouldRunFractionOfRows() {
+        // Given:
+        System.setProperty(DataProviderProperties.SAMPLE_FRACTION, "0.25");
+
+        // When:
+        Result result = new JUnitCore().run(SampledTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(result.getRunCount()).isEqualTo(25);
+    }
+
+    @Test
+    public void testRunShouldRunAllRowsIfSamplingIsNotConfigured() {
+        // Given:
+
+        // When:
+        Result result = new JUnitCore().run(SampledTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(100);
+    }
+
+    private List<FrameworkMethod> explodedMethodsWithKeys(int numberOfA, int numberOfB) {
+        List<FrameworkMethod> result = new ArrayList<FrameworkMethod>();
+        for (int i = 0; i < numberOfA + numberOfB; i++) {
+            result.add(new DataProviderFrameworkMethod(method, i + 1, new Object[] { (i < numberOfA) ? "a" : "b", i }));
+        }
+        return result;
+    }
+
+    private List<Object> keys(List<FrameworkMethod> explodedMethods) {
+        List<Object> result = new ArrayList<Object>();
+        for (FrameworkMethod explodedMethod : explodedMethods) {
+            result.add(((DataProviderFrameworkMethod) explodedMethod).getParameters()[0]);
+        }
+        return result;
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class SampledTests {
+        static final List<Integer> numbers = new CopyOnWriteArrayList<Integer>();
+
+        @DataProvider
+        public static IndexedDataProvider dataProviderNumbers() {
+            int[] numbers = new int[100];
+            for (int i = 0; i < numbers.length; i++) {
+                numbers[i] = i;
+            }
+            return new ColumnarDataProvider(numbers.length).column(numbers);
+        }
+
+        @Test
+        @UseDataProvider("dataProviderNumbers")
+        public void testSampled(int number) {
+            numbers.add(number);
+        }
+    }
+}
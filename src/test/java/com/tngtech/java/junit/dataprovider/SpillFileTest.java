@@ -0,0 +1,164 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.model.FrameworkMethod;
+
+public class SpillFileTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Before
+    public void setup() {
+        BudgetTests.words.clear();
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DataProviderProperties.HEAP_BUDGET);
+        System.clearProperty(DataProviderProperties.REPORT_FILE);
+        System.clearProperty(DataProviderProperties.REPORT_ALLOCATIONS);
+    }
+
+    @Test
+    public void testRowShouldReturnSpilledRowsByTheirIndex() throws IOException {
+        // Given:
+        SpillFile underTest = SpillFile.create(2);
+        underTest.spill(new Object[] { "two", 2 });
+        underTest.spill(new Object[] { "three", 3 });
+
+        // When:
+        Object[] result = underTest.row(3);
+
+        // Then:
+        assertThat(result).isEqualTo(new Object[] { "three", 3 });
+        assertThat(underTest.size()).isEqualTo(4);
+        underTest.close();
+    }
+
+    @Test(expected = NotSerializableException.class)
+    public void testSpillShouldThrowNotSerializableExceptionForNonSerializableParameter() throws IOException {
+        // Given:
+        SpillFile underTest = SpillFile.create(0);
+
+        // When:
+        try {
+            underTest.spill(new Object[] { new Object() });
+        } finally {
+            underTest.close();
+        }
+
+        // Then: expect exception
+    }
+
+    @Test
+    public void testComputeTestMethodsShouldSpillRowsExceedingHeapBudget() throws Exception {
+        // Given:
+        System.setProperty(DataProviderProperties.HEAP_BUDGET, "100");
+
+        // When:
+        List<FrameworkMethod> result = new DataProviderRunner(BudgetTests.class).computeTestMethods();
+
+        // Then:
+        assertThat(result).hasSize(5);
+        assertThat(((DataProviderFrameworkMethod) result.get(0)).getName()).isEqualTo("testWord[1: a]");
+        assertThat(((DataProviderFrameworkMethod) result.get(4)).getName()).isEqualTo("testWord[5: eeeee]");
+
+        // only rows kept on the heap are equal to exploded test methods holding their parameters
+        assertThat(result.get(0)).isEqualTo(
+                new DataProviderFrameworkMethod(result.get(0).getMethod(), 1, new Object[] { "a" }));
+        assertThat(result.get(4)).isNotEqualTo(
+                new DataProviderFrameworkMethod(result.get(4).getMethod(), 5, new Object[] { "eeeee" }));
+    }
+
+    @Test
+    public void testRunShouldRunSpilledRows() {
+        // Given:
+        System.setProperty(DataProviderProperties.HEAP_BUDGET, "0");
+
+        // When:
+        Result result = new JUnitCore().run(BudgetTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(5);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(BudgetTests.words).containsExactly("a", "bb", "ccc", "dddd", "eeeee");
+    }
+
+    @Test
+    public void testRunShouldReportAllocationsOfSpilledRows() {
+        // Given:
+        File reportFile = new File(temporaryFolder.getRoot(), "report.json");
+        System.setProperty(DataProviderProperties.HEAP_BUDGET, "0");
+        System.setProperty(DataProviderProperties.REPORT_FILE, reportFile.getPath());
+        System.setProperty(DataProviderProperties.REPORT_ALLOCATIONS, "true");
+
+        // When:
+        Result result = new JUnitCore().run(BudgetTests.class);
+
+        // Then:
+        assertThat(result.getRunCount()).isEqualTo(5);
+        assertThat(result.getFailureCount()).isEqualTo(0);
+        assertThat(PerformanceReport.forFile(reportFile, true).toJson()).contains("testWord[5: eeeee]");
+    }
+
+    @Test
+    public void testRunShouldFailFastIfRowsExceedingHeapBudgetCannotBeSpilled() {
+        // Given:
+        System.setProperty(DataProviderProperties.HEAP_BUDGET, "0");
+
+        // When:
+        Result result = new JUnitCore().run(NonSerializableTests.class);
+
+        // Then:
+        assertThat(result.getFailureCount()).isEqualTo(1);
+        assertThat(result.getFailures().get(0).getMessage()).contains("exceed the heap budget of 0 bytes").contains(
+                "cannot be spilled to disk");
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class BudgetTests {
+        static final List<String> words = new CopyOnWriteArrayList<String>();
+
+        @DataProvider
+        public static Object[][] dataProviderWords() {
+            return new Object[][] { { "a" }, { "bb" }, { "ccc" }, { "dddd" }, { "eeeee" } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderWords")
+        public void testWord(String word) {
+            words.add(word);
+        }
+    }
+
+    @RunWith(DataProviderRunner.class)
+    public static class NonSerializableTests {
+
+        @DataProvider
+        public static Object[][] dataProviderObjects() {
+            return new Object[][] { { new Object() } };
+        }
+
+        @Test
+        @UseDataProvider("dataProviderObjects")
+        public void testObject(Object object) {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class TimingHistogramTest {
+
+    private final TimingHistogram underTest = new TimingHistogram();
+
+    @Test
+    public void testGetPercentileShouldReturnZeroIfNothingWasRecorded() {
+
+        // Given:
+
+        // When:
+        long result = underTest.getPercentile(50);
+
+        // Then:
+        assertThat(result).isEqualTo(0);
+        assertThat(underTest.getMin()).isEqualTo(0);
+        assertThat(underTest.getMax()).isEqualTo(0);
+    }
+
+    @Test
+    public void testGetPercentileShouldBeExactForSmallValues() {
+
+        // Given:
+        for (int i = 1; i <= 10; i++) {
+            underTest.record(i);
+        }
+
+        // When:
+        long result = underTest.getPercentile(50);
+
+        // Then:
+        assertThat(result).isEqualTo(5);
+        assertThat(underTest.getPercentile(90)).isEqualTo(9);
+        assertThat(underTest.getPercentile(100)).isEqualTo(10);
+    }
+
+    @Test
+    public void testGetPercentileShouldBeAccurateToSevenPercentForLargeValues() {
+
+        // Given:
+        for (int i = 1; i <= 1000; i++) {
+            underTest.record(i * 1000000L);
+        }
+
+        // When:
+        long result = underTest.getPercentile(99);
+
+        // Then:
+        assertThat(result).isGreaterThanOrEqualTo(990000000L).isLessThanOrEqualTo(990000000L * 107 / 100);
+    }
+
+    @Test
+    public void testRecordShouldTrackExactMinMaxTotalAndCount() {
+
+        // Given:
+        underTest.record(300);
+        underTest.record(Long.MAX_VALUE / 2);
+        underTest.record(-5);
+
+        // When:
+        long result = underTest.getCount();
+
+        // Then:
+        assertThat(result).isEqualTo(3);
+        assertThat(underTest.getMin()).isEqualTo(0);
+        assertThat(underTest.getMax()).isEqualTo(Long.MAX_VALUE / 2);
+        assertThat(underTest.getTotal()).isEqualTo(Long.MAX_VALUE / 2 + 300);
+        assertThat(underTest.getPercentile(100)).isEqualTo(Long.MAX_VALUE / 2);
+    }
+}
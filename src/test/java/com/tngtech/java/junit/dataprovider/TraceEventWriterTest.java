@@ -0,0 +1,111 @@
+package com.tngtech.java.junit.dataprovider;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.util.Scanner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.model.FrameworkMethod;
+
+public class TraceEventWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void testCloseShouldWriteEmptyArrayIfNothingWasRecorded() throws Exception {
+
+        // Given:
+        StringWriter writer = new StringWriter();
+        TraceEventWriter underTest = new TraceEventWriter(writer, System.nanoTime());
+
+        // When:
+        underTest.close();
+
+        // Then:
+        assertThat(writer.toString()).isEqualTo("[\n]\n");
+    }
+
+    @Test
+    public void testTestMethodFinishedShouldWriteThreadNameOnceAndCompleteEventPerRow() throws Exception {
+
+        // Given:
+        StringWriter writer = new StringWriter();
+        TraceEventWriter underTest = new TraceEventWriter(writer, System.nanoTime());
+        Method method = getClass().getMethod("testTestMethodFinishedShouldWriteThreadNameOnceAndCompleteEventPerRow");
+        long threadId = Thread.currentThread().getId();
+
+        // When:
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 0, new Object[] { 1 }), 0, null);
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 1, new Object[] { 2 }), 1500,
+                new AssertionError());
+        underTest.close();
+
+        // Then:
+        String result = writer.toString();
+        assertThat(result).startsWith("[\n{\"name\": \"thread_name\", \"ph\": \"M\", \"pid\": 1, \"tid\": " + threadId)
+                .endsWith("}}\n]\n");
+        assertThat(result.split("thread_name")).hasSize(2);
+        assertThat(result).contains(
+                "{\"name\": \"" + method.getName() + "[0: 1]\", \"cat\": \"row\", \"ph\": \"X\", \"pid\": 1, \"tid\": "
+                        + threadId + ", \"ts\": ");
+        assertThat(result).contains(
+                "\"dur\": 1.500, \"args\": {\"class\": \"" + getClass().getName() + "\", \"method\": \""
+                        + method.getName() + "\", \"row\": 1, \"failed\": true}}");
+    }
+
+    @Test
+    public void testDataProviderInvokedAndHookFinishedShouldWriteCompleteEvents() throws Exception {
+
+        // Given:
+        StringWriter writer = new StringWriter();
+        TraceEventWriter underTest = new TraceEventWriter(writer, System.nanoTime());
+        Method method = getClass().getMethod("testDataProviderInvokedAndHookFinishedShouldWriteCompleteEvents");
+        Method dataProvider = getClass().getMethod("dataProvider");
+
+        // When:
+        underTest.dataProviderInvoked(new FrameworkMethod(method), dataProvider, dataProvider(), 2000);
+        underTest.dataProviderHookFinished(new DataProviderFrameworkMethod(method, 0, new Object[] { 1 }), "beforeAll",
+                42);
+        underTest.flush();
+
+        // Then:
+        String result = writer.toString();
+        assertThat(result).contains(
+                "{\"name\": \"dataProvider\", \"cat\": \"dataProvider\", \"ph\": \"X\"").contains(
+                "\"dur\": 2.000, \"args\": {\"class\": \"" + getClass().getName() + "\", \"method\": \""
+                        + method.getName() + "\", \"rows\": 2}}");
+        assertThat(result).contains("{\"name\": \"beforeAll\", \"cat\": \"hook\", \"ph\": \"X\"").contains(
+                "\"dur\": 0.042, \"args\": {\"class\": \"" + getClass().getName() + "\", \"method\": \""
+                        + method.getName() + "\", \"row\": 0}}");
+    }
+
+    @Test
+    public void testForFileShouldStreamToFileAndFlushAfterTestClass() throws Exception {
+
+        // Given:
+        File file = new File(temporaryFolder.getRoot(), "traces/trace.json");
+        TraceEventWriter underTest = TraceEventWriter.forFile(file);
+        Method method = getClass().getMethod("testForFileShouldStreamToFileAndFlushAfterTestClass");
+
+        underTest.testMethodFinished(new DataProviderFrameworkMethod(method, 0, new Object[] { 1 }), 10, null);
+
+        // When:
+        underTest.testClassFinished(getClass());
+
+        // Then:
+        assertThat(TraceEventWriter.forFile(file)).isSameAs(underTest);
+        assertThat(new Scanner(file, "UTF-8").useDelimiter("\\A").next()).startsWith("[\n{").contains(
+                "\"cat\": \"row\"");
+        underTest.close();
+    }
+
+    public static Object[][] dataProvider() {
+        return new Object[][] { { 1 }, { 2 } };
+    }
+}